@@ -32,7 +32,7 @@ export default function OrdersManagementPage() {
 
         // Fetch orders from API
         const ordersData = await orderApi.getAll(user.restaurantId);
-        setOrders(ordersData);
+        setOrders(ordersData.content || []);
       } catch (error: any) {
         console.error('Error fetching orders data:', error);
         toast.error(error.message || 'Failed to load orders data');
@@ -73,6 +73,83 @@ interface ActiveSession {
   updatedAt: string;
 }
 
+/**
+ * Apply a restaurant stream event to the active session list.
+ * Every change is idempotent, so events replayed after a reconnect refetch are harmless.
+ */
+function applySessionEvent(sessions: ActiveSession[], type: string, data: any): ActiveSession[] {
+  if (!data || typeof data !== 'object' || !data.sessionId) {
+    return sessions;
+  }
+  if (type === 'SESSION_ENDED') {
+    return sessions.filter((session) => session.sessionId !== data.sessionId);
+  }
+  return sessions.map((session) => {
+    if (session.sessionId !== data.sessionId) {
+      return session;
+    }
+    switch (type) {
+      case 'GUEST_JOINED':
+        if (session.guests.some((guest) => guest.guestId === data.guestId)) {
+          return session;
+        }
+        return {
+          ...session,
+          lastActivityAt: data.occurredAt,
+          guests: [
+            ...session.guests,
+            {
+              guestId: data.guestId,
+              guestName: data.guestName,
+              isHost: false,
+              joinedAt: data.occurredAt,
+              lastActivityAt: data.occurredAt,
+            },
+          ],
+        };
+      case 'GUEST_LEFT':
+        return {
+          ...session,
+          guests: session.guests.map((guest) =>
+            guest.guestId === data.guestId ? { ...guest, lastActivityAt: data.occurredAt } : guest
+          ),
+        };
+      case 'ORDER_SUBMITTED':
+        if (session.orders.some((order) => order.orderId === data.orderId)) {
+          return session;
+        }
+        return {
+          ...session,
+          lastActivityAt: data.occurredAt,
+          orders: [
+            ...session.orders,
+            {
+              orderId: data.orderId,
+              customerName: 'Guest',
+              status: data.status,
+              totalAmount: data.totalAmount,
+              createdAt: data.occurredAt,
+              items: [],
+            },
+          ],
+        };
+      case 'ORDER_STATUS_CHANGED':
+        return {
+          ...session,
+          orders: session.orders.map((order) =>
+            order.orderId === data.orderId ? { ...order, status: data.status } : order
+          ),
+        };
+      case 'WAITER_CALLED':
+        return { ...session, waiterCalled: true, waiterCallTime: data.waiterCallTime, waiterResponseTime: undefined };
+      case 'WAITER_ACKNOWLEDGED':
+        return { ...session, waiterCalled: false, waiterResponseTime: data.waiterResponseTime };
+      default:
+        return session;
+    }
+  });
+}
+
 interface ActiveSessionsProps {
   restaurantId: string;
 }
@@ -86,11 +163,57 @@ export default function ActiveSessions({ restaurantId }: ActiveSessionsProps) {
 
   useEffect(() => {
     fetchActiveSessions();
-    // Refresh every 30 seconds
-    const interval = setInterval(fetchActiveSessions, 30000);
-    return () => clearInterval(interval);
+
+    // Apply live events to the list; only refetch when the stream cannot fill the gap itself
+    let fallbackInterval: ReturnType<typeof setInterval> | null = null;
+    let wasDisconnected = false;
+    const unsubscribe = sessionApi.subscribeToRestaurantEvents(
+      restaurantId,
+      (type, data) => {
+        if (type === 'RESYNC') {
+          fetchActiveSessions();
+        } else if (type === 'SESSION_STARTED') {
+          fetchStartedSession(data.sessionId);
+        } else if (type !== 'READY') {
+          setSessions((current) => applySessionEvent(current, type, data));
+        }
+      },
+      (connected) => {
+        if (connected) {
+          if (fallbackInterval) {
+            clearInterval(fallbackInterval);
+            fallbackInterval = null;
+          }
+          if (wasDisconnected) {
+            wasDisconnected = false;
+            fetchActiveSessions();
+          }
+        } else {
+          wasDisconnected = true;
+          if (!fallbackInterval) {
+            fallbackInterval = setInterval(fetchActiveSessions, 30000);
+          }
+        }
+      }
+    );
+
+    return () => {
+      unsubscribe();
+      if (fallbackInterval) clearInterval(fallbackInterval);
+    };
   }, [restaurantId]);
 
+  const fetchStartedSession = async (sessionId: string) => {
+    try {
+      const session: ActiveSession = await sessionApi.getSessionDetails(sessionId);
+      setSessions((current) =>
+        current.some((existing) => existing.sessionId === session.sessionId) ? current : [...current, session]
+      );
+    } catch (error) {
+      console.error('Error fetching started session:', error);
+    }
+  };
+
   const fetchActiveSessions = async () => {
     try {
       const response = await sessionApi.getActiveSessions(restaurantId);
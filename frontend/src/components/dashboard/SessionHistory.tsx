@@ -42,22 +42,22 @@ interface SessionHistoryProps {
 export default function SessionHistory({ restaurantId }: SessionHistoryProps) {
   const [sessions, setSessions] = useState<SessionHistoryItem[]>([]);
   const [loading, setLoading] = useState(true);
-  const [currentPage, setCurrentPage] = useState(0);
-  const [totalPages, setTotalPages] = useState(0);
-  const [totalElements, setTotalElements] = useState(0);
+  // Cursor of every page visited so far; the last one is the page on screen
+  const [cursors, setCursors] = useState<(string | null)[]>([null]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [pageSize] = useState(10);
+  const currentPage = cursors.length - 1;
 
   useEffect(() => {
     fetchSessionHistory();
-  }, [restaurantId, currentPage]);
+  }, [restaurantId, cursors]);
 
   const fetchSessionHistory = async () => {
     try {
       setLoading(true);
-      const response = await sessionApi.getSessionHistory(restaurantId, currentPage, pageSize);
+      const response = await sessionApi.getSessionHistory(restaurantId, cursors[cursors.length - 1], pageSize);
       setSessions(response.content || []);
-      setTotalPages(response.totalPages || 0);
-      setTotalElements(response.totalElements || 0);
+      setNextCursor(response.hasMore ? response.nextCursor : null);
     } catch (error) {
       console.error('Error fetching session history:', error);
       toast.error('Failed to load session history');
@@ -106,9 +106,15 @@ export default function SessionHistory({ restaurantId }: SessionHistoryProps) {
     }
   };
 
-  const handlePageChange = (newPage: number) => {
-    if (newPage >= 0 && newPage < totalPages) {
-      setCurrentPage(newPage);
+  const handleNextPage = () => {
+    if (nextCursor) {
+      setCursors([...cursors, nextCursor]);
+    }
+  };
+
+  const handlePreviousPage = () => {
+    if (cursors.length > 1) {
+      setCursors(cursors.slice(0, -1));
     }
   };
 
@@ -136,7 +142,7 @@ export default function SessionHistory({ restaurantId }: SessionHistoryProps) {
             <h3 className="text-lg font-medium text-gray-900">Session History</h3>
           </div>
           <span className="text-sm text-gray-500">
-            {totalElements} total sessions
+            Page {currentPage + 1}
           </span>
         </div>
       </div>
@@ -216,15 +222,15 @@ export default function SessionHistory({ restaurantId }: SessionHistoryProps) {
       </div>
 
       {/* Pagination */}
-      {totalPages > 1 && (
+      {(currentPage > 0 || nextCursor) && (
         <div className="px-6 py-4 border-t border-gray-200">
           <div className="flex items-center justify-between">
             <div className="text-sm text-gray-700">
-              Showing {currentPage * pageSize + 1} to {Math.min((currentPage + 1) * pageSize, totalElements)} of {totalElements} sessions
+              Showing {currentPage * pageSize + 1} to {currentPage * pageSize + sessions.length} sessions
             </div>
             <div className="flex items-center space-x-2">
               <button
-                onClick={() => handlePageChange(currentPage - 1)}
+                onClick={handlePreviousPage}
                 disabled={currentPage === 0}
                 className="inline-flex items-center px-3 py-1.5 border border-gray-300 shadow-sm text-xs font-medium rounded text-gray-700 bg-white hover:bg-gray-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500 disabled:opacity-50 disabled:cursor-not-allowed"
               >
@@ -232,28 +238,9 @@ export default function SessionHistory({ restaurantId }: SessionHistoryProps) {
                 Previous
               </button>
               
-              <div className="flex items-center space-x-1">
-                {Array.from({ length: Math.min(5, totalPages) }, (_, i) => {
-                  const pageNum = Math.max(0, Math.min(totalPages - 5, currentPage - 2)) + i;
-                  return (
-                    <button
-                      key={pageNum}
-                      onClick={() => handlePageChange(pageNum)}
-                      className={`inline-flex items-center px-3 py-1.5 border text-xs font-medium rounded ${
-                        pageNum === currentPage
-                          ? 'border-indigo-500 bg-indigo-50 text-indigo-600'
-                          : 'border-gray-300 text-gray-700 bg-white hover:bg-gray-50'
-                      } focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500`}
-                    >
-                      {pageNum + 1}
-                    </button>
-                  );
-                })}
-              </div>
-              
               <button
-                onClick={() => handlePageChange(currentPage + 1)}
-                disabled={currentPage >= totalPages - 1}
+                onClick={handleNextPage}
+                disabled={!nextCursor}
                 className="inline-flex items-center px-3 py-1.5 border border-gray-300 shadow-sm text-xs font-medium rounded text-gray-700 bg-white hover:bg-gray-50 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500 disabled:opacity-50 disabled:cursor-not-allowed"
               >
                 Next
@@ -121,7 +121,8 @@ export const authApi = {
   },
 
   logout: async (): Promise<void> => {
-    await api.post('/auth/logout');
+    const refreshToken = getRefreshToken();
+    await api.post('/auth/logout', refreshToken ? { refreshToken } : undefined);
     clearTokens();
   },
 };
@@ -347,9 +348,9 @@ export const sessionApi = {
     return response.data;
   },
 
-  getSessionHistory: async (restaurantId: string, page: number = 0, size: number = 20) => {
+  getSessionHistory: async (restaurantId: string, cursor?: string | null, size: number = 20) => {
     const response = await api.get(`/sessions/restaurant/${restaurantId}/history`, {
-      params: { page, size }
+      params: { cursor: cursor || undefined, size }
     });
     return response.data;
   },
@@ -370,6 +371,82 @@ export const sessionApi = {
     });
     return response.data;
   },
+
+  /**
+   * Subscribe to the restaurant's live event stream (Server-Sent Events).
+   * Uses fetch rather than EventSource so the bearer token can be sent, and reconnects
+   * with Last-Event-ID so missed events are replayed. Returns an unsubscribe function.
+   */
+  subscribeToRestaurantEvents: (
+    restaurantId: string,
+    onEvent: (type: string, data: any) => void,
+    onConnectionChange?: (connected: boolean) => void
+  ) => {
+    const baseUrl = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api/v1';
+    const controller = new AbortController();
+    let lastEventId: string | null = null;
+    let retryDelay = 1000;
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          const headers: Record<string, string> = { Accept: 'text/event-stream' };
+          const token = getAccessToken();
+          if (token) headers.Authorization = `Bearer ${token}`;
+          if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+          const response = await fetch(`${baseUrl}/sessions/restaurant/${restaurantId}/events`, {
+            headers,
+            signal: controller.signal,
+          });
+          if (!response.ok || !response.body) {
+            throw new Error(`Event stream failed with status ${response.status}`);
+          }
+          onConnectionChange?.(true);
+          retryDelay = 1000;
+
+          const reader = response.body.getReader();
+          const decoder = new TextDecoder();
+          let buffer = '';
+          for (;;) {
+            const { done, value } = await reader.read();
+            if (done) break;
+            buffer += decoder.decode(value, { stream: true });
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+              const block = buffer.slice(0, boundary);
+              buffer = buffer.slice(boundary + 2);
+              let eventType = 'message';
+              const dataLines: string[] = [];
+              for (const line of block.split('\n')) {
+                if (line.startsWith('id:')) lastEventId = line.slice(3).trim();
+                else if (line.startsWith('event:')) eventType = line.slice(6).trim();
+                else if (line.startsWith('data:')) dataLines.push(line.slice(5).trimStart());
+              }
+              if (dataLines.length === 0) continue;
+              const raw = dataLines.join('\n');
+              let data: any = raw;
+              try {
+                data = JSON.parse(raw);
+              } catch {
+                // Plain-text payloads such as READY/RESYNC positions
+              }
+              onEvent(eventType, data);
+            }
+          }
+        } catch (error) {
+          if (controller.signal.aborted) return;
+          console.error('Restaurant event stream error:', error);
+        }
+        onConnectionChange?.(false);
+        await new Promise((resolve) => setTimeout(resolve, retryDelay));
+        retryDelay = Math.min(retryDelay * 2, 30000);
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  },
 };
 
 // Settings API
@@ -3,8 +3,10 @@ package com.numa;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -19,8 +21,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  */
 @SpringBootApplication
 @EnableJpaAuditing
-@EnableCaching
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 @EnableAsync
+@EnableScheduling
 @EnableTransactionManagement
 public class NumaApplication {
 
@@ -0,0 +1,73 @@
+package com.numa.analytics;
+
+import com.numa.domain.enums.AnalyticsEventType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable analytics event waiting in the {@link AnalyticsEventBuffer} to be written.
+ * The ID is assigned on capture, so the time-ordered IDs follow capture order.
+ */
+public final class AnalyticsEvent {
+
+    private final UUID id;
+    private final UUID restaurantId;
+    private final UUID sessionId;
+    private final UUID orderId;
+    private final AnalyticsEventType type;
+    private final Map<String, Object> data;
+    private final String userAgent;
+    private final String ipAddress;
+    private final LocalDateTime occurredAt;
+
+    public AnalyticsEvent(UUID id, UUID restaurantId, UUID sessionId, UUID orderId, AnalyticsEventType type,
+                          Map<String, Object> data, String userAgent, String ipAddress, LocalDateTime occurredAt) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.sessionId = sessionId;
+        this.orderId = orderId;
+        this.type = type;
+        this.data = data;
+        this.userAgent = userAgent;
+        this.ipAddress = ipAddress;
+        this.occurredAt = occurredAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public AnalyticsEventType getType() {
+        return type;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
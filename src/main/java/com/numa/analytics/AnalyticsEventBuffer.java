@@ -0,0 +1,94 @@
+package com.numa.analytics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ *
+ * Each slot carries a sequence number telling producers whether it is free for the position
+ * they claimed and the consumer whether it has been published. Producers claim positions with
+ * a single CAS and never block: when the buffer is full, {@link #offer} returns false and the
+ * caller drops the event. Only one thread may call {@link #drainTo}.
+ */
+public class AnalyticsEventBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<AnalyticsEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public AnalyticsEventBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Buffer capacity must be at least 2");
+        }
+        // Round up to a power of two so positions map to slots with a mask
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an event, returning false without waiting if the buffer is full
+     */
+    public boolean offer(AnalyticsEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move up to {@code max} published events into the list, returning how many were moved
+     */
+    public int drainTo(List<AnalyticsEvent> target, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            // Hand the slot back to producers for the position one lap ahead
+            sequences.lazySet(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    /**
+     * Approximate number of events waiting
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head.get()));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,236 @@
+package com.numa.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer that moves captured analytics events from the in-memory buffer
+ * into {@code analytics_events}.
+ *
+ * Request threads only publish into the {@link AnalyticsEventBuffer}; a single daemon thread
+ * drains it and writes large JDBC batches, so capture never waits for the database. When the
+ * buffer is full, new events are dropped and counted rather than blocking the caller. A batch
+ * rejected for referencing a deleted row is retried row by row so one bad event does not
+ * discard the others. The writer stops after the web server, so no request can capture an event
+ * once it has; events still buffered then are written before the writer stops.
+ */
+@Component
+public class AnalyticsEventWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsEventWriter.class);
+
+    // Below the web server's own phases, so the writer starts before it and stops after it
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private static final String INSERT_SQL = "INSERT INTO analytics_events "
+            + "(id, restaurant_id, session_id, order_id, event_type, event_category, event_data, "
+            + "user_agent, ip_address, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${numa.analytics.events.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${numa.analytics.events.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private final AnalyticsEventBuffer buffer;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    public AnalyticsEventWriter(@Value("${numa.analytics.events.buffer-capacity:65536}") int bufferCapacity,
+                                MeterRegistry meterRegistry) {
+        this.buffer = new AnalyticsEventBuffer(bufferCapacity);
+        this.recorded = outcomeCounter(meterRegistry, "recorded");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.written = outcomeCounter(meterRegistry, "written");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("numa.analytics.events.buffered", buffer, AnalyticsEventBuffer::size)
+                .description("Analytics events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an event without blocking, returning false if it was dropped because the buffer is full
+     */
+    public boolean enqueue(AnalyticsEvent event) {
+        if (buffer.offer(event)) {
+            recorded.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "analytics-writer");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Analytics event writer started with a buffer of {} events", buffer.getCapacity());
+    }
+
+    /**
+     * Stop the worker after its current batch, then write what is left from the stopping thread.
+     * The buffer has a single consumer, so nothing is drained here while the worker is still writing.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!thread.isAlive()) {
+                List<AnalyticsEvent> batch = new ArrayList<>(batchSize);
+                while (drainAndWrite(batch) > 0) {
+                    // Flush what was captured before shutdown
+                }
+            }
+        }
+        if (buffer.size() > 0) {
+            logger.warn("Analytics event writer stopped with {} events unwritten", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        List<AnalyticsEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = drainAndWrite(batch);
+            // A full batch means more is waiting; otherwise let the next interval's events accumulate
+            if (drained < batchSize) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+    }
+
+    private int drainAndWrite(List<AnalyticsEvent> batch) {
+        batch.clear();
+        int drained = buffer.drainTo(batch, batchSize);
+        if (drained > 0) {
+            write(batch);
+        }
+        return drained;
+    }
+
+    /**
+     * Write a batch in one transaction, falling back to single rows if a row violates a constraint
+     */
+    private void write(List<AnalyticsEvent> batch) {
+        try {
+            newTransaction().executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind));
+            written.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Analytics batch of {} events rejected, retrying row by row", batch.size(), e);
+            writeRowByRow(batch);
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.warn("Could not write {} analytics events", batch.size(), e);
+        }
+    }
+
+    private void writeRowByRow(List<AnalyticsEvent> batch) {
+        for (AnalyticsEvent event : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, event));
+                written.increment();
+            } catch (DataAccessException e) {
+                failed.increment();
+                logger.debug("Discarding analytics event {} of type {}", event.getId(), event.getType(), e);
+            }
+        }
+    }
+
+    private void bind(PreparedStatement statement, AnalyticsEvent event) throws SQLException {
+        statement.setObject(1, event.getId());
+        statement.setObject(2, event.getRestaurantId());
+        statement.setObject(3, event.getSessionId());
+        statement.setObject(4, event.getOrderId());
+        statement.setString(5, event.getType().name());
+        statement.setString(6, event.getType().getCategory());
+        statement.setString(7, toJson(event));
+        statement.setString(8, event.getUserAgent());
+        statement.setString(9, event.getIpAddress());
+        statement.setTimestamp(10, Timestamp.valueOf(event.getOccurredAt()));
+    }
+
+    private String toJson(AnalyticsEvent event) {
+        if (event.getData() == null || event.getData().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getData());
+        } catch (JsonProcessingException e) {
+            logger.debug("Could not serialize data of analytics event {}", event.getId(), e);
+            return null;
+        }
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("numa.analytics.events")
+                .description("Analytics events by capture and write outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,133 @@
+package com.numa.analytics;
+
+import com.numa.domain.common.UuidV7Generator;
+import com.numa.domain.enums.AnalyticsEventType;
+import com.numa.event.SessionEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Capture API for guest funnel and staff analytics events.
+ *
+ * Recording only copies the event into the writer's buffer and never touches the database,
+ * so it is safe to call on request threads. The user agent and client address are taken from
+ * the current request when there is one. Committed session events are translated into
+ * analytics events here, so services only call {@link #record} for reads that publish nothing.
+ */
+@Component
+public class AnalyticsRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRecorder.class);
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private static final int MAX_IP_ADDRESS_LENGTH = 45;
+
+    @Autowired
+    private AnalyticsEventWriter writer;
+
+    @Value("${numa.analytics.events.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Record an event of a restaurant
+     */
+    public void record(AnalyticsEventType type, UUID restaurantId, Map<String, Object> data) {
+        record(type, restaurantId, null, null, data);
+    }
+
+    /**
+     * Record an event of a restaurant, optionally tied to a session and an order.
+     * The data map must not be modified afterwards, as it is serialized on the writer thread.
+     */
+    public void record(AnalyticsEventType type, UUID restaurantId, UUID sessionId, UUID orderId,
+                       Map<String, Object> data) {
+        if (!enabled || restaurantId == null) {
+            return;
+        }
+        String userAgent = null;
+        String ipAddress = null;
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            userAgent = truncate(request.getHeader("User-Agent"), MAX_USER_AGENT_LENGTH);
+            ipAddress = truncate(clientAddress(request), MAX_IP_ADDRESS_LENGTH);
+        }
+        AnalyticsEvent event = new AnalyticsEvent(UuidV7Generator.next(), restaurantId, sessionId, orderId, type,
+                data, userAgent, ipAddress, LocalDateTime.now());
+        if (!writer.enqueue(event)) {
+            logger.debug("Analytics buffer full, dropped {} event of restaurant {}", type, restaurantId);
+        }
+    }
+
+    /**
+     * Translate committed session changes into funnel and staff events
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionEvent(SessionEvent event) {
+        Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+        switch (event.getType()) {
+            case GUEST_JOINED -> record(AnalyticsEventType.SESSION_JOINED, event.getRestaurantId(),
+                    event.getSessionId(), null, pick(data, "guestId"));
+            case ORDER_SUBMITTED -> record(AnalyticsEventType.ORDER_SUBMITTED, event.getRestaurantId(),
+                    event.getSessionId(), asUuid(data.get("orderId")), pick(data, "orderNumber", "totalAmount"));
+            case ORDER_STATUS_CHANGED -> record(AnalyticsEventType.ORDER_STATUS_CHANGED, event.getRestaurantId(),
+                    event.getSessionId(), asUuid(data.get("orderId")), pick(data, "orderNumber", "status"));
+            case WAITER_ACKNOWLEDGED -> record(AnalyticsEventType.WAITER_ACKNOWLEDGED, event.getRestaurantId(),
+                    event.getSessionId(), null, Map.of());
+            case SESSION_ENDED -> record(AnalyticsEventType.SESSION_ENDED, event.getRestaurantId(),
+                    event.getSessionId(), null, pick(data, "abandonedCartLines"));
+            default -> {
+            }
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest()
+                : null;
+    }
+
+    /**
+     * Client address as resolved by the server, which only honours forwarding headers set by trusted proxies
+     */
+    private static String clientAddress(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    private static Map<String, Object> pick(Map<String, Object> data, String... keys) {
+        Map<String, Object> picked = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = data.get(key);
+            if (value != null) {
+                picked.put(key, value);
+            }
+        }
+        return picked;
+    }
+
+    private static UUID asUuid(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        return value != null ? UUID.fromString(value.toString()) : null;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
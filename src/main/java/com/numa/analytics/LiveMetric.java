@@ -0,0 +1,31 @@
+package com.numa.analytics;
+
+/**
+ * Counters kept per minute by {@link MinuteRingBuffer}
+ */
+public enum LiveMetric {
+    /**
+     * Orders submitted by guests
+     */
+    ORDERS_SUBMITTED,
+
+    /**
+     * Total of submitted orders in minor currency units
+     */
+    REVENUE_MINOR_UNITS,
+
+    /**
+     * Dining sessions started
+     */
+    SESSIONS_STARTED,
+
+    /**
+     * Dining sessions ended
+     */
+    SESSIONS_ENDED,
+
+    /**
+     * Sessions ended with unsubmitted cart lines
+     */
+    CARTS_ABANDONED
+}
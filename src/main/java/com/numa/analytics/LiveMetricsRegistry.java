@@ -0,0 +1,299 @@
+package com.numa.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numa.cache.SharedCacheTier;
+import com.numa.datasource.ReadRouting;
+import com.numa.domain.enums.SessionStatus;
+import com.numa.dto.response.LiveMetricsResponse;
+import com.numa.event.SessionEvent;
+import com.numa.exception.ValidationException;
+import com.numa.repository.DiningSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live per-minute operational counters of each restaurant, kept in memory.
+ *
+ * Committed session and order events increment the current minute of the restaurant's
+ * {@link MinuteRingBuffer}, so dashboards read recent activity without touching the database.
+ * Open sessions are a database count taken once and then adjusted by session starts and ends;
+ * the count is re-taken periodically to correct any drift. A session is open from its start until
+ * it ends, whatever status it passes through, so the count covers every status it can end from.
+ *
+ * With a shared cache tier, each node broadcasts the events it counts and applies those of the
+ * other nodes, so any node serves the counters of all of them since it started. Without one,
+ * a node counts only its own events.
+ */
+@Component
+public class LiveMetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveMetricsRegistry.class);
+
+    private static final int REVENUE_SCALE = 2;
+
+    private static final String CHANNEL = "live-metrics";
+
+    private static final Set<SessionStatus> OPEN_STATUSES = EnumSet.of(
+            SessionStatus.ACTIVE, SessionStatus.PAUSED, SessionStatus.AWAITING_PAYMENT);
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private ObjectProvider<SharedCacheTier> sharedCacheTier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${numa.analytics.live.window-minutes:240}")
+    private int windowMinutes;
+
+    @Value("${numa.analytics.live.open-sessions-resync-minutes:15}")
+    private long openSessionsResyncMinutes;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<UUID, RestaurantMetrics> restaurants = new ConcurrentHashMap<>();
+
+    /**
+     * Apply the events other nodes count; events committed before this node was ready are not replayed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        SharedCacheTier shared = sharedCacheTier.getIfAvailable();
+        if (shared != null) {
+            shared.listen(CHANNEL, this::onBroadcast);
+        }
+    }
+
+    /**
+     * Count a committed session or order change towards the minute it happened in
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionEvent(SessionEvent event) {
+        if (event.getRestaurantId() == null) {
+            return;
+        }
+        LiveMetricsUpdate update = new LiveMetricsUpdate(
+                nodeId, event.getRestaurantId(), epochMinute(event.getOccurredAt()));
+        Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+        switch (event.getType()) {
+            case SESSION_STARTED -> {
+                update.getCounts().put(LiveMetric.SESSIONS_STARTED, 1L);
+                update.setOpenSessionDelta(1);
+            }
+            case SESSION_ENDED -> {
+                update.getCounts().put(LiveMetric.SESSIONS_ENDED, 1L);
+                update.setOpenSessionDelta(-1);
+                if (data.get("abandonedCartLines") instanceof Number lines && lines.intValue() > 0) {
+                    update.getCounts().put(LiveMetric.CARTS_ABANDONED, 1L);
+                }
+            }
+            case ORDER_SUBMITTED -> {
+                update.getCounts().put(LiveMetric.ORDERS_SUBMITTED, 1L);
+                if (data.get("totalAmount") instanceof BigDecimal total) {
+                    update.getCounts().put(LiveMetric.REVENUE_MINOR_UNITS,
+                            total.movePointRight(REVENUE_SCALE).longValue());
+                }
+            }
+            default -> {
+                return;
+            }
+        }
+        apply(update);
+        broadcast(update);
+    }
+
+    /**
+     * Snapshot the last {@code minutes} minutes of a restaurant, including the current one
+     */
+    public LiveMetricsResponse snapshot(UUID restaurantId, int minutes) {
+        if (minutes < 1 || minutes > windowMinutes) {
+            throw new ValidationException("Minutes must be between 1 and " + windowMinutes);
+        }
+        RestaurantMetrics metrics = metricsOf(restaurantId);
+        long currentMinute = epochMinute(LocalDateTime.now());
+
+        long[] totals = new long[LiveMetric.values().length];
+        List<LiveMetricsResponse.MinuteStats> series = new ArrayList<>(minutes);
+        for (long minute = currentMinute - minutes + 1; minute <= currentMinute; minute++) {
+            long[] values = metrics.minutes.get(minute);
+            if (values == null) {
+                values = new long[totals.length];
+            }
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += values[i];
+            }
+            series.add(new LiveMetricsResponse.MinuteStats(
+                    toLocalDateTime(minute),
+                    values[LiveMetric.ORDERS_SUBMITTED.ordinal()],
+                    toAmount(values[LiveMetric.REVENUE_MINOR_UNITS.ordinal()]),
+                    values[LiveMetric.SESSIONS_STARTED.ordinal()],
+                    values[LiveMetric.SESSIONS_ENDED.ordinal()],
+                    values[LiveMetric.CARTS_ABANDONED.ordinal()]));
+        }
+
+        long orders = totals[LiveMetric.ORDERS_SUBMITTED.ordinal()];
+        long ended = totals[LiveMetric.SESSIONS_ENDED.ordinal()];
+        long abandoned = totals[LiveMetric.CARTS_ABANDONED.ordinal()];
+        return new LiveMetricsResponse(
+                restaurantId,
+                minutes,
+                openSessions(restaurantId, metrics),
+                orders,
+                toAmount(totals[LiveMetric.REVENUE_MINOR_UNITS.ordinal()]),
+                (double) orders / minutes,
+                totals[LiveMetric.SESSIONS_STARTED.ordinal()],
+                ended,
+                abandoned,
+                ended > 0 ? (double) abandoned / ended : 0.0,
+                series,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Open sessions from the last database count plus the starts and ends seen since
+     */
+    private Long openSessions(UUID restaurantId, RestaurantMetrics metrics) {
+        long now = System.nanoTime();
+        if (metrics.baseline == null
+                || now - metrics.baselineTakenAt > TimeUnit.MINUTES.toNanos(openSessionsResyncMinutes)) {
+            synchronized (metrics) {
+                if (metrics.baseline == null
+                        || now - metrics.baselineTakenAt > TimeUnit.MINUTES.toNanos(openSessionsResyncMinutes)) {
+                    resync(restaurantId, metrics);
+                }
+            }
+        }
+        Long baseline = metrics.baseline;
+        return baseline != null ? Math.max(0, baseline + metrics.openSessionDelta.get()) : null;
+    }
+
+    /**
+     * Re-take the baseline, counting before reading the delta. Events are applied after their commit,
+     * so every change the count saw is already in the delta unless its event is still on the way;
+     * only changes racing the count itself can be off by one until the next resync.
+     */
+    private void resync(UUID restaurantId, RestaurantMetrics metrics) {
+        try {
+            // On the primary, since a replica's count may miss sessions whose events are already in the delta
+            List<Object[]> counts = readRouting.onPrimary(() -> readOnlyTransaction().execute(status ->
+                    sessionRepository.countByRestaurantIdAndStatusIn(restaurantId, OPEN_STATUSES)));
+            long open = counts.stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
+            metrics.baseline = open - metrics.openSessionDelta.get();
+            metrics.baselineTakenAt = System.nanoTime();
+        } catch (DataAccessException e) {
+            logger.warn("Could not count open sessions of restaurant {}", restaurantId, e);
+        }
+    }
+
+    private void apply(LiveMetricsUpdate update) {
+        RestaurantMetrics metrics = metricsOf(update.getRestaurantId());
+        update.getCounts().forEach((metric, amount) -> metrics.minutes.add(update.getEpochMinute(), metric, amount));
+        if (update.getOpenSessionDelta() != 0) {
+            metrics.openSessionDelta.addAndGet(update.getOpenSessionDelta());
+        }
+    }
+
+    private void broadcast(LiveMetricsUpdate update) {
+        SharedCacheTier shared = sharedCacheTier.getIfAvailable();
+        if (shared == null) {
+            return;
+        }
+        try {
+            shared.broadcast(CHANNEL, objectMapper.writeValueAsString(update));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not broadcast live metrics of restaurant {}", update.getRestaurantId(), e);
+        }
+    }
+
+    private void onBroadcast(String message) {
+        try {
+            LiveMetricsUpdate update = objectMapper.readValue(message, LiveMetricsUpdate.class);
+            // This node applied its own events when it counted them
+            if (!nodeId.equals(update.getOrigin()) && update.getRestaurantId() != null) {
+                apply(update);
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed live metrics message", e);
+        }
+    }
+
+    private RestaurantMetrics metricsOf(UUID restaurantId) {
+        return restaurants.computeIfAbsent(restaurantId, id -> new RestaurantMetrics(new MinuteRingBuffer(windowMinutes)));
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return TimeUnit.MILLISECONDS.toMinutes(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(TimeUnit.MINUTES.toMillis(epochMinute)), ZoneId.systemDefault());
+    }
+
+    private static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, REVENUE_SCALE);
+    }
+
+    /**
+     * Counters of one restaurant
+     */
+    private static final class RestaurantMetrics {
+
+        private final MinuteRingBuffer minutes;
+
+        /**
+         * Sessions started minus sessions ended, on every node, since this node started
+         */
+        private final AtomicLong openSessionDelta = new AtomicLong();
+
+        /**
+         * Open sessions at the last count, less the delta at that moment
+         */
+        private volatile Long baseline;
+
+        private volatile long baselineTakenAt;
+
+        private RestaurantMetrics(MinuteRingBuffer minutes) {
+            this.minutes = minutes;
+        }
+    }
+}
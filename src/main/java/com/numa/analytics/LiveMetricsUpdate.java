@@ -0,0 +1,73 @@
+package com.numa.analytics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Counts one committed event added to a restaurant's live metrics, broadcast so that
+ * every node applies the events committed on the others.
+ */
+public class LiveMetricsUpdate {
+
+    private String origin;
+    private UUID restaurantId;
+    private long epochMinute;
+    private Map<LiveMetric, Long> counts = new EnumMap<>(LiveMetric.class);
+    private long openSessionDelta;
+
+    public LiveMetricsUpdate() {
+    }
+
+    public LiveMetricsUpdate(String origin, UUID restaurantId, long epochMinute) {
+        this.origin = origin;
+        this.restaurantId = restaurantId;
+        this.epochMinute = epochMinute;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(UUID restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public long getEpochMinute() {
+        return epochMinute;
+    }
+
+    public void setEpochMinute(long epochMinute) {
+        this.epochMinute = epochMinute;
+    }
+
+    /**
+     * Amounts to add to the counters of the minute
+     */
+    public Map<LiveMetric, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<LiveMetric, Long> counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Change in open sessions: one for a start, minus one for an end
+     */
+    public long getOpenSessionDelta() {
+        return openSessionDelta;
+    }
+
+    public void setOpenSessionDelta(long openSessionDelta) {
+        this.openSessionDelta = openSessionDelta;
+    }
+}
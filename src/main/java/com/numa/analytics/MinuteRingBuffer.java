@@ -0,0 +1,91 @@
+package com.numa.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of per-minute counters covering the most recent minutes.
+ *
+ * Each slot holds the bucket of one minute. A writer that finds a slot still holding an older
+ * minute swaps in a fresh bucket with a CAS, so rotation and increments are lock-free and an
+ * increment can never land in a bucket that is being reset. Readers skip slots whose minute
+ * lies outside the requested window.
+ */
+public class MinuteRingBuffer {
+
+    private static final LiveMetric[] METRICS = LiveMetric.values();
+
+    private final int size;
+
+    private final AtomicReferenceArray<MinuteBucket> buckets;
+
+    public MinuteRingBuffer(int minutes) {
+        if (minutes < 1) {
+            throw new IllegalArgumentException("Ring buffer must cover at least one minute");
+        }
+        this.size = minutes;
+        this.buckets = new AtomicReferenceArray<>(minutes);
+    }
+
+    /**
+     * Add to a counter of the given epoch minute; minutes older than the ring are ignored
+     */
+    public void add(long epochMinute, LiveMetric metric, long amount) {
+        MinuteBucket bucket = bucketFor(epochMinute);
+        if (bucket != null) {
+            bucket.counters.addAndGet(metric.ordinal(), amount);
+        }
+    }
+
+    /**
+     * Copy the counters of the given epoch minute, or null if nothing was recorded in it
+     */
+    public long[] get(long epochMinute) {
+        MinuteBucket bucket = buckets.get(index(epochMinute));
+        if (bucket == null || bucket.minute != epochMinute) {
+            return null;
+        }
+        long[] values = new long[METRICS.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = bucket.counters.get(i);
+        }
+        return values;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private MinuteBucket bucketFor(long epochMinute) {
+        int index = index(epochMinute);
+        while (true) {
+            MinuteBucket current = buckets.get(index);
+            if (current != null && current.minute == epochMinute) {
+                return current;
+            }
+            if (current != null && current.minute > epochMinute) {
+                // A late event for a minute that has already been rotated out
+                return null;
+            }
+            MinuteBucket fresh = new MinuteBucket(epochMinute);
+            if (buckets.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int index(long epochMinute) {
+        return (int) Math.floorMod(epochMinute, (long) size);
+    }
+
+    private static final class MinuteBucket {
+
+        private final long minute;
+
+        private final AtomicLongArray counters = new AtomicLongArray(METRICS.length);
+
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
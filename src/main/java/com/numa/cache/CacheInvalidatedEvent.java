@@ -0,0 +1,39 @@
+package com.numa.cache;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Application event raised when another node invalidated cache entries.
+ * Lets in-memory structures outside the cache manager drop their copies as well.
+ */
+public class CacheInvalidatedEvent {
+
+    private final String cacheName;
+    private final UUID restaurantId;
+    private final Set<UUID> entityIds;
+
+    public CacheInvalidatedEvent(String cacheName, UUID restaurantId, Set<UUID> entityIds) {
+        this.cacheName = cacheName;
+        this.restaurantId = restaurantId;
+        this.entityIds = entityIds;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Restaurant whose entries were invalidated, or null if the whole cache was cleared
+     */
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    /**
+     * IDs of the entities whose change caused the invalidation, or null if not known
+     */
+    public Set<UUID> getEntityIds() {
+        return entityIds;
+    }
+}
@@ -0,0 +1,69 @@
+package com.numa.cache;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Message telling other nodes to drop entries from their local cache tier.
+ * Either a single key, all entries of a restaurant, or the whole cache when both are null.
+ * A restaurant-wide invalidation may name the IDs of the entities whose change caused it.
+ */
+public class CacheInvalidation {
+
+    private String origin;
+    private String cacheName;
+    private UUID restaurantId;
+    private String key;
+    private Set<UUID> entityIds;
+
+    public CacheInvalidation() {
+    }
+
+    public CacheInvalidation(String origin, String cacheName, UUID restaurantId, String key, Set<UUID> entityIds) {
+        this.origin = origin;
+        this.cacheName = cacheName;
+        this.restaurantId = restaurantId;
+        this.key = key;
+        this.entityIds = entityIds;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(UUID restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Set<UUID> getEntityIds() {
+        return entityIds;
+    }
+
+    public void setEntityIds(Set<UUID> entityIds) {
+        this.entityIds = entityIds;
+    }
+}
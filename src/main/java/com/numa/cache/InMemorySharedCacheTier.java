@@ -0,0 +1,98 @@
+package com.numa.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for the shared tier, for development and tests.
+ * State is static, so several application contexts in one JVM behave like nodes sharing a cache server.
+ */
+public class InMemorySharedCacheTier implements SharedCacheTier {
+
+    private static final Map<String, Map<String, Entry>> CACHES = new ConcurrentHashMap<>();
+
+    private static final List<Consumer<CacheInvalidation>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static final Map<String, List<Consumer<String>>> CHANNELS = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(String cacheName, String key) {
+        Map<String, Entry> entries = CACHES.get(cacheName);
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        CACHES.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>())
+                .put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        Map<String, Entry> entries = CACHES.get(cacheName);
+        if (entries != null) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void evictTenant(String cacheName, UUID restaurantId) {
+        Map<String, Entry> entries = CACHES.get(cacheName);
+        if (entries != null) {
+            String prefix = restaurantId + ":";
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        CACHES.remove(cacheName);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        LISTENERS.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        LISTENERS.add(listener);
+    }
+
+    @Override
+    public void broadcast(String channel, String message) {
+        CHANNELS.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void listen(String channel, Consumer<String> listener) {
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAtNanos;
+
+        private Entry(Object value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
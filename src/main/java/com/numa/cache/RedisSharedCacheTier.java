@@ -0,0 +1,216 @@
+package com.numa.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.dao.DataAccessException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Shared tier on Redis: values are stored as typed JSON under {@code <prefix>:<cache>:<key>}
+ * and invalidations travel over a pub/sub channel. Named channels live under {@code <prefix>:<channel>}.
+ *
+ * Every stored key is also added to an index set per cache, and per restaurant for tenant keys,
+ * so tenant and cache evictions delete exactly their own keys instead of scanning the keyspace.
+ * Index sets expire with the entries they list and may name keys that have already expired.
+ *
+ * Redis being unavailable never fails a request: reads miss, writes are skipped and
+ * only the local tier is used until it comes back.
+ */
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSharedCacheTier.class);
+
+    private final RedisTemplate<String, Object> valueTemplate;
+
+    private final StringRedisTemplate messageTemplate;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper;
+
+    private final String keyPrefix;
+
+    private final ChannelTopic topic;
+
+    public RedisSharedCacheTier(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                RedisMessageListenerContainer listenerContainer, String keyPrefix) {
+        ObjectMapper valueMapper = objectMapper.copy();
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(valueMapper, null);
+        valueMapper.activateDefaultTyping(valueMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+
+        this.valueTemplate = new RedisTemplate<>();
+        valueTemplate.setConnectionFactory(connectionFactory);
+        valueTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+        valueTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer(valueMapper));
+        valueTemplate.afterPropertiesSet();
+
+        this.messageTemplate = new StringRedisTemplate(connectionFactory);
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.topic = new ChannelTopic(keyPrefix + ":cache-invalidation");
+    }
+
+    @Override
+    public Object get(String cacheName, String key) {
+        try {
+            return valueTemplate.opsForValue().get(redisKey(cacheName, key));
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.debug("Shared cache read failed for {}:{}", cacheName, key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        String redisKey = redisKey(cacheName, key);
+        try {
+            valueTemplate.opsForValue().set(redisKey, value, ttl);
+            UUID restaurantId = tenantOf(key);
+            messageTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+                    index(redis, cacheIndexKey(cacheName), redisKey, ttl);
+                    if (restaurantId != null) {
+                        index(redis, tenantIndexKey(cacheName, restaurantId), redisKey, ttl);
+                    }
+                    return null;
+                }
+            });
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.debug("Shared cache write failed for {}:{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        try {
+            String redisKey = redisKey(cacheName, key);
+            valueTemplate.delete(redisKey);
+            messageTemplate.opsForSet().remove(cacheIndexKey(cacheName), redisKey);
+            UUID restaurantId = tenantOf(key);
+            if (restaurantId != null) {
+                messageTemplate.opsForSet().remove(tenantIndexKey(cacheName, restaurantId), redisKey);
+            }
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("Shared cache evict failed for {}:{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void evictTenant(String cacheName, UUID restaurantId) {
+        deleteIndexed(tenantIndexKey(cacheName, restaurantId));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        deleteIndexed(cacheIndexKey(cacheName));
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            messageTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(invalidation));
+        } catch (IOException | DataAccessException | IllegalStateException e) {
+            logger.warn("Could not broadcast cache invalidation for {}", invalidation.getCacheName(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), CacheInvalidation.class));
+            } catch (IOException e) {
+                logger.warn("Ignoring malformed cache invalidation message", e);
+            }
+        }, topic);
+    }
+
+    @Override
+    public void broadcast(String channel, String message) {
+        try {
+            messageTemplate.convertAndSend(channelTopic(channel).getTopic(), message);
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("Could not broadcast on channel {}", channel, e);
+        }
+    }
+
+    @Override
+    public void listen(String channel, Consumer<String> listener) {
+        listenerContainer.addMessageListener((message, pattern) ->
+                listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)), channelTopic(channel));
+    }
+
+    private void index(RedisOperations<String, String> redis, String indexKey, String redisKey, Duration ttl) {
+        redis.opsForSet().add(indexKey, redisKey);
+        redis.expire(indexKey, ttl);
+    }
+
+    /**
+     * Delete the keys listed in an index set together with the set itself
+     */
+    private void deleteIndexed(String indexKey) {
+        try {
+            Set<String> members = messageTemplate.opsForSet().members(indexKey);
+            List<String> keys = new ArrayList<>(members != null ? members : Set.of());
+            keys.add(indexKey);
+            messageTemplate.delete(keys);
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("Shared cache evict failed for {}", indexKey, e);
+        }
+    }
+
+    private ChannelTopic channelTopic(String channel) {
+        return new ChannelTopic(keyPrefix + ":" + channel);
+    }
+
+    private String redisKey(String cacheName, String key) {
+        return keyPrefix + ":" + cacheName + ":" + key;
+    }
+
+    private String cacheIndexKey(String cacheName) {
+        return keyPrefix + ":index:" + cacheName;
+    }
+
+    private String tenantIndexKey(String cacheName, UUID restaurantId) {
+        return keyPrefix + ":index:" + cacheName + ":" + restaurantId;
+    }
+
+    /**
+     * Restaurant of a {@link TenantCacheKey} string, or null for keys not scoped to one
+     */
+    private static UUID tenantOf(String key) {
+        int separator = key.indexOf(':');
+        if (separator != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(key.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
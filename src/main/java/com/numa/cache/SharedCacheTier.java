@@ -0,0 +1,57 @@
+package com.numa.cache;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Second cache tier shared by all nodes, and the channel over which they tell each other
+ * to drop local entries. Other per-node state can use named channels of the same pub/sub.
+ */
+public interface SharedCacheTier {
+
+    /**
+     * Get a value, or null if absent
+     */
+    Object get(String cacheName, String key);
+
+    /**
+     * Store a value for the given time to live
+     */
+    void put(String cacheName, String key, Object value, Duration ttl);
+
+    /**
+     * Remove a single entry
+     */
+    void evict(String cacheName, String key);
+
+    /**
+     * Remove all entries of a restaurant
+     */
+    void evictTenant(String cacheName, UUID restaurantId);
+
+    /**
+     * Remove all entries of a cache
+     */
+    void clear(String cacheName);
+
+    /**
+     * Broadcast an invalidation to every node, including this one
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Receive invalidations broadcast by any node
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+
+    /**
+     * Broadcast a message on a named channel to every node, including this one
+     */
+    void broadcast(String channel, String message);
+
+    /**
+     * Receive messages broadcast on a named channel by any node
+     */
+    void listen(String channel, Consumer<String> listener);
+}
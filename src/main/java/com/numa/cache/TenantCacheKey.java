@@ -0,0 +1,56 @@
+package com.numa.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cache key scoped to a restaurant, so all entries of one tenant can be found and evicted together.
+ * Its string form {@code <restaurantId>:<name>} is the key used in the shared tier.
+ */
+public final class TenantCacheKey implements Serializable {
+
+    private final UUID restaurantId;
+    private final String name;
+
+    private TenantCacheKey(UUID restaurantId, String name) {
+        this.restaurantId = Objects.requireNonNull(restaurantId, "restaurantId");
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    /**
+     * Create a key for an entry of a restaurant
+     */
+    public static TenantCacheKey of(UUID restaurantId, Object name) {
+        return new TenantCacheKey(restaurantId, String.valueOf(name));
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TenantCacheKey other)) {
+            return false;
+        }
+        return restaurantId.equals(other.restaurantId) && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * restaurantId.hashCode() + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return restaurantId + ":" + name;
+    }
+}
@@ -0,0 +1,148 @@
+package com.numa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring cache with a bounded Caffeine tier per node in front of an optional shared tier.
+ * Reads fall through local, then shared, then the loader; every write or eviction is pushed
+ * to the shared tier and broadcast so other nodes drop their local copy.
+ *
+ * Both tiers key entries by the string form of the cache key, so use {@link TenantCacheKey}
+ * for anything that belongs to a restaurant.
+ */
+public class TieredCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+
+    private final Cache<String, Object> local;
+
+    private final SharedCacheTier shared;
+
+    private final Duration sharedTtl;
+
+    private final TieredCacheManager manager;
+
+    TieredCache(String name, Cache<String, Object> local, SharedCacheTier shared, Duration sharedTtl,
+                TieredCacheManager manager) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<String, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = key.toString();
+        Object value = local.getIfPresent(cacheKey);
+        if (value == null && shared != null) {
+            value = shared.get(name, cacheKey);
+            if (value != null) {
+                local.put(cacheKey, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(key.toString(), cacheKey -> {
+            Object value = shared != null ? shared.get(name, cacheKey) : null;
+            if (value == null) {
+                try {
+                    value = toStoreValue(valueLoader.call());
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                if (shared != null) {
+                    shared.put(name, cacheKey, value, sharedTtl);
+                }
+            }
+            return value;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = key.toString();
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        if (shared != null) {
+            shared.put(name, cacheKey, storeValue, sharedTtl);
+        }
+        manager.broadcast(name, null, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = key.toString();
+        local.invalidate(cacheKey);
+        if (shared != null) {
+            shared.evict(name, cacheKey);
+        }
+        manager.broadcast(name, null, cacheKey);
+    }
+
+    /**
+     * Evict every entry of a restaurant on all nodes
+     */
+    public void evictTenant(UUID restaurantId) {
+        evictTenant(restaurantId, null);
+    }
+
+    /**
+     * Evict every entry of a restaurant on all nodes; other nodes are told which entities changed, if known
+     */
+    public void evictTenant(UUID restaurantId, Set<UUID> entityIds) {
+        evictTenantLocally(restaurantId);
+        if (shared != null) {
+            shared.evictTenant(name, restaurantId);
+        }
+        manager.broadcast(name, restaurantId, null, entityIds);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (shared != null) {
+            shared.clear(name);
+        }
+        manager.broadcast(name, null, null);
+    }
+
+    /**
+     * Apply an invalidation received from another node to the local tier only
+     */
+    void invalidateLocally(UUID restaurantId, String key) {
+        if (key != null) {
+            local.invalidate(key);
+        } else if (restaurantId != null) {
+            evictTenantLocally(restaurantId);
+        } else {
+            local.invalidateAll();
+        }
+    }
+
+    private void evictTenantLocally(UUID restaurantId) {
+        String prefix = restaurantId + ":";
+        local.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
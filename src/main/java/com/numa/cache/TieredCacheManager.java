@@ -0,0 +1,113 @@
+package com.numa.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates {@link TieredCache}s on demand and applies invalidations broadcast by other nodes.
+ * Each local tier is a bounded Caffeine cache built from its spec, with hit/miss/eviction
+ * metrics published as {@code cache.*} meters tagged with the cache name.
+ */
+public class TieredCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    private final Function<String, String> specResolver;
+
+    private final SharedCacheTier shared;
+
+    private final Duration sharedTtl;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param specResolver Caffeine spec for a cache name, e.g. {@code maximumSize=500,expireAfterWrite=10m}
+     * @param shared       shared tier, or null to cache on this node only
+     */
+    public TieredCacheManager(Function<String, String> specResolver, SharedCacheTier shared, Duration sharedTtl,
+                              MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher) {
+        this.specResolver = specResolver;
+        this.shared = shared;
+        this.sharedTtl = sharedTtl;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        if (shared != null) {
+            shared.subscribe(this::onInvalidation);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * Evict every entry of a restaurant from a cache on all nodes
+     */
+    public void evictTenant(String cacheName, UUID restaurantId) {
+        evictTenant(cacheName, restaurantId, null);
+    }
+
+    /**
+     * Evict every entry of a restaurant from a cache on all nodes, naming the entities whose change caused it
+     */
+    public void evictTenant(String cacheName, UUID restaurantId, Set<UUID> entityIds) {
+        ((TieredCache) getCache(cacheName)).evictTenant(restaurantId, entityIds);
+    }
+
+    /**
+     * Tell other nodes to drop local entries; a no-op without a shared tier
+     */
+    void broadcast(String cacheName, UUID restaurantId, String key) {
+        broadcast(cacheName, restaurantId, key, null);
+    }
+
+    void broadcast(String cacheName, UUID restaurantId, String key, Set<UUID> entityIds) {
+        if (shared != null) {
+            shared.publish(new CacheInvalidation(nodeId, cacheName, restaurantId, key, entityIds));
+        }
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        TieredCache cache = caches.get(invalidation.getCacheName());
+        if (cache != null) {
+            cache.invalidateLocally(invalidation.getRestaurantId(), invalidation.getKey());
+        }
+        if (invalidation.getKey() == null) {
+            eventPublisher.publishEvent(new CacheInvalidatedEvent(invalidation.getCacheName(),
+                    invalidation.getRestaurantId(), invalidation.getEntityIds()));
+        }
+    }
+
+    private TieredCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.from(specResolver.apply(name))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        return new TieredCache(name, local, shared, sharedTtl, this);
+    }
+}
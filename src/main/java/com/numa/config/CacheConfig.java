@@ -0,0 +1,65 @@
+package com.numa.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numa.cache.InMemorySharedCacheTier;
+import com.numa.cache.RedisSharedCacheTier;
+import com.numa.cache.SharedCacheTier;
+import com.numa.cache.TieredCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Cache configuration: bounded Caffeine caches per node, optionally backed by a shared tier.
+ * {@code numa.cache.shared.type} selects the shared tier: {@code none}, {@code redis},
+ * or {@code in-memory} as an in-JVM stand-in for development and tests.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public TieredCacheManager cacheManager(Environment environment,
+                                           ObjectProvider<SharedCacheTier> sharedCacheTier,
+                                           @Value("${numa.cache.default-spec:maximumSize=1000,expireAfterWrite=10m}") String defaultSpec,
+                                           @Value("${numa.cache.shared.ttl-seconds:600}") long sharedTtlSeconds,
+                                           MeterRegistry meterRegistry,
+                                           ApplicationEventPublisher eventPublisher) {
+        return new TieredCacheManager(
+                name -> environment.getProperty("numa.cache.specs." + name, defaultSpec),
+                sharedCacheTier.getIfAvailable(),
+                Duration.ofSeconds(sharedTtlSeconds),
+                meterRegistry,
+                eventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "numa.cache.shared.type", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "numa.cache.shared.type", havingValue = "redis")
+    public SharedCacheTier redisSharedCacheTier(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                                RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                                @Value("${numa.cache.shared.key-prefix:numa}") String keyPrefix) {
+        return new RedisSharedCacheTier(connectionFactory, objectMapper, cacheInvalidationListenerContainer, keyPrefix);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "numa.cache.shared.type", havingValue = "in-memory")
+    public SharedCacheTier inMemorySharedCacheTier() {
+        return new InMemorySharedCacheTier();
+    }
+}
@@ -0,0 +1,95 @@
+package com.numa.config;
+
+import com.numa.datasource.ReadRouting;
+import com.numa.datasource.ReplicaRoutingDataSource;
+import com.numa.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing, enabled by {@code numa.datasource.replicas.enabled}.
+ *
+ * The primary pool is built from {@code spring.datasource} as usual. Each URL in
+ * {@code numa.datasource.replicas.urls} gets a read-only pool with the same settings, and
+ * the application's {@link DataSource} routes read-only transactions across them.
+ * Without replicas the auto-configured single pool is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "numa.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariDataSource primaryDataSource,
+                                 @Value("${numa.datasource.replicas.urls:}") String[] urls,
+                                 @Value("${numa.datasource.replicas.username:}") String username,
+                                 @Value("${numa.datasource.replicas.password:}") String password,
+                                 @Value("${numa.datasource.replicas.maximum-pool-size:20}") int maximumPoolSize,
+                                 @Value("${numa.datasource.replicas.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                                 @Value("${numa.datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+                                 MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>(urls.length);
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("replica-" + (pools.size() + 1));
+            config.setJdbcUrl(url.trim());
+            if (StringUtils.hasText(username)) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), maximumPoolSize));
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // Don't fail startup when a replica is down; reads use the primary until it is reachable
+            config.setInitializationFailTimeout(-1);
+            if (config.getMetricRegistry() == null && config.getMetricsTrackerFactory() == null) {
+                config.setMetricRegistry(meterRegistry);
+            }
+            pools.add(new HikariDataSource(config));
+        }
+        if (pools.isEmpty()) {
+            throw new IllegalStateException("numa.datasource.replicas.urls must list at least one replica");
+        }
+        return new ReplicaSet(primaryDataSource, pools, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet, ReadRouting readRouting,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicaSet, readRouting, meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        // Known defaults, so the proxy never borrows a connection just to find them out
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
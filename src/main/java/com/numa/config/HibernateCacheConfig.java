@@ -0,0 +1,89 @@
+package com.numa.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.numa.domain.common.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache.
+ *
+ * Every region is created here, bounded and expiring, and Hibernate is configured to fail
+ * on a region it does not find, so an annotated entity can never get an unbounded cache.
+ * Regions are local to each node; changes made on other nodes evict them through
+ * the cache invalidation broadcast. Without a shared cache tier there is no broadcast, so the
+ * second-level and query caches are switched off unless the deployment is declared single-node.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheConfig.class);
+
+    private static final List<String> ENTITY_REGIONS = List.of(
+            CacheRegions.RESTAURANT, CacheRegions.RESTAURANT_TABLES, CacheRegions.RESTAURANT_MENU_CATEGORIES,
+            CacheRegions.MENU_CATEGORY, CacheRegions.MENU_CATEGORY_ITEMS,
+            CacheRegions.MENU_ITEM, CacheRegions.MENU_ITEM_VARIATIONS, CacheRegions.MENU_ITEM_VARIATION,
+            CacheRegions.RESTAURANT_TABLE);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${numa.cache.hibernate.max-size:10000}") long maxSize,
+                                              @Value("${numa.cache.hibernate.ttl-seconds:1800}") long ttlSeconds,
+                                              @Value("${numa.cache.hibernate.timestamps-max-size:10000}") long timestampsMaxSize) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, region, maxSize, ttlSeconds);
+        }
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, maxSize, ttlSeconds);
+        // Update timestamps must outlive every cached query result, so they never expire
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestampsMaxSize, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCache(CacheManager hibernateCacheManager,
+                                                                   @Value("${numa.cache.shared.type:none}") String sharedType,
+                                                                   @Value("${numa.cache.hibernate.single-node:false}") boolean singleNode) {
+        boolean broadcast = !"none".equals(sharedType);
+        if (!broadcast && !singleNode) {
+            logger.warn("Hibernate second-level cache disabled: numa.cache.shared.type is none, so changes made on "
+                    + "other nodes could not evict it. Set numa.cache.hibernate.single-node to keep it on one node.");
+        }
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            if (!broadcast && !singleNode) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            }
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,38 @@
+package com.numa.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts SELECT statements issued by the current thread.
+ * Used by read paths that promise a fixed number of database round trips.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> SELECT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        if (isSelect(sql)) {
+            SELECT_COUNT.get()[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Get the number of SELECT statements issued by the current thread so far
+     */
+    public static long getSelectCount() {
+        return SELECT_COUNT.get()[0];
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        // Skip the comment Hibernate prepends when use_sql_comments is enabled
+        if (statement.startsWith("/*")) {
+            int commentEnd = statement.indexOf("*/");
+            statement = commentEnd >= 0 ? statement.substring(commentEnd + 2).stripLeading() : statement;
+        }
+        return statement.regionMatches(true, 0, "select", 0, 6)
+                || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+}
@@ -0,0 +1,26 @@
+package com.numa.config;
+
+import com.numa.datasource.GuestSessionRoutingInterceptor;
+import com.numa.datasource.ReadRouting;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (readRouting.isEnabled()) {
+            registry.addInterceptor(new GuestSessionRoutingInterceptor(readRouting))
+                    .addPathPatterns("/guest/sessions/**");
+        }
+    }
+}
@@ -51,11 +51,14 @@ public class AuthController {
     }
 
     /**
-     * Logout user (invalidate tokens)
+     * Logout user (revoke the access token and, if given, the refresh token)
      */
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
-        // TODO: Implement token blacklisting if needed
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok().build();
     }
 
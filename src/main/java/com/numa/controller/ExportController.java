@@ -0,0 +1,69 @@
+package com.numa.controller;
+
+import com.numa.export.AccountingExporter;
+import com.numa.export.ExportDataset;
+import com.numa.export.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk accounting exports.
+ * Streams orders, order items and sessions as CSV or NDJSON without loading them into memory.
+ */
+@RestController
+@RequestMapping("/restaurants/{restaurantId}/exports")
+@Tag(name = "Exports", description = "Endpoints for bulk accounting exports")
+public class ExportController {
+
+    @Autowired
+    private AccountingExporter accountingExporter;
+
+    /**
+     * Stream an export of a date range
+     */
+    @Operation(summary = "Export Restaurant Data",
+            description = "Stream orders, order-items or sessions created between two days (inclusive) as CSV or NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid dataset, format or date range"),
+            @ApiResponse(responseCode = "403", description = "Not an owner or manager of this restaurant"),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found"),
+            @ApiResponse(responseCode = "503", description = "Too many exports are running")
+    })
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasAnyRole('OWNER', 'MANAGER') and hasAuthority('RESTAURANT_' + #restaurantId)")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
+            @Parameter(description = "Dataset: orders, order-items or sessions") @PathVariable String dataset,
+            @Parameter(description = "First day to export") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day to export") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Format: csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        ExportDataset exportDataset = ExportDataset.fromPath(dataset);
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(accountingExporter.fileName(exportDataset, exportFormat, from, to))
+                .build();
+
+        // Reserves an export slot, so nothing that could fail may run between this and the return
+        StreamingResponseBody body = accountingExporter.export(restaurantId, exportDataset, exportFormat, from, to);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+}
@@ -15,8 +15,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -128,16 +130,22 @@ public class GuestController {
     /**
      * Add item to session cart
      */
-    @Operation(summary = "Add Item to Cart", description = "Add a menu item to the session cart")
+    @Operation(summary = "Add Item to Cart", description = "Add a menu item to the session cart. " +
+            "With sinceVersion, returns only the changed cart lines, or the full session if that version is stale")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item added successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "404", description = "Session or item not found")
     })
     @PostMapping("/sessions/{sessionId}/cart")
-    public ResponseEntity<GuestSessionResponse> addToCart(
+    public ResponseEntity<?> addToCart(
             @Parameter(description = "Session ID") @PathVariable UUID sessionId,
+            @Parameter(description = "Session version held by the client; enables delta responses")
+            @RequestParam(required = false) Long sinceVersion,
             @Valid @RequestBody GuestOrderRequest request) {
+        if (sinceVersion != null) {
+            return ResponseEntity.ok(guestService.addToCartDelta(sessionId, request, sinceVersion));
+        }
         GuestSessionResponse response = guestService.addToCart(sessionId, request);
         return ResponseEntity.ok(response);
     }
@@ -145,15 +153,21 @@ public class GuestController {
     /**
      * Remove item from session cart
      */
-    @Operation(summary = "Remove Item from Cart", description = "Remove a menu item from the session cart")
+    @Operation(summary = "Remove Item from Cart", description = "Remove a menu item from the session cart. " +
+            "With sinceVersion, returns only the changed cart lines, or the full session if that version is stale")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item removed successfully"),
             @ApiResponse(responseCode = "404", description = "Session or item not found")
     })
     @DeleteMapping("/sessions/{sessionId}/cart/{orderId}")
-    public ResponseEntity<GuestSessionResponse> removeFromCart(
+    public ResponseEntity<?> removeFromCart(
             @Parameter(description = "Session ID") @PathVariable UUID sessionId,
-            @Parameter(description = "Order ID") @PathVariable UUID orderId) {
+            @Parameter(description = "Order ID") @PathVariable UUID orderId,
+            @Parameter(description = "Session version held by the client; enables delta responses")
+            @RequestParam(required = false) Long sinceVersion) {
+        if (sinceVersion != null) {
+            return ResponseEntity.ok(guestService.removeFromCartDelta(sessionId, orderId, sinceVersion));
+        }
         GuestSessionResponse response = guestService.removeFromCart(sessionId, orderId);
         return ResponseEntity.ok(response);
     }
@@ -161,17 +175,23 @@ public class GuestController {
     /**
      * Update cart item quantity
      */
-    @Operation(summary = "Update Cart Item", description = "Update quantity of an item in the session cart")
+    @Operation(summary = "Update Cart Item", description = "Update quantity of an item in the session cart. " +
+            "With sinceVersion, returns only the changed cart lines, or the full session if that version is stale")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "404", description = "Session or item not found")
     })
     @PutMapping("/sessions/{sessionId}/cart/{orderId}")
-    public ResponseEntity<GuestSessionResponse> updateCartItem(
+    public ResponseEntity<?> updateCartItem(
             @Parameter(description = "Session ID") @PathVariable UUID sessionId,
             @Parameter(description = "Order ID") @PathVariable UUID orderId,
+            @Parameter(description = "Session version held by the client; enables delta responses")
+            @RequestParam(required = false) Long sinceVersion,
             @Valid @RequestBody GuestOrderRequest request) {
+        if (sinceVersion != null) {
+            return ResponseEntity.ok(guestService.updateCartItemDelta(sessionId, orderId, request, sinceVersion));
+        }
         GuestSessionResponse response = guestService.updateCartItem(sessionId, orderId, request);
         return ResponseEntity.ok(response);
     }
@@ -207,6 +227,42 @@ public class GuestController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Stream live session events
+     */
+    @Operation(summary = "Stream Session Events", description = "Server-Sent Events stream of guest, cart, order and waiter " +
+            "events for a dining session. Reconnects resume after the Last-Event-ID header or lastEventId parameter")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "Session is not active"),
+            @ApiResponse(responseCode = "404", description = "Session not found")
+    })
+    @GetMapping(value = "/sessions/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSessionEvents(
+            @Parameter(description = "Session ID") @PathVariable UUID sessionId,
+            @Parameter(description = "Last event ID seen by the client")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "Last event ID seen by the client, for clients that cannot set headers")
+            @RequestParam(required = false) String lastEventId) {
+        return guestService.streamSessionEvents(sessionId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    /**
+     * Call the waiter
+     */
+    @Operation(summary = "Call Waiter", description = "Call the waiter to the session table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waiter called successfully"),
+            @ApiResponse(responseCode = "400", description = "Session is not active"),
+            @ApiResponse(responseCode = "404", description = "Session not found")
+    })
+    @PostMapping("/sessions/{sessionId}/waiter")
+    public ResponseEntity<Void> callWaiter(
+            @Parameter(description = "Session ID") @PathVariable UUID sessionId) {
+        guestService.callWaiter(sessionId);
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Leave dining session
      */
@@ -1,6 +1,7 @@
 package com.numa.controller;
 
 import com.numa.dto.request.OrderStatusUpdateRequest;
+import com.numa.dto.response.CursorPageResponse;
 import com.numa.dto.response.OrderResponse;
 import com.numa.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,7 +15,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -33,19 +33,19 @@ public class OrderController {
     /**
      * Get all orders for a restaurant
      */
-    @Operation(summary = "Get Restaurant Orders", description = "Get all orders for a restaurant with optional filtering")
+    @Operation(summary = "Get Restaurant Orders", description = "Get a page of orders for a restaurant, newest first, with optional filtering")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Restaurant not found")
     })
     @GetMapping
     @PreAuthorize("hasRole('OWNER') or hasRole('MANAGER') or hasRole('STAFF')")
-    public ResponseEntity<List<OrderResponse>> getOrders(
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrders(
             @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
             @Parameter(description = "Order status filter") @RequestParam(required = false) String status,
-            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
-        List<OrderResponse> orders = orderService.getOrders(restaurantId, status, page, size);
+        CursorPageResponse<OrderResponse> orders = orderService.getOrders(restaurantId, status, cursor, size);
         return ResponseEntity.ok(orders);
     }
 
@@ -1,6 +1,8 @@
 package com.numa.controller;
 
 import com.numa.dto.response.ActiveSessionResponse;
+import com.numa.dto.response.CursorPageResponse;
+import com.numa.dto.response.LiveMetricsResponse;
 import com.numa.dto.response.SessionHistoryResponse;
 import com.numa.dto.response.SessionAnalyticsResponse;
 import com.numa.service.SessionService;
@@ -10,12 +12,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -44,21 +50,38 @@ public class SessionController {
         return ResponseEntity.ok(sessions);
     }
 
+    /**
+     * Stream live restaurant events
+     */
+    @Operation(summary = "Stream Restaurant Events", description = "Server-Sent Events stream of session, order, table " +
+            "and waiter events for a restaurant. Reconnects resume after the Last-Event-ID header")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "403", description = "Not a staff member of this restaurant")
+    })
+    @PreAuthorize("hasAnyRole('OWNER', 'MANAGER', 'STAFF', 'KITCHEN_STAFF', 'WAITER') and hasAuthority('RESTAURANT_' + #restaurantId)")
+    @GetMapping(value = "/restaurant/{restaurantId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRestaurantEvents(
+            @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
+            @Parameter(description = "Last event ID seen by the client")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return sessionService.streamRestaurantEvents(restaurantId, lastEventId);
+    }
+
     /**
      * Get session history for a restaurant
      */
-    @Operation(summary = "Get Session History", description = "Get session history for a restaurant with pagination")
+    @Operation(summary = "Get Session History", description = "Get session history for a restaurant with cursor pagination, newest first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Session history retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Restaurant not found")
     })
     @GetMapping("/restaurant/{restaurantId}/history")
-    public ResponseEntity<Page<SessionHistoryResponse>> getSessionHistory(
+    public ResponseEntity<CursorPageResponse<SessionHistoryResponse>> getSessionHistory(
             @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
-            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = Pageable.ofSize(size).withPage(page);
-        Page<SessionHistoryResponse> history = sessionService.getSessionHistory(restaurantId, pageable);
+        CursorPageResponse<SessionHistoryResponse> history = sessionService.getSessionHistory(restaurantId, cursor, size);
         return ResponseEntity.ok(history);
     }
 
@@ -78,6 +101,22 @@ public class SessionController {
         return ResponseEntity.ok(session);
     }
 
+    /**
+     * Acknowledge a waiter call
+     */
+    @Operation(summary = "Acknowledge Waiter Call", description = "Mark the waiter call of a session as answered")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waiter call acknowledged"),
+            @ApiResponse(responseCode = "404", description = "Session not found"),
+            @ApiResponse(responseCode = "400", description = "No pending waiter call")
+    })
+    @PostMapping("/{sessionId}/waiter/acknowledge")
+    public ResponseEntity<ActiveSessionResponse> acknowledgeWaiterCall(
+            @Parameter(description = "Session ID") @PathVariable UUID sessionId) {
+        ActiveSessionResponse session = sessionService.acknowledgeWaiterCall(sessionId);
+        return ResponseEntity.ok(session);
+    }
+
     /**
      * Get session details with orders
      */
@@ -104,8 +143,43 @@ public class SessionController {
     @GetMapping("/restaurant/{restaurantId}/analytics")
     public ResponseEntity<SessionAnalyticsResponse> getSessionAnalytics(
             @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
-            @Parameter(description = "Time range (7d, 30d, 90d)") @RequestParam(defaultValue = "30d") String timeRange) {
+            @Parameter(description = "Time range (7d, 30d, 90d), in whole days ending today") @RequestParam(defaultValue = "30d") String timeRange) {
         SessionAnalyticsResponse analytics = sessionService.getSessionAnalytics(restaurantId, timeRange);
         return ResponseEntity.ok(analytics);
     }
+
+    /**
+     * Get live per-minute metrics for a restaurant
+     */
+    @Operation(summary = "Get Live Metrics", description = "Orders per minute, revenue, open sessions and cart abandonment " +
+            "for the last minutes, served from memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Live metrics retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid window")
+    })
+    @PreAuthorize("hasAnyRole('OWNER', 'MANAGER', 'STAFF', 'KITCHEN_STAFF', 'WAITER') and hasAuthority('RESTAURANT_' + #restaurantId)")
+    @GetMapping("/restaurant/{restaurantId}/live-metrics")
+    public ResponseEntity<LiveMetricsResponse> getLiveMetrics(
+            @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
+            @Parameter(description = "Number of most recent minutes") @RequestParam(defaultValue = "60") int minutes) {
+        return ResponseEntity.ok(sessionService.getLiveMetrics(restaurantId, minutes));
+    }
+
+    /**
+     * Rebuild the analytics rollups of a restaurant for a date range
+     */
+    @Operation(summary = "Backfill Session Analytics", description = "Rebuild the daily analytics rollups of a restaurant for a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollups rebuilt successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @PostMapping("/restaurant/{restaurantId}/analytics/backfill")
+    @PreAuthorize("hasAnyRole('OWNER', 'MANAGER') and hasAuthority('RESTAURANT_' + #restaurantId)")
+    public ResponseEntity<Map<String, Object>> backfillAnalytics(
+            @Parameter(description = "Restaurant ID") @PathVariable UUID restaurantId,
+            @Parameter(description = "First day to rebuild") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day to rebuild") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int daysWritten = sessionService.backfillAnalytics(restaurantId, from, to);
+        return ResponseEntity.ok(Map.of("daysWritten", daysWritten));
+    }
 }
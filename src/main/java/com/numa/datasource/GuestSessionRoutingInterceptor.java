@@ -0,0 +1,49 @@
+package com.numa.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binds the dining session in a guest request's path to {@link ReadRouting} for the duration of the request
+ */
+public class GuestSessionRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadRouting readRouting;
+
+    public GuestSessionRoutingInterceptor(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String sessionId = variables != null ? variables.get("sessionId") : null;
+        if (sessionId != null) {
+            try {
+                readRouting.bindGuestSession(UUID.fromString(sessionId));
+            } catch (IllegalArgumentException e) {
+                // Not a session ID; the handler rejects the request itself
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        readRouting.clearGuestSession();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        readRouting.clearGuestSession();
+    }
+}
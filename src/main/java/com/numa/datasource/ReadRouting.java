@@ -0,0 +1,109 @@
+package com.numa.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Decides when a read-only transaction must still read the primary instead of a replica.
+ *
+ * Code can pin its reads to the primary with {@link #onPrimary}, for example when the result
+ * is cached and a lagging replica would keep a stale copy alive. Guest requests are bound to
+ * their dining session, and once a write for that session commits, the session's reads stay on
+ * the primary for a short window so guests always see their own changes. Like guest carts,
+ * the window is tracked per node.
+ */
+@Component
+public class ReadRouting {
+
+    private final boolean enabled;
+
+    private final ThreadLocal<Integer> primaryScopes = ThreadLocal.withInitial(() -> 0);
+
+    private final ThreadLocal<UUID> guestSession = new ThreadLocal<>();
+
+    private final Cache<UUID, Boolean> recentGuestWrites;
+
+    public ReadRouting(@Value("${numa.datasource.replicas.enabled:false}") boolean enabled,
+                       @Value("${numa.datasource.replicas.read-your-writes-ms:5000}") long readYourWritesMs,
+                       @Value("${numa.datasource.replicas.max-sticky-sessions:100000}") long maxStickySessions) {
+        this.enabled = enabled;
+        this.recentGuestWrites = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMs))
+                .maximumSize(maxStickySessions)
+                .build();
+    }
+
+    /**
+     * Whether read-only transactions may be routed to replicas at all
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run work whose connections must come from the primary, even inside read-only transactions
+     */
+    public <T> T onPrimary(Supplier<T> work) {
+        int scopes = primaryScopes.get();
+        primaryScopes.set(scopes + 1);
+        try {
+            return work.get();
+        } finally {
+            if (scopes == 0) {
+                primaryScopes.remove();
+            } else {
+                primaryScopes.set(scopes);
+            }
+        }
+    }
+
+    /**
+     * Bind the guest session the current request acts on
+     */
+    public void bindGuestSession(UUID sessionId) {
+        guestSession.set(sessionId);
+    }
+
+    public void clearGuestSession() {
+        guestSession.remove();
+    }
+
+    /**
+     * Whether a read-only connection requested now must come from the primary
+     */
+    public boolean isPrimaryRequired() {
+        if (primaryScopes.get() > 0) {
+            return true;
+        }
+        UUID sessionId = guestSession.get();
+        return sessionId != null && recentGuestWrites.getIfPresent(sessionId) != null;
+    }
+
+    /**
+     * Note that a write connection was taken, so the bound guest session reads the primary once it commits
+     */
+    void writeConnectionTaken() {
+        UUID sessionId = guestSession.get();
+        if (sessionId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentGuestWrites.put(sessionId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentGuestWrites.put(sessionId, Boolean.TRUE);
+            }
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.numa.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from a replica to read-only transactions and from the primary to everything else.
+ *
+ * Routing is decided when a connection is requested, so this must sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag is only known once it
+ * has begun. Reads fall back to the primary when {@link ReadRouting} pins them there, when no
+ * replica is within the lag limit, or when the chosen replica refuses the connection.
+ * Entities read from a replica are not put into the second-level cache, which is shared by
+ * every transaction and must not be filled with rows a replica has not caught up on.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+
+    private final ReplicaSet replicas;
+
+    private final ReadRouting readRouting;
+
+    private final Counter writes;
+    private final Counter pinnedReads;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas, ReadRouting readRouting,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readRouting = readRouting;
+        this.writes = routeCounter(meterRegistry, "primary", "write");
+        this.pinnedReads = routeCounter(meterRegistry, "primary", "pinned");
+        this.replicaReads = routeCounter(meterRegistry, "replica", "read");
+        this.fallbackReads = routeCounter(meterRegistry, "primary", "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            readRouting.writeConnectionTaken();
+            return primary.getConnection();
+        }
+        if (readRouting.isPrimaryRequired()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+
+        ReplicaSet.Replica replica = replicas.next();
+        if (replica != null) {
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replicaReads.increment();
+                keepOutOfSecondLevelCache();
+                return connection;
+            } catch (SQLException e) {
+                replicas.markUnavailable(replica, e);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Let the transaction's sessions read the second-level cache without filling it
+     */
+    private void keepOutOfSecondLevelCache() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                EntityManager entityManager = holder.getEntityManager();
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("numa.datasource.connections")
+                .description("Connections handed out by the read replica router")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
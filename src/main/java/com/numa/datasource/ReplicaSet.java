@@ -0,0 +1,157 @@
+package com.numa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replica pools with their replication lag.
+ *
+ * Each replica's lag is checked on a fixed interval against the primary's current WAL position,
+ * read just before the replicas are asked. A replica that has replayed up to that position counts
+ * as current, so an idle primary does not make its replicas look stale; one that has not is as
+ * far behind as its last replayed transaction is old. Only replicas within
+ * {@code numa.datasource.replicas.max-lag-ms} are handed out, round robin; a replica that cannot be reached is skipped until a check
+ * succeeds again. A server that is not in recovery, such as a second local database
+ * standing in for a replica, always counts as current.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+
+    private static final String LAG_SQL = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())) * 1000, "
+            + "'Infinity'::float8) END";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    private final List<Replica> replicas;
+
+    private final long maxLagMs;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaSet(DataSource primary, List<HikariDataSource> pools, long maxLagMs, MeterRegistry meterRegistry) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.primaryJdbcTemplate.setQueryTimeout(5);
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.maxLagMs = maxLagMs;
+        for (Replica replica : replicas) {
+            Gauge.builder("numa.datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("Replication lag of a read replica in milliseconds, NaN when unreachable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Next replica within the lag limit, or null when none is
+     */
+    public Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop using a replica that refused a connection until its next successful check
+     */
+    void markUnavailable(Replica replica, Exception cause) {
+        if (replica.available) {
+            replica.available = false;
+            logger.warn("Replica {} refused a connection, reading from the primary until it recovers: {}",
+                    replica.getName(), cause.getMessage());
+        }
+    }
+
+    /**
+     * Refresh the lag of every replica
+     */
+    @Scheduled(fixedDelayString = "${numa.datasource.replicas.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        String primaryLsn;
+        try {
+            primaryLsn = primaryJdbcTemplate.queryForObject(PRIMARY_LSN_SQL, String.class);
+        } catch (DataAccessException e) {
+            // Without the primary's position there is nothing to measure against; keep the last known lag
+            logger.warn("Could not read the primary's WAL position, replica lag not checked", e);
+            return;
+        }
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            boolean firstCheck = !replica.checked;
+            replica.checked = true;
+            try {
+                Double lagMs = replica.jdbcTemplate.queryForObject(LAG_SQL, Double.class, primaryLsn);
+                replica.lagMs = lagMs != null ? lagMs : Double.POSITIVE_INFINITY;
+                replica.available = replica.lagMs <= maxLagMs;
+            } catch (DataAccessException e) {
+                replica.lagMs = Double.NaN;
+                replica.available = false;
+                if (wasAvailable || firstCheck) {
+                    logger.warn("Could not check replica {}", replica.getName(), e);
+                }
+            }
+            if (replica.available != wasAvailable) {
+                logger.info("Replica {} is {} (lag {} ms)", replica.getName(),
+                        replica.available ? "serving reads" : "behind, reading from the primary", replica.lagMs);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * One replica pool and its last known lag
+     */
+    public static final class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        // Unavailable until the first check has measured the lag
+        private volatile boolean available;
+
+        private volatile double lagMs = Double.NaN;
+
+        private volatile boolean checked;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(5);
+        }
+
+        public String getName() {
+            return dataSource.getPoolName();
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+    }
+}
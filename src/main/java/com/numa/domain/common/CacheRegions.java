@@ -0,0 +1,21 @@
+package com.numa.domain.common;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ * Every region must be created in {@link com.numa.config.HibernateCacheConfig}.
+ */
+public final class CacheRegions {
+
+    public static final String RESTAURANT = "restaurant";
+    public static final String RESTAURANT_TABLES = "restaurant.tables";
+    public static final String RESTAURANT_MENU_CATEGORIES = "restaurant.menu-categories";
+    public static final String MENU_CATEGORY = "menu-category";
+    public static final String MENU_CATEGORY_ITEMS = "menu-category.items";
+    public static final String MENU_ITEM = "menu-item";
+    public static final String MENU_ITEM_VARIATIONS = "menu-item.variations";
+    public static final String MENU_ITEM_VARIATION = "menu-item-variation";
+    public static final String RESTAURANT_TABLE = "restaurant-table";
+
+    private CacheRegions() {
+    }
+}
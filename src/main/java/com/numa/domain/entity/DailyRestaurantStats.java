@@ -0,0 +1,184 @@
+package com.numa.domain.entity;
+
+import com.numa.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-restaurant, per-day rollup of session and order activity.
+ * Sessions are attributed to the day they started and orders to the day they were placed.
+ * Rows are rebuilt from the source tables, so recomputing a day is always safe.
+ */
+@Entity
+@Table(name = "daily_restaurant_stats",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_restaurant_daily_stats", columnNames = {"restaurant_id", "date"})
+       })
+public class DailyRestaurantStats extends BaseEntity {
+
+    @Column(name = "restaurant_id", nullable = false, updatable = false)
+    private UUID restaurantId;
+
+    @Column(name = "date", nullable = false, updatable = false)
+    private LocalDate date;
+
+    @Column(name = "total_orders", nullable = false)
+    private Integer totalOrders = 0;
+
+    @Column(name = "total_revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+
+    @Column(name = "average_order_value", nullable = false, precision = 10, scale = 2)
+    private BigDecimal averageOrderValue = BigDecimal.ZERO;
+
+    @Column(name = "total_sessions", nullable = false)
+    private Integer totalSessions = 0;
+
+    @Column(name = "completed_sessions", nullable = false)
+    private Integer completedSessions = 0;
+
+    @Column(name = "total_guests", nullable = false)
+    private Integer totalGuests = 0;
+
+    @Column(name = "total_session_minutes", nullable = false)
+    private Long totalSessionMinutes = 0L;
+
+    @Column(name = "average_session_duration", nullable = false)
+    private Integer averageSessionDuration = 0;
+
+    @Column(name = "table_utilization_rate", nullable = false, precision = 5, scale = 4)
+    private BigDecimal tableUtilizationRate = BigDecimal.ZERO;
+
+    // Best-selling items of the day: menuItemId, name and quantity, best first
+    @Column(name = "popular_items", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<Map<String, Object>> popularItems;
+
+    // Sessions and guests by hour of day the session started, keyed by hour
+    @Column(name = "peak_hours", columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Map<String, Long>> peakHours;
+
+    // Constructors
+    public DailyRestaurantStats() {
+        super();
+    }
+
+    public DailyRestaurantStats(UUID restaurantId, LocalDate date) {
+        this();
+        this.restaurantId = restaurantId;
+        this.date = date;
+    }
+
+    // Getters and setters
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(UUID restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getTotalOrders() {
+        return totalOrders;
+    }
+
+    public void setTotalOrders(Integer totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public BigDecimal getAverageOrderValue() {
+        return averageOrderValue;
+    }
+
+    public void setAverageOrderValue(BigDecimal averageOrderValue) {
+        this.averageOrderValue = averageOrderValue;
+    }
+
+    public Integer getTotalSessions() {
+        return totalSessions;
+    }
+
+    public void setTotalSessions(Integer totalSessions) {
+        this.totalSessions = totalSessions;
+    }
+
+    public Integer getCompletedSessions() {
+        return completedSessions;
+    }
+
+    public void setCompletedSessions(Integer completedSessions) {
+        this.completedSessions = completedSessions;
+    }
+
+    public Integer getTotalGuests() {
+        return totalGuests;
+    }
+
+    public void setTotalGuests(Integer totalGuests) {
+        this.totalGuests = totalGuests;
+    }
+
+    public Long getTotalSessionMinutes() {
+        return totalSessionMinutes;
+    }
+
+    public void setTotalSessionMinutes(Long totalSessionMinutes) {
+        this.totalSessionMinutes = totalSessionMinutes;
+    }
+
+    public Integer getAverageSessionDuration() {
+        return averageSessionDuration;
+    }
+
+    public void setAverageSessionDuration(Integer averageSessionDuration) {
+        this.averageSessionDuration = averageSessionDuration;
+    }
+
+    public BigDecimal getTableUtilizationRate() {
+        return tableUtilizationRate;
+    }
+
+    public void setTableUtilizationRate(BigDecimal tableUtilizationRate) {
+        this.tableUtilizationRate = tableUtilizationRate;
+    }
+
+    public List<Map<String, Object>> getPopularItems() {
+        return popularItems;
+    }
+
+    public void setPopularItems(List<Map<String, Object>> popularItems) {
+        this.popularItems = popularItems;
+    }
+
+    public Map<String, Map<String, Long>> getPeakHours() {
+        return peakHours;
+    }
+
+    public void setPeakHours(Map<String, Map<String, Long>> peakHours) {
+        this.peakHours = peakHours;
+    }
+}
@@ -1,8 +1,11 @@
 package com.numa.domain.entity;
 
 import com.numa.domain.common.BaseEntity;
+import com.numa.domain.common.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -13,6 +16,8 @@ import java.util.List;
  * Categories help organize menu items and can have availability windows.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_CATEGORY)
 @Table(name = "menu_categories", indexes = {
     @Index(name = "idx_categories_restaurant_id", columnList = "restaurant_id"),
     @Index(name = "idx_categories_sort_order", columnList = "restaurant_id, sort_order")
@@ -52,6 +57,7 @@ public class MenuCategory extends BaseEntity {
     // Relationships
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("sortOrder ASC, name ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_CATEGORY_ITEMS)
     private List<MenuItem> menuItems = new ArrayList<>();
 
     // Constructors
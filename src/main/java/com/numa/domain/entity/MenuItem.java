@@ -1,8 +1,11 @@
 package com.numa.domain.entity;
 
 import com.numa.domain.common.BaseEntity;
+import com.numa.domain.common.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
@@ -14,6 +17,8 @@ import java.util.List;
  * Contains detailed information about food items including pricing, dietary info, and availability.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_ITEM)
 @Table(name = "menu_items", indexes = {
     @Index(name = "idx_items_restaurant_id", columnList = "restaurant_id"),
     @Index(name = "idx_items_category_id", columnList = "category_id"),
@@ -113,6 +118,7 @@ public class MenuItem extends BaseEntity {
     // Relationships
     @OneToMany(mappedBy = "menuItem", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("sortOrder ASC, name ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_ITEM_VARIATIONS)
     private List<MenuItemVariation> variations = new ArrayList<>();
 
     // Constructors
@@ -1,8 +1,11 @@
 package com.numa.domain.entity;
 
 import com.numa.domain.common.BaseEntity;
+import com.numa.domain.common.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -11,6 +14,8 @@ import java.math.BigDecimal;
  * For example, different sizes (Small, Medium, Large) or customizations.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MENU_ITEM_VARIATION)
 @Table(name = "menu_item_variations", indexes = {
     @Index(name = "idx_variations_item_id", columnList = "menu_item_id")
 })
@@ -129,6 +129,19 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    // Rates applied by recalculateTotals when set, so pricing does not load the restaurant
+    @Transient
+    private BigDecimal pricingTaxRate;
+
+    @Transient
+    private BigDecimal pricingServiceChargeRate;
+
+    @Transient
+    private BigDecimal pricingDeliveryFee;
+
+    @Transient
+    private boolean pricingRatesSet;
+
     // Constructors
     public Order() {
         super();
@@ -138,7 +151,6 @@ public class Order extends BaseEntity {
         this();
         this.restaurant = restaurant;
         this.orderType = orderType;
-        this.orderNumber = generateOrderNumber();
     }
 
     public Order(Restaurant restaurant, RestaurantTable table, UUID sessionId) {
@@ -238,24 +250,38 @@ public class Order extends BaseEntity {
         }
     }
 
+    /**
+     * Price this order with the given rates instead of reading them from the restaurant
+     */
+    public void usePricingRates(BigDecimal taxRate, BigDecimal serviceChargeRate, BigDecimal deliveryFee) {
+        this.pricingTaxRate = taxRate;
+        this.pricingServiceChargeRate = serviceChargeRate;
+        this.pricingDeliveryFee = deliveryFee;
+        this.pricingRatesSet = true;
+    }
+
     public void recalculateTotals() {
         this.subtotal = orderItems.stream()
                 .map(OrderItem::getTotalPrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
+        BigDecimal taxRate = pricingRatesSet ? pricingTaxRate : restaurant.getTaxRate();
+        BigDecimal serviceChargeRate = pricingRatesSet ? pricingServiceChargeRate : restaurant.getServiceChargeRate();
+        BigDecimal restaurantDeliveryFee = pricingRatesSet ? pricingDeliveryFee : restaurant.getDeliveryFee();
+
         // Calculate tax
-        if (restaurant.getTaxRate() != null) {
-            this.taxAmount = subtotal.multiply(restaurant.getTaxRate());
+        if (taxRate != null) {
+            this.taxAmount = subtotal.multiply(taxRate);
         }
 
         // Calculate service charge
-        if (restaurant.getServiceChargeRate() != null) {
-            this.serviceCharge = subtotal.multiply(restaurant.getServiceChargeRate());
+        if (serviceChargeRate != null) {
+            this.serviceCharge = subtotal.multiply(serviceChargeRate);
         }
 
         // Calculate delivery fee for delivery orders
-        if (isDelivery() && restaurant.getDeliveryFee() != null) {
-            this.deliveryFee = restaurant.getDeliveryFee();
+        if (isDelivery() && restaurantDeliveryFee != null) {
+            this.deliveryFee = restaurantDeliveryFee;
         }
 
         // Calculate total
@@ -313,13 +339,6 @@ public class Order extends BaseEntity {
         this.estimatedReadyTime = LocalDateTime.now().plusMinutes(maxPrepTime);
     }
 
-    private String generateOrderNumber() {
-        // Generate order number based on timestamp and random suffix
-        long timestamp = System.currentTimeMillis();
-        int random = (int) (Math.random() * 1000);
-        return String.format("%d%03d", timestamp % 100000, random);
-    }
-
     // Getters and setters
     public Restaurant getRestaurant() {
         return restaurant;
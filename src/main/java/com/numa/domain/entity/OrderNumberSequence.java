@@ -0,0 +1,71 @@
+package com.numa.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-restaurant high-water mark for order numbers.
+ * Nodes reserve blocks of numbers by advancing it under a row lock and hand them out from memory.
+ */
+@Entity
+@Table(name = "order_number_sequences")
+public class OrderNumberSequence {
+
+    @Id
+    @Column(name = "restaurant_id", nullable = false, updatable = false)
+    private UUID restaurantId;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public OrderNumberSequence() {
+    }
+
+    public OrderNumberSequence(UUID restaurantId, long nextValue) {
+        this.restaurantId = restaurantId;
+        this.nextValue = nextValue;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Business methods
+    /**
+     * Reserve the next block of numbers, returning its first value
+     */
+    public long reserve(int blockSize) {
+        long first = nextValue;
+        nextValue = first + blockSize;
+        updatedAt = LocalDateTime.now();
+        return first;
+    }
+
+    // Getters and setters
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(UUID restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
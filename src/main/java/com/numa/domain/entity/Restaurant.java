@@ -1,9 +1,12 @@
 package com.numa.domain.entity;
 
 import com.numa.domain.common.BaseEntity;
+import com.numa.domain.common.CacheRegions;
 import com.numa.domain.enums.RestaurantStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
 import org.hibernate.type.SqlTypes;
@@ -19,6 +22,8 @@ import java.util.Map;
  * Each restaurant has its own menu, tables, orders, and configuration.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT)
 @Table(name = "restaurants", indexes = {
     @Index(name = "idx_restaurants_slug", columnList = "slug"),
     @Index(name = "idx_restaurants_status", columnList = "status")
@@ -153,9 +158,11 @@ public class Restaurant extends BaseEntity {
     private List<User> users = new ArrayList<>();
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT_TABLES)
     private List<RestaurantTable> tables = new ArrayList<>();
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT_MENU_CATEGORIES)
     private List<MenuCategory> menuCategories = new ArrayList<>();
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
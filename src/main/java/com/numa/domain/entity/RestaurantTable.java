@@ -1,9 +1,12 @@
 package com.numa.domain.entity;
 
 import com.numa.domain.common.BaseEntity;
+import com.numa.domain.common.CacheRegions;
 import com.numa.domain.enums.TableStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,6 +16,8 @@ import java.util.UUID;
  * Each table has a unique QR code for guest access.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.RESTAURANT_TABLE)
 @Table(name = "restaurant_tables", 
        indexes = {
            @Index(name = "idx_tables_restaurant_id", columnList = "restaurant_id"),
@@ -0,0 +1,57 @@
+package com.numa.domain.enums;
+
+/**
+ * Enumeration for events captured into {@code analytics_events}.
+ * Each type belongs to the funnel category it is reported under.
+ */
+public enum AnalyticsEventType {
+    /**
+     * A guest scanned a table QR code
+     */
+    QR_SCANNED("GUEST_FUNNEL"),
+
+    /**
+     * A guest opened the public menu
+     */
+    MENU_VIEWED("GUEST_FUNNEL"),
+
+    /**
+     * A guest joined or opened a dining session
+     */
+    SESSION_JOINED("GUEST_FUNNEL"),
+
+    /**
+     * A guest added an item to the cart
+     */
+    CART_ITEM_ADDED("GUEST_FUNNEL"),
+
+    /**
+     * A guest submitted the cart as an order
+     */
+    ORDER_SUBMITTED("GUEST_FUNNEL"),
+
+    /**
+     * Staff moved an order to a new status
+     */
+    ORDER_STATUS_CHANGED("STAFF_OPERATIONS"),
+
+    /**
+     * Staff acknowledged a waiter call
+     */
+    WAITER_ACKNOWLEDGED("STAFF_OPERATIONS"),
+
+    /**
+     * Staff closed a dining session
+     */
+    SESSION_ENDED("STAFF_OPERATIONS");
+
+    private final String category;
+
+    AnalyticsEventType(String category) {
+        this.category = category;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,52 @@
+package com.numa.domain.enums;
+
+/**
+ * Enumeration for live dining session events.
+ * Pushed to guests and staff as the session changes.
+ */
+public enum SessionEventType {
+    /**
+     * A new session was opened at a table
+     */
+    SESSION_STARTED,
+    
+    /**
+     * A guest joined the session
+     */
+    GUEST_JOINED,
+    
+    /**
+     * A guest left the session
+     */
+    GUEST_LEFT,
+    
+    /**
+     * A cart line was added, updated or removed
+     */
+    CART_UPDATED,
+    
+    /**
+     * The cart was submitted as an order
+     */
+    ORDER_SUBMITTED,
+    
+    /**
+     * A submitted order moved to a new status
+     */
+    ORDER_STATUS_CHANGED,
+    
+    /**
+     * A guest called the waiter
+     */
+    WAITER_CALLED,
+    
+    /**
+     * Staff acknowledged the waiter call
+     */
+    WAITER_ACKNOWLEDGED,
+    
+    /**
+     * The session was ended by staff
+     */
+    SESSION_ENDED
+}
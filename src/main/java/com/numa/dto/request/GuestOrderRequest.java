@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Request DTO for guest ordering items
@@ -13,7 +14,7 @@ import java.util.Map;
 public class GuestOrderRequest {
     
     @NotNull(message = "Menu item ID is required")
-    private Long menuItemId;
+    private UUID menuItemId;
     
     @Min(value = 1, message = "Quantity must be at least 1")
     private Integer quantity = 1;
@@ -21,14 +22,14 @@ public class GuestOrderRequest {
     @Size(max = 500, message = "Special instructions must not exceed 500 characters")
     private String specialInstructions;
     
-    private Long variationId;
+    private UUID variationId;
     
     private Map<String, Object> customizations;
     
     // Constructors
     public GuestOrderRequest() {}
     
-    public GuestOrderRequest(Long menuItemId, Integer quantity, String specialInstructions, Long variationId, Map<String, Object> customizations) {
+    public GuestOrderRequest(UUID menuItemId, Integer quantity, String specialInstructions, UUID variationId, Map<String, Object> customizations) {
         this.menuItemId = menuItemId;
         this.quantity = quantity;
         this.specialInstructions = specialInstructions;
@@ -37,11 +38,11 @@ public class GuestOrderRequest {
     }
     
     // Getters and Setters
-    public Long getMenuItemId() {
+    public UUID getMenuItemId() {
         return menuItemId;
     }
     
-    public void setMenuItemId(Long menuItemId) {
+    public void setMenuItemId(UUID menuItemId) {
         this.menuItemId = menuItemId;
     }
     
@@ -61,11 +62,11 @@ public class GuestOrderRequest {
         this.specialInstructions = specialInstructions;
     }
     
-    public Long getVariationId() {
+    public UUID getVariationId() {
         return variationId;
     }
     
-    public void setVariationId(Long variationId) {
+    public void setVariationId(UUID variationId) {
         this.variationId = variationId;
     }
     
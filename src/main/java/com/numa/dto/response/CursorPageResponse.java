@@ -0,0 +1,34 @@
+package com.numa.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated listing.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ */
+public class CursorPageResponse<T> {
+    
+    private List<T> content;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+    
+    public CursorPageResponse() {}
+    
+    public CursorPageResponse(List<T> content, String nextCursor, Boolean hasMore, Integer size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = size;
+    }
+    
+    // Getters and setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,110 @@
+package com.numa.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for cart mutations in delta mode.
+ * Carries only the changed cart lines when the client's version was current,
+ * otherwise the full session snapshot.
+ */
+public class GuestCartDeltaResponse {
+    
+    private UUID sessionId;
+    private Long baseVersion;
+    private Long sessionVersion;
+    private boolean fullSnapshot;
+    private List<GuestOrderResponse> upsertedItems;
+    private List<UUID> removedItemIds;
+    private GuestSessionResponse snapshot;
+    
+    // Constructors
+    public GuestCartDeltaResponse() {}
+    
+    /**
+     * Delta against the client's version
+     */
+    public static GuestCartDeltaResponse delta(UUID sessionId, Long baseVersion, Long sessionVersion,
+                                               List<GuestOrderResponse> upsertedItems, List<UUID> removedItemIds) {
+        GuestCartDeltaResponse response = new GuestCartDeltaResponse();
+        response.sessionId = sessionId;
+        response.baseVersion = baseVersion;
+        response.sessionVersion = sessionVersion;
+        response.fullSnapshot = false;
+        response.upsertedItems = upsertedItems;
+        response.removedItemIds = removedItemIds;
+        return response;
+    }
+    
+    /**
+     * Full snapshot for a client whose version was stale
+     */
+    public static GuestCartDeltaResponse snapshot(Long baseVersion, GuestSessionResponse snapshot) {
+        GuestCartDeltaResponse response = new GuestCartDeltaResponse();
+        response.sessionId = snapshot.getSessionId();
+        response.baseVersion = baseVersion;
+        response.sessionVersion = snapshot.getSessionVersion();
+        response.fullSnapshot = true;
+        response.upsertedItems = List.of();
+        response.removedItemIds = List.of();
+        response.snapshot = snapshot;
+        return response;
+    }
+    
+    // Getters and Setters
+    public UUID getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(UUID sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public Long getBaseVersion() {
+        return baseVersion;
+    }
+    
+    public void setBaseVersion(Long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+    
+    public Long getSessionVersion() {
+        return sessionVersion;
+    }
+    
+    public void setSessionVersion(Long sessionVersion) {
+        this.sessionVersion = sessionVersion;
+    }
+    
+    public boolean isFullSnapshot() {
+        return fullSnapshot;
+    }
+    
+    public void setFullSnapshot(boolean fullSnapshot) {
+        this.fullSnapshot = fullSnapshot;
+    }
+    
+    public List<GuestOrderResponse> getUpsertedItems() {
+        return upsertedItems;
+    }
+    
+    public void setUpsertedItems(List<GuestOrderResponse> upsertedItems) {
+        this.upsertedItems = upsertedItems;
+    }
+    
+    public List<UUID> getRemovedItemIds() {
+        return removedItemIds;
+    }
+    
+    public void setRemovedItemIds(List<UUID> removedItemIds) {
+        this.removedItemIds = removedItemIds;
+    }
+    
+    public GuestSessionResponse getSnapshot() {
+        return snapshot;
+    }
+    
+    public void setSnapshot(GuestSessionResponse snapshot) {
+        this.snapshot = snapshot;
+    }
+}
@@ -10,6 +10,7 @@ public class GuestMenuResponse {
     
     private GuestRestaurantDTO restaurant;
     private List<GuestMenuCategoryDTO> categories;
+    private Long menuVersion;
     
     // Constructors
     public GuestMenuResponse() {}
@@ -35,4 +36,12 @@ public class GuestMenuResponse {
     public void setCategories(List<GuestMenuCategoryDTO> categories) {
         this.categories = categories;
     }
+    
+    public Long getMenuVersion() {
+        return menuVersion;
+    }
+    
+    public void setMenuVersion(Long menuVersion) {
+        this.menuVersion = menuVersion;
+    }
 }
@@ -38,6 +38,14 @@ public class GuestOrderResponse {
         this.items = items;
     }
     
+    /**
+     * Projection of a submitted order without its items
+     */
+    public GuestOrderResponse(UUID orderId, UUID sessionId, String guestName, OrderStatus status,
+                              BigDecimal totalAmount, LocalDateTime createdAt) {
+        this(orderId, sessionId, guestName, status, totalAmount, createdAt, null, List.of());
+    }
+    
     // Getters and Setters
     public UUID getOrderId() {
         return orderId;
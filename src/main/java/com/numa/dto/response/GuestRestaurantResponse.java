@@ -1,6 +1,5 @@
 package com.numa.dto.response;
 
-import com.numa.domain.entity.Restaurant;
 import com.numa.domain.enums.RestaurantStatus;
 
 import java.math.BigDecimal;
@@ -9,7 +8,7 @@ import java.util.UUID;
 
 /**
  * Response DTO for guest restaurant information.
- * Uses lightweight DTO to avoid lazy loading issues.
+ * Selected by a constructor projection, so only these columns are read.
  */
 public class GuestRestaurantResponse {
     private UUID id;
@@ -46,38 +45,46 @@ public class GuestRestaurantResponse {
 
     public GuestRestaurantResponse() {}
 
-    public GuestRestaurantResponse(Restaurant restaurant) {
-        this.id = restaurant.getId();
-        this.name = restaurant.getName();
-        this.slug = restaurant.getSlug();
-        this.description = restaurant.getDescription();
-        this.email = restaurant.getEmail();
-        this.phone = restaurant.getPhone();
-        this.addressLine1 = restaurant.getAddressLine1();
-        this.addressLine2 = restaurant.getAddressLine2();
-        this.city = restaurant.getCity();
-        this.state = restaurant.getState();
-        this.postalCode = restaurant.getPostalCode();
-        this.country = restaurant.getCountry();
-        this.currencyCode = restaurant.getCurrencyCode();
-        this.languageCode = restaurant.getLanguageCode();
-        this.timezone = restaurant.getTimezone();
-        this.logoUrl = restaurant.getLogoUrl();
-        this.bannerUrl = restaurant.getBannerUrl();
-        this.brandColor = restaurant.getBrandColor();
-        this.status = restaurant.getStatus();
-        this.subscriptionPlan = restaurant.getSubscriptionPlan();
-        this.subscriptionExpiresAt = restaurant.getSubscriptionExpiresAt();
-        this.deliveryEnabled = restaurant.getDeliveryEnabled();
-        this.takeawayEnabled = restaurant.getTakeawayEnabled();
-        this.dineInEnabled = restaurant.getDineInEnabled();
-        this.deliveryRadiusKm = restaurant.getDeliveryRadiusKm();
-        this.deliveryFee = restaurant.getDeliveryFee();
-        this.minimumOrderAmount = restaurant.getMinimumOrderAmount();
-        this.taxRate = restaurant.getTaxRate();
-        this.serviceChargeRate = restaurant.getServiceChargeRate();
-        this.createdAt = restaurant.getCreatedAt();
-        this.updatedAt = restaurant.getUpdatedAt();
+    public GuestRestaurantResponse(UUID id, String name, String slug, String description, String email, String phone,
+                                   String addressLine1, String addressLine2, String city, String state,
+                                   String postalCode, String country, String currencyCode, String languageCode,
+                                   String timezone, String logoUrl, String bannerUrl, String brandColor,
+                                   RestaurantStatus status, String subscriptionPlan,
+                                   LocalDateTime subscriptionExpiresAt, Boolean deliveryEnabled,
+                                   Boolean takeawayEnabled, Boolean dineInEnabled, BigDecimal deliveryRadiusKm,
+                                   BigDecimal deliveryFee, BigDecimal minimumOrderAmount, BigDecimal taxRate,
+                                   BigDecimal serviceChargeRate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.slug = slug;
+        this.description = description;
+        this.email = email;
+        this.phone = phone;
+        this.addressLine1 = addressLine1;
+        this.addressLine2 = addressLine2;
+        this.city = city;
+        this.state = state;
+        this.postalCode = postalCode;
+        this.country = country;
+        this.currencyCode = currencyCode;
+        this.languageCode = languageCode;
+        this.timezone = timezone;
+        this.logoUrl = logoUrl;
+        this.bannerUrl = bannerUrl;
+        this.brandColor = brandColor;
+        this.status = status;
+        this.subscriptionPlan = subscriptionPlan;
+        this.subscriptionExpiresAt = subscriptionExpiresAt;
+        this.deliveryEnabled = deliveryEnabled;
+        this.takeawayEnabled = takeawayEnabled;
+        this.dineInEnabled = dineInEnabled;
+        this.deliveryRadiusKm = deliveryRadiusKm;
+        this.deliveryFee = deliveryFee;
+        this.minimumOrderAmount = minimumOrderAmount;
+        this.taxRate = taxRate;
+        this.serviceChargeRate = serviceChargeRate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     // Getters and setters
@@ -18,6 +18,7 @@ public class GuestSessionResponse {
     private List<GuestSessionGuestDTO> guests;
     private List<GuestOrderResponse> cartItems;
     private List<GuestOrderResponse> orders;
+    private Long sessionVersion;
     
     // Constructors
     public GuestSessionResponse() {}
@@ -108,4 +109,12 @@ public class GuestSessionResponse {
     public void setOrders(List<GuestOrderResponse> orders) {
         this.orders = orders;
     }
+    
+    public Long getSessionVersion() {
+        return sessionVersion;
+    }
+    
+    public void setSessionVersion(Long sessionVersion) {
+        this.sessionVersion = sessionVersion;
+    }
 }
@@ -36,6 +36,24 @@ public class GuestTableResponse {
         this.updatedAt = table.getUpdatedAt();
     }
 
+    /**
+     * Projection of a table's columns
+     */
+    public GuestTableResponse(UUID id, UUID restaurantId, String tableNumber, Integer capacity,
+                              String locationDescription, TableStatus status, String qrCode,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.tableNumber = tableNumber;
+        this.capacity = capacity;
+        this.locationDescription = locationDescription;
+        this.description = locationDescription;
+        this.status = status;
+        this.qrCode = qrCode;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and setters
     public UUID getId() {
         return id;
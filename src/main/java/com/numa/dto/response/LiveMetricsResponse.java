@@ -0,0 +1,110 @@
+package com.numa.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for live operational metrics of a restaurant.
+ * Built from in-memory per-minute counters, oldest minute first.
+ */
+public class LiveMetricsResponse {
+    
+    private UUID restaurantId;
+    private Integer windowMinutes;
+    private Long openSessions;
+    
+    // Totals over the window
+    private Long ordersSubmitted;
+    private BigDecimal revenue;
+    private Double ordersPerMinute;
+    private Long sessionsStarted;
+    private Long sessionsEnded;
+    private Long abandonedCarts;
+    private Double cartAbandonmentRate;
+    
+    private List<MinuteStats> minutes;
+    private LocalDateTime generatedAt;
+    
+    public LiveMetricsResponse() {}
+    
+    public LiveMetricsResponse(UUID restaurantId, Integer windowMinutes, Long openSessions, Long ordersSubmitted,
+                               BigDecimal revenue, Double ordersPerMinute, Long sessionsStarted, Long sessionsEnded,
+                               Long abandonedCarts, Double cartAbandonmentRate, List<MinuteStats> minutes,
+                               LocalDateTime generatedAt) {
+        this.restaurantId = restaurantId;
+        this.windowMinutes = windowMinutes;
+        this.openSessions = openSessions;
+        this.ordersSubmitted = ordersSubmitted;
+        this.revenue = revenue;
+        this.ordersPerMinute = ordersPerMinute;
+        this.sessionsStarted = sessionsStarted;
+        this.sessionsEnded = sessionsEnded;
+        this.abandonedCarts = abandonedCarts;
+        this.cartAbandonmentRate = cartAbandonmentRate;
+        this.minutes = minutes;
+        this.generatedAt = generatedAt;
+    }
+    
+    public static class MinuteStats {
+        private LocalDateTime minute;
+        private Long orders;
+        private BigDecimal revenue;
+        private Long sessionsStarted;
+        private Long sessionsEnded;
+        private Long abandonedCarts;
+        
+        public MinuteStats() {}
+        
+        public MinuteStats(LocalDateTime minute, Long orders, BigDecimal revenue, Long sessionsStarted,
+                           Long sessionsEnded, Long abandonedCarts) {
+            this.minute = minute;
+            this.orders = orders;
+            this.revenue = revenue;
+            this.sessionsStarted = sessionsStarted;
+            this.sessionsEnded = sessionsEnded;
+            this.abandonedCarts = abandonedCarts;
+        }
+        
+        // Getters and setters
+        public LocalDateTime getMinute() { return minute; }
+        public void setMinute(LocalDateTime minute) { this.minute = minute; }
+        public Long getOrders() { return orders; }
+        public void setOrders(Long orders) { this.orders = orders; }
+        public BigDecimal getRevenue() { return revenue; }
+        public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+        public Long getSessionsStarted() { return sessionsStarted; }
+        public void setSessionsStarted(Long sessionsStarted) { this.sessionsStarted = sessionsStarted; }
+        public Long getSessionsEnded() { return sessionsEnded; }
+        public void setSessionsEnded(Long sessionsEnded) { this.sessionsEnded = sessionsEnded; }
+        public Long getAbandonedCarts() { return abandonedCarts; }
+        public void setAbandonedCarts(Long abandonedCarts) { this.abandonedCarts = abandonedCarts; }
+    }
+    
+    // Getters and setters
+    public UUID getRestaurantId() { return restaurantId; }
+    public void setRestaurantId(UUID restaurantId) { this.restaurantId = restaurantId; }
+    public Integer getWindowMinutes() { return windowMinutes; }
+    public void setWindowMinutes(Integer windowMinutes) { this.windowMinutes = windowMinutes; }
+    public Long getOpenSessions() { return openSessions; }
+    public void setOpenSessions(Long openSessions) { this.openSessions = openSessions; }
+    public Long getOrdersSubmitted() { return ordersSubmitted; }
+    public void setOrdersSubmitted(Long ordersSubmitted) { this.ordersSubmitted = ordersSubmitted; }
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+    public Double getOrdersPerMinute() { return ordersPerMinute; }
+    public void setOrdersPerMinute(Double ordersPerMinute) { this.ordersPerMinute = ordersPerMinute; }
+    public Long getSessionsStarted() { return sessionsStarted; }
+    public void setSessionsStarted(Long sessionsStarted) { this.sessionsStarted = sessionsStarted; }
+    public Long getSessionsEnded() { return sessionsEnded; }
+    public void setSessionsEnded(Long sessionsEnded) { this.sessionsEnded = sessionsEnded; }
+    public Long getAbandonedCarts() { return abandonedCarts; }
+    public void setAbandonedCarts(Long abandonedCarts) { this.abandonedCarts = abandonedCarts; }
+    public Double getCartAbandonmentRate() { return cartAbandonmentRate; }
+    public void setCartAbandonmentRate(Double cartAbandonmentRate) { this.cartAbandonmentRate = cartAbandonmentRate; }
+    public List<MinuteStats> getMinutes() { return minutes; }
+    public void setMinutes(List<MinuteStats> minutes) { this.minutes = minutes; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
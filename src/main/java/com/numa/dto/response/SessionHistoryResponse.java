@@ -3,6 +3,8 @@ package com.numa.dto.response;
 import com.numa.domain.enums.SessionStatus;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -57,6 +59,24 @@ public class SessionHistoryResponse {
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
+
+    /**
+     * Projection of a session with its submitted order count; duration and average order value are derived
+     */
+    public SessionHistoryResponse(UUID sessionId, String sessionCode, SessionStatus status, String tableNumber,
+                                  String tableLocation, Integer guestCount, String hostName, String hostPhone,
+                                  BigDecimal totalAmount, BigDecimal tipAmount, String paymentStatus,
+                                  LocalDateTime startedAt, LocalDateTime endedAt, Long totalOrders,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(sessionId, sessionCode, status, tableNumber, tableLocation, guestCount, hostName, hostPhone,
+                totalAmount, tipAmount, paymentStatus, startedAt, endedAt,
+                endedAt != null ? Duration.between(startedAt, endedAt).toMinutes() : null,
+                totalOrders.intValue(),
+                totalOrders > 0
+                        ? totalAmount.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO,
+                createdAt, updatedAt);
+    }
     
     // Getters and setters
     public UUID getSessionId() { return sessionId; }
@@ -0,0 +1,34 @@
+package com.numa.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Event published when a restaurant's guest-facing menu data changes.
+ * Listeners receive it after the originating transaction commits.
+ */
+public class MenuChangedEvent {
+
+    private final UUID restaurantId;
+    private final Set<UUID> removedIds;
+
+    public MenuChangedEvent(UUID restaurantId) {
+        this(restaurantId, Set.of());
+    }
+
+    public MenuChangedEvent(UUID restaurantId, Set<UUID> removedIds) {
+        this.restaurantId = restaurantId;
+        this.removedIds = removedIds;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    /**
+     * IDs of the categories, items and variations the change deleted
+     */
+    public Set<UUID> getRemovedIds() {
+        return removedIds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.numa.event;
+
+import java.util.UUID;
+
+/**
+ * Event published when a restaurant's profile, settings or status changes.
+ * Listeners receive it after the originating transaction commits.
+ */
+public class RestaurantChangedEvent {
+
+    private final UUID restaurantId;
+
+    public RestaurantChangedEvent(UUID restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.numa.event;
+
+import com.numa.domain.enums.SessionEventType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Event published when the live state of a dining session changes.
+ * Listeners receive it after the originating transaction commits.
+ * The restaurant ID may be null for guest-only events such as cart changes.
+ */
+public class SessionEvent {
+
+    private final UUID sessionId;
+    private final UUID restaurantId;
+    private final SessionEventType type;
+    private final Map<String, Object> data;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    public SessionEvent(UUID sessionId, UUID restaurantId, SessionEventType type, Map<String, Object> data) {
+        this.sessionId = sessionId;
+        this.restaurantId = restaurantId;
+        this.type = type;
+        this.data = data;
+    }
+
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public SessionEventType getType() {
+        return type;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
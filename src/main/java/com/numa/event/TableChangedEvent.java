@@ -0,0 +1,26 @@
+package com.numa.event;
+
+import java.util.UUID;
+
+/**
+ * Event published when a table is created, updated, deleted or gets a new QR code.
+ * Listeners receive it after the originating transaction commits.
+ */
+public class TableChangedEvent {
+
+    private final UUID restaurantId;
+    private final UUID tableId;
+
+    public TableChangedEvent(UUID restaurantId, UUID tableId) {
+        this.restaurantId = restaurantId;
+        this.tableId = tableId;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public UUID getTableId() {
+        return tableId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.numa.event;
+
+import com.numa.domain.enums.TableStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Event published when a table changes status.
+ * Listeners receive it after the originating transaction commits.
+ */
+public class TableStatusChangedEvent {
+
+    private final UUID restaurantId;
+    private final UUID tableId;
+    private final String tableNumber;
+    private final TableStatus status;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    public TableStatusChangedEvent(UUID restaurantId, UUID tableId, String tableNumber, TableStatus status) {
+        this.restaurantId = restaurantId;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.status = status;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public UUID getTableId() {
+        return tableId;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public TableStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
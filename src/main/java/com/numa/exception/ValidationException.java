@@ -1,9 +1,13 @@
 package com.numa.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 /**
  * Exception thrown when validation fails.
- * Typically results in HTTP 400 Bad Request response.
+ * Results in an HTTP 400 Bad Request response.
  */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
 public class ValidationException extends RuntimeException {
 
     public ValidationException(String message) {
@@ -0,0 +1,262 @@
+package com.numa.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numa.exception.ValidationException;
+import com.numa.service.TenantContextResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams a restaurant's orders, order items or sessions over a date range straight from
+ * a forward-only JDBC cursor to the response, for month-end accounting.
+ *
+ * Rows are read in fetch-size chunks inside a read-only transaction (PostgreSQL only uses a
+ * server-side cursor when auto-commit is off) and encoded one at a time, so memory use does
+ * not grow with the size of the export. Exports hold a pooled connection for their whole
+ * duration, so only a few may run at once. Each run is logged with its throughput and
+ * recorded as the {@code numa.export.rows} and {@code numa.export.duration} metrics.
+ */
+@Component
+public class AccountingExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountingExporter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TenantContextResolver tenantContextResolver;
+
+    @Value("${numa.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${numa.export.max-days:366}")
+    private int maxDays;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore slots;
+
+    public AccountingExporter(@Value("${numa.export.max-concurrent:2}") int maxConcurrent,
+                              MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(maxConcurrent);
+        Gauge.builder("numa.export.active", slots, permits -> maxConcurrent - permits.availablePermits())
+                .description("Exports currently streaming")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validate an export of the days from {@code from} to {@code to} inclusive and reserve a slot for it,
+     * answering 503 when every slot is taken. The returned body streams the rows when the response is
+     * written and then frees the slot; if the request completes without the body having started, on an
+     * async timeout or error, the slot is freed then and the body no longer runs.
+     */
+    public StreamingResponseBody export(UUID restaurantId, ExportDataset dataset, ExportFormat format,
+                                        LocalDate from, LocalDate to) {
+        // Verify restaurant exists
+        tenantContextResolver.get(restaurantId);
+
+        if (to.isBefore(from)) {
+            throw new ValidationException("Export range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new ValidationException("Export range cannot exceed " + maxDays + " days");
+        }
+        if (!slots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many exports are running, try again shortly");
+        }
+
+        ExportSlot slot = new ExportSlot();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            WebAsyncUtils.getAsyncManager(servletAttributes.getRequest()).registerCallableInterceptor(slot, slot);
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return out -> {
+            if (!slot.begin()) {
+                return;
+            }
+            try {
+                stream(out, restaurantId, dataset, format, start, end);
+            } finally {
+                slot.end();
+            }
+        };
+    }
+
+    /**
+     * File name offered for downloading an export
+     */
+    public String fileName(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to) {
+        return dataset.getPath() + "-" + from + "-to-" + to + "." + format.getExtension();
+    }
+
+    private void stream(OutputStream out, UUID restaurantId, ExportDataset dataset, ExportFormat format,
+                        LocalDateTime start, LocalDateTime end) throws IOException {
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        String outcome = "failed";
+        try {
+            ExportRowWriter writer = format.open(out, objectMapper);
+            ResultSetExtractor<Long> extractor = rs -> writeRows(rs, writer, rows);
+            readOnlyTransaction().execute(status -> jdbcTemplate.query(
+                    con -> prepare(con, dataset, restaurantId, start, end), extractor));
+            outcome = "completed";
+        } catch (UncheckedIOException e) {
+            // The client went away; there is nobody left to report an error to
+            outcome = "aborted";
+            logger.info("Export of {} for restaurant {} aborted by the client after {} rows",
+                    dataset.getPath(), restaurantId, rows.get());
+        } catch (DataAccessException e) {
+            logger.warn("Export of {} for restaurant {} failed after {} rows",
+                    dataset.getPath(), restaurantId, rows.get(), e);
+            throw e;
+        } finally {
+            record(restaurantId, dataset, format, outcome, rows.get(), System.nanoTime() - startedAt);
+        }
+    }
+
+    private PreparedStatement prepare(Connection con, ExportDataset dataset, UUID restaurantId,
+                                      LocalDateTime start, LocalDateTime end) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(dataset.getSql(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        ps.setObject(1, restaurantId);
+        ps.setTimestamp(2, Timestamp.valueOf(start));
+        ps.setTimestamp(3, Timestamp.valueOf(end));
+        return ps;
+    }
+
+    private Long writeRows(ResultSet rs, ExportRowWriter writer, AtomicLong rows) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+        Object[] values = new Object[columns.length];
+        try {
+            writer.begin(columns);
+            while (rs.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    Object value = rs.getObject(i + 1);
+                    values[i] = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+                }
+                writer.row(values);
+                rows.incrementAndGet();
+            }
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows.get();
+    }
+
+    private void record(UUID restaurantId, ExportDataset dataset, ExportFormat format, String outcome,
+                        long rows, long elapsedNanos) {
+        long elapsedMs = Math.max(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), 1);
+        logger.info("Exported {} {} rows for restaurant {} as {} in {} ms ({} rows/s, {})",
+                rows, dataset.getPath(), restaurantId, format.getExtension(), elapsedMs,
+                rows * 1000 / elapsedMs, outcome);
+
+        Counter.builder("numa.export.rows")
+                .description("Rows streamed by accounting exports")
+                .tag("dataset", dataset.getPath())
+                .tag("format", format.getExtension())
+                .register(meterRegistry)
+                .increment(rows);
+        Timer.builder("numa.export.duration")
+                .description("Time taken to stream an accounting export")
+                .tag("dataset", dataset.getPath())
+                .tag("format", format.getExtension())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * A reserved slot, freed exactly once: by the body when it ends, or when the request completes
+     * before the body started
+     */
+    private final class ExportSlot implements CallableProcessingInterceptor {
+
+        private static final int RESERVED = 0;
+        private static final int STREAMING = 1;
+        private static final int RELEASED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+        boolean begin() {
+            return state.compareAndSet(RESERVED, STREAMING);
+        }
+
+        void end() {
+            if (state.compareAndSet(STREAMING, RELEASED)) {
+                slots.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            if (state.compareAndSet(RESERVED, RELEASED)) {
+                slots.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.numa.export;
+
+import com.numa.exception.ValidationException;
+
+import java.util.Arrays;
+
+/**
+ * Datasets that can be exported in bulk for accounting.
+ *
+ * Each query selects one restaurant's rows in a half-open time range, in a stable
+ * {@code (timestamp, id)} order so repeated exports of the same range match line for line.
+ * Column aliases become the CSV header and the NDJSON field names.
+ */
+public enum ExportDataset {
+
+    /**
+     * One row per order, with its totals
+     */
+    ORDERS("orders",
+            "SELECT o.id AS order_id, o.order_number, o.created_at, o.order_type, o.status, "
+                    + "t.table_number, o.session_id, o.customer_name, o.subtotal, o.tax_amount, "
+                    + "o.service_charge, o.delivery_fee, o.discount_amount, o.total_amount, "
+                    + "o.payment_status, o.payment_method "
+                    + "FROM orders o "
+                    + "LEFT JOIN restaurant_tables t ON t.id = o.table_id "
+                    + "WHERE o.restaurant_id = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "ORDER BY o.created_at, o.id"),
+
+    /**
+     * One row per order line, keyed by the order it belongs to
+     */
+    ORDER_ITEMS("order-items",
+            "SELECT oi.id AS order_item_id, o.id AS order_id, o.order_number, o.created_at, "
+                    + "oi.menu_item_id, m.name AS item_name, oi.guest_name, oi.quantity, "
+                    + "oi.unit_price, oi.total_price, oi.status "
+                    + "FROM orders o "
+                    + "JOIN order_items oi ON oi.order_id = o.id "
+                    + "LEFT JOIN menu_items m ON m.id = oi.menu_item_id "
+                    + "WHERE o.restaurant_id = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "ORDER BY o.created_at, o.id, oi.id"),
+
+    /**
+     * One row per dining session, by the time it started
+     */
+    SESSIONS("sessions",
+            "SELECT s.id AS session_id, s.session_code, t.table_number, s.status, s.guest_count, "
+                    + "s.started_at, s.ended_at, s.total_amount, s.tip_amount, s.payment_status "
+                    + "FROM dining_sessions s "
+                    + "LEFT JOIN restaurant_tables t ON t.id = s.table_id "
+                    + "WHERE s.restaurant_id = ? AND s.started_at >= ? AND s.started_at < ? "
+                    + "ORDER BY s.started_at, s.id");
+
+    private final String path;
+
+    private final String sql;
+
+    ExportDataset(String path, String sql) {
+        this.path = path;
+        this.sql = sql;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Query taking the restaurant ID and the start (inclusive) and end (exclusive) of the range
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Resolve a dataset from its URL path segment
+     */
+    public static ExportDataset fromPath(String path) {
+        return Arrays.stream(values())
+                .filter(dataset -> dataset.path.equalsIgnoreCase(path))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Unknown export: " + path));
+    }
+}
@@ -0,0 +1,62 @@
+package com.numa.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.numa.exception.ValidationException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodings an export can be streamed in
+ */
+public enum ExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Open a row writer over the response stream
+     */
+    ExportRowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        if (this == NDJSON) {
+            return new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+        }
+        return new CsvRowWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Resolve a format from its request parameter value
+     */
+    public static ExportFormat fromParam(String format) {
+        for (ExportFormat candidate : values()) {
+            if (candidate.extension.equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        throw new ValidationException("Unsupported export format: " + format);
+    }
+}
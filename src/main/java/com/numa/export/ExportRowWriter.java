@@ -0,0 +1,24 @@
+package com.numa.export;
+
+import java.io.IOException;
+
+/**
+ * Encodes exported rows onto an output stream one at a time, so nothing is held beyond the current row
+ */
+interface ExportRowWriter {
+
+    /**
+     * Start the output with the column names of the rows that follow
+     */
+    void begin(String[] columns) throws IOException;
+
+    /**
+     * Write one row, whose values line up with the columns and are reused for the next row
+     */
+    void row(Object[] values) throws IOException;
+
+    /**
+     * Flush anything still buffered once the last row is written
+     */
+    void finish() throws IOException;
+}
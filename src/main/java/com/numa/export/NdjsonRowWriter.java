@@ -0,0 +1,59 @@
+package com.numa.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Newline-delimited JSON: one object per row, keyed by column name.
+ * Amounts stay JSON numbers so they are not rounded through floating point.
+ */
+class NdjsonRowWriter implements ExportRowWriter {
+
+    private final JsonGenerator generator;
+
+    private String[] columns;
+
+    NdjsonRowWriter(JsonGenerator generator) {
+        this.generator = generator;
+        // Rows end with a newline of their own rather than the default space between root values
+        generator.setRootValueSeparator(null);
+        generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+    }
+
+    @Override
+    public void begin(String[] columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns[i]);
+            writeValue(values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
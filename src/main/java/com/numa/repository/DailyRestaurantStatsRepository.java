@@ -0,0 +1,29 @@
+package com.numa.repository;
+
+import com.numa.domain.entity.DailyRestaurantStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for DailyRestaurantStats entity operations.
+ * Backs the daily analytics rollups.
+ */
+@Repository
+public interface DailyRestaurantStatsRepository extends JpaRepository<DailyRestaurantStats, UUID> {
+
+    /**
+     * Find the rollup of one restaurant day
+     */
+    Optional<DailyRestaurantStats> findByRestaurantIdAndDate(UUID restaurantId, LocalDate date);
+
+    /**
+     * Find the rollups of a restaurant in a date range, newest first
+     */
+    List<DailyRestaurantStats> findByRestaurantIdAndDateBetweenOrderByDateDesc(UUID restaurantId, LocalDate from,
+                                                                               LocalDate to);
+}
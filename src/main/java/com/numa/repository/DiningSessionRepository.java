@@ -2,6 +2,8 @@ package com.numa.repository;
 
 import com.numa.domain.entity.DiningSession;
 import com.numa.domain.enums.SessionStatus;
+import com.numa.dto.response.GuestOrderResponse;
+import com.numa.dto.response.SessionHistoryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,11 +29,65 @@ public interface DiningSessionRepository extends JpaRepository<DiningSession, UU
      */
     Optional<DiningSession> findBySessionCode(String sessionCode);
 
+    /**
+     * Guest view of a session, its table and one guest, for the queries below
+     */
+    String GUEST_SESSION_SELECT = "SELECT new com.numa.dto.response.GuestDiningSessionDTO(s.id, s.sessionCode, " +
+            "s.status, s.guestCount, s.hostName, s.hostPhone, s.specialRequests, s.totalAmount, s.tipAmount, " +
+            "s.paymentStatus, s.waiterCalled, s.waiterCallTime, s.waiterResponseTime, s.startedAt, s.endedAt, " +
+            "s.createdAt, s.updatedAt), " +
+            "new com.numa.dto.response.GuestTableResponse(t.id, t.restaurant.id, t.tableNumber, t.capacity, " +
+            "t.locationDescription, t.status, t.qrCode, t.createdAt, t.updatedAt), " +
+            "new com.numa.dto.response.GuestSessionGuestDTO(g.id, g.guestName, g.guestPhone, g.isHost, " +
+            "g.joinToken, g.joinedAt, g.lastActivityAt, g.createdAt, g.updatedAt) " +
+            "FROM DiningSession s JOIN s.table t " +
+            "LEFT JOIN SessionGuest g ON g.session.id = s.id ";
+
+    /**
+     * Select the guest view of a session with its table and guests in a single query.
+     * Returns one row per guest as [session, table, guest]; without guests the guest comes back empty.
+     */
+    @Query(GUEST_SESSION_SELECT + "WHERE s.id = :sessionId ORDER BY g.joinedAt ASC")
+    List<Object[]> findGuestSessionRows(@Param("sessionId") UUID sessionId);
+
+    /**
+     * Select the guest view of a session by code with its table and guests in a single query
+     */
+    @Query(GUEST_SESSION_SELECT + "WHERE s.sessionCode = :sessionCode ORDER BY g.joinedAt ASC")
+    List<Object[]> findGuestSessionRowsByCode(@Param("sessionCode") String sessionCode);
+
+    /**
+     * Select the guest view of a session's submitted orders, oldest first
+     */
+    @Query("SELECT new com.numa.dto.response.GuestOrderResponse(o.id, o.sessionId, o.customerName, o.status, " +
+           "o.totalAmount, o.createdAt) FROM Order o " +
+           "WHERE o.sessionId = :sessionId AND o.status <> com.numa.domain.enums.OrderStatus.PENDING " +
+           "ORDER BY o.createdAt ASC")
+    List<GuestOrderResponse> findGuestSessionOrders(@Param("sessionId") UUID sessionId);
+
     /**
      * Find sessions by restaurant ID
      */
     Page<DiningSession> findByRestaurantIdOrderByStartedAtDesc(UUID restaurantId, Pageable pageable);
 
+    /**
+     * Select session history rows of a restaurant started before a keyset position, newest first,
+     * counting each session's submitted orders in the same query
+     */
+    @Query("SELECT new com.numa.dto.response.SessionHistoryResponse(s.id, s.sessionCode, s.status, " +
+           "t.tableNumber, t.locationDescription, s.guestCount, s.hostName, s.hostPhone, s.totalAmount, " +
+           "s.tipAmount, s.paymentStatus, s.startedAt, s.endedAt, " +
+           "(SELECT COUNT(o) FROM Order o WHERE o.sessionId = s.id " +
+           "AND o.status <> com.numa.domain.enums.OrderStatus.PENDING), " +
+           "s.createdAt, s.updatedAt) " +
+           "FROM DiningSession s JOIN s.table t WHERE s.restaurant.id = :restaurantId " +
+           "AND s.startedAt <= :startedAt AND (s.startedAt < :startedAt OR s.id < :id) " +
+           "ORDER BY s.startedAt DESC, s.id DESC")
+    List<SessionHistoryResponse> findHistoryPageByRestaurantBefore(@Param("restaurantId") UUID restaurantId,
+                                                                  @Param("startedAt") LocalDateTime startedAt,
+                                                                  @Param("id") UUID id,
+                                                                  Pageable pageable);
+
     /**
      * Find sessions by table ID
      */
@@ -43,6 +100,13 @@ public interface DiningSessionRepository extends JpaRepository<DiningSession, UU
            "AND s.status = 'ACTIVE' ORDER BY s.startedAt ASC")
     List<DiningSession> findActiveSessionsByRestaurant(@Param("restaurantId") UUID restaurantId);
 
+    /**
+     * Find active sessions by restaurant with their tables
+     */
+    @Query("SELECT s FROM DiningSession s JOIN FETCH s.table WHERE s.restaurant.id = :restaurantId " +
+           "AND s.status = 'ACTIVE' ORDER BY s.startedAt ASC")
+    List<DiningSession> findActiveSessionsWithTableByRestaurant(@Param("restaurantId") UUID restaurantId);
+
     /**
      * Find current active session for table
      */
@@ -51,9 +115,16 @@ public interface DiningSessionRepository extends JpaRepository<DiningSession, UU
     Optional<DiningSession> findActiveSessionByTable(@Param("tableId") UUID tableId);
     
     /**
-     * Find session by table ID and status
+     * Find the oldest session of a table with the given status
      */
-    Optional<DiningSession> findByTableIdAndStatus(UUID tableId, SessionStatus status);
+    Optional<DiningSession> findFirstByTableIdAndStatusOrderByStartedAtAsc(UUID tableId, SessionStatus status);
+
+    /**
+     * Find IDs of active sessions for a table, oldest first
+     */
+    @Query("SELECT s.id FROM DiningSession s WHERE s.table.id = :tableId " +
+           "AND s.status = 'ACTIVE' ORDER BY s.startedAt ASC")
+    List<UUID> findActiveSessionIdsByTable(@Param("tableId") UUID tableId);
 
     /**
      * Find sessions by status and restaurant
@@ -224,4 +295,43 @@ public interface DiningSessionRepository extends JpaRepository<DiningSession, UU
      * Count sessions by restaurant and date range
      */
     long countByRestaurantIdAndStartedAtBetween(UUID restaurantId, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Aggregate the sessions a restaurant started in a time range by day and hour in a single scan, for rollups.
+     * Rows hold day, hour, sessions, ended sessions, guests, revenue and whole minutes spent by ended sessions.
+     */
+    @Query(value = "WITH started AS (" +
+           "SELECT CAST(started_at AS DATE) AS day, CAST(EXTRACT(HOUR FROM started_at) AS INTEGER) AS hour, " +
+           "guest_count, total_amount, " +
+           "CASE WHEN ended_at IS NOT NULL " +
+           "THEN GREATEST(FLOOR(EXTRACT(EPOCH FROM (ended_at - started_at)) / 60), 0) END AS minutes " +
+           "FROM dining_sessions " +
+           "WHERE restaurant_id = :restaurantId AND started_at >= :from AND started_at < :to) " +
+           "SELECT day, hour, COUNT(*), COUNT(minutes), COALESCE(SUM(guest_count), 0), " +
+           "COALESCE(SUM(total_amount), 0), COALESCE(SUM(minutes), 0) " +
+           "FROM started GROUP BY day, hour ORDER BY day, hour", nativeQuery = true)
+    List<Object[]> aggregateRollupsByDayAndHour(@Param("restaurantId") UUID restaurantId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    /**
+     * Count the sessions of a restaurant in each of the given statuses
+     */
+    @Query("SELECT s.status, COUNT(s) FROM DiningSession s WHERE s.restaurant.id = :restaurantId " +
+           "AND s.status IN :statuses GROUP BY s.status")
+    List<Object[]> countByRestaurantIdAndStatusIn(@Param("restaurantId") UUID restaurantId,
+                                                  @Param("statuses") Collection<SessionStatus> statuses);
+
+    /**
+     * Get restaurant ID and start time of the given sessions
+     */
+    @Query("SELECT s.restaurant.id, s.startedAt FROM DiningSession s WHERE s.id IN :sessionIds")
+    List<Object[]> findRestaurantAndStartByIdIn(@Param("sessionIds") Collection<UUID> sessionIds);
+
+    /**
+     * Find restaurants that started sessions in a time range
+     */
+    @Query("SELECT DISTINCT s.restaurant.id FROM DiningSession s WHERE s.startedAt >= :from AND s.startedAt < :to")
+    List<UUID> findRestaurantIdsWithSessionsBetween(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
 }
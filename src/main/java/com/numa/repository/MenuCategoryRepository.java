@@ -1,8 +1,11 @@
 package com.numa.repository;
 
 import com.numa.domain.entity.MenuCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +25,12 @@ public interface MenuCategoryRepository extends JpaRepository<MenuCategory, UUID
      */
     List<MenuCategory> findByRestaurantIdOrderBySortOrderAsc(UUID restaurantId);
 
+    /**
+     * Select the IDs of a restaurant's categories
+     */
+    @Query("SELECT c.id FROM MenuCategory c WHERE c.restaurant.id = :restaurantId")
+    List<UUID> findIdsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
     /**
      * Find active categories by restaurant ID
      */
@@ -29,8 +38,10 @@ public interface MenuCategoryRepository extends JpaRepository<MenuCategory, UUID
     List<MenuCategory> findActiveByRestaurantId(@Param("restaurantId") UUID restaurantId);
     
     /**
-     * Find active categories by restaurant ID ordered by sort order
+     * Find active categories by restaurant ID ordered by sort order.
+     * Held in the query cache, keyed by restaurant ID like every cached query, so tenants never share results.
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<MenuCategory> findByRestaurantIdAndIsActiveTrueOrderBySortOrderAsc(UUID restaurantId);
 
     /**
@@ -25,6 +25,18 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, UUID> {
      */
     List<MenuItem> findByRestaurantIdOrderByCategorySortOrderAscSortOrderAsc(UUID restaurantId);
 
+    /**
+     * Select the IDs of a restaurant's items
+     */
+    @Query("SELECT i.id FROM MenuItem i WHERE i.restaurant.id = :restaurantId")
+    List<UUID> findIdsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Select the IDs of the variations of a restaurant's items
+     */
+    @Query("SELECT v.id FROM MenuItemVariation v WHERE v.menuItem.restaurant.id = :restaurantId")
+    List<UUID> findVariationIdsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
     /**
      * Find items by category ID
      */
@@ -1,11 +1,14 @@
 package com.numa.repository;
 
 import com.numa.domain.entity.OrderItem;
+import com.numa.domain.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +29,12 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
      */
     List<OrderItem> findByOrderIdOrderByCreatedAtAsc(UUID orderId);
 
+    /**
+     * Find items of several orders with their menu items in one query
+     */
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.menuItem WHERE oi.order.id IN :orderIds ORDER BY oi.createdAt ASC")
+    List<OrderItem> findWithMenuItemByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
     /**
      * Find order items by menu item ID
      */
@@ -122,4 +131,26 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
            "FROM OrderItem oi WHERE oi.preparedAt IS NOT NULL " +
            "GROUP BY oi.menuItem.id, oi.menuItem.name ORDER BY avgPrepTime ASC")
     List<Object[]> calculateAveragePreparationTimeByMenuItem();
+
+    /**
+     * Get day, menu item ID, name and quantity sold of each day's best sellers for orders placed in a time range,
+     * ranked within each day in a single pass
+     */
+    @Query(value = "WITH sold AS (" +
+           "SELECT CAST(o.created_at AS DATE) AS day, oi.menu_item_id, mi.name, SUM(oi.quantity) AS quantity, " +
+           "ROW_NUMBER() OVER (PARTITION BY CAST(o.created_at AS DATE) " +
+           "ORDER BY SUM(oi.quantity) DESC, mi.name) AS rank " +
+           "FROM order_items oi " +
+           "JOIN orders o ON o.id = oi.order_id " +
+           "JOIN menu_items mi ON mi.id = oi.menu_item_id " +
+           "WHERE o.restaurant_id = :restaurantId AND o.created_at >= :from AND o.created_at < :to " +
+           "AND o.status NOT IN (:excludedStatuses) " +
+           "GROUP BY CAST(o.created_at AS DATE), oi.menu_item_id, mi.name) " +
+           "SELECT day, menu_item_id, name, quantity FROM sold WHERE rank <= :limit ORDER BY day, rank",
+           nativeQuery = true)
+    List<Object[]> findTopSellingItemsByDay(@Param("restaurantId") UUID restaurantId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("excludedStatuses") Collection<String> excludedStatuses,
+                                            @Param("limit") int limit);
 }
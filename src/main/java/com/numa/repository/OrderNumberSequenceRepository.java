@@ -0,0 +1,27 @@
+package com.numa.repository;
+
+import com.numa.domain.entity.OrderNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for OrderNumberSequence entity operations.
+ * Provides locked access for reserving order number blocks.
+ */
+@Repository
+public interface OrderNumberSequenceRepository extends JpaRepository<OrderNumberSequence, UUID> {
+
+    /**
+     * Find the sequence of a restaurant and lock its row until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderNumberSequence s WHERE s.restaurantId = :restaurantId")
+    Optional<OrderNumberSequence> findForUpdate(@Param("restaurantId") UUID restaurantId);
+}
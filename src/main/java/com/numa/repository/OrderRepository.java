@@ -12,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +34,29 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     Page<Order> findByRestaurantIdOrderByCreatedAtDesc(UUID restaurantId, Pageable pageable);
 
+    /**
+     * Find the orders of a restaurant placed before a keyset position, newest first
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.table WHERE o.restaurant.id = :restaurantId " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByRestaurantBefore(@Param("restaurantId") UUID restaurantId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    /**
+     * Find the orders of a restaurant in a status placed before a keyset position, newest first
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.table WHERE o.restaurant.id = :restaurantId AND o.status = :status " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByRestaurantAndStatusBefore(@Param("restaurantId") UUID restaurantId,
+                                                    @Param("status") OrderStatus status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") UUID id,
+                                                    Pageable pageable);
+
     /**
      * Find orders by restaurant and status with pagination
      */
@@ -57,6 +81,13 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * Find orders by session ID excluding status
      */
     List<Order> findBySessionIdAndStatusNot(UUID sessionId, OrderStatus status);
+
+    /**
+     * Find orders of several sessions excluding status, in one query
+     */
+    @Query("SELECT o FROM Order o WHERE o.sessionId IN :sessionIds AND o.status <> :status ORDER BY o.createdAt ASC")
+    List<Order> findBySessionIdInAndStatusNot(@Param("sessionIds") Collection<UUID> sessionIds,
+                                              @Param("status") OrderStatus status);
     
     /**
      * Find order by ID and session ID
@@ -220,4 +251,35 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      * Check if order number exists in restaurant
      */
     boolean existsByRestaurantIdAndOrderNumber(UUID restaurantId, String orderNumber);
+
+    /**
+     * Find which of the given order numbers are already used in a restaurant
+     */
+    @Query("SELECT o.orderNumber FROM Order o WHERE o.restaurant.id = :restaurantId AND o.orderNumber IN :orderNumbers")
+    List<String> findUsedOrderNumbers(@Param("restaurantId") UUID restaurantId,
+                                      @Param("orderNumbers") Collection<String> orderNumbers);
+
+    /**
+     * Count orders placed per day in a time range, excluding the given statuses
+     */
+    @Query("SELECT CAST(o.createdAt AS LocalDate), COUNT(o) FROM Order o WHERE o.restaurant.id = :restaurantId " +
+           "AND o.createdAt >= :from AND o.createdAt < :to AND o.status NOT IN :excludedStatuses " +
+           "GROUP BY CAST(o.createdAt AS LocalDate)")
+    List<Object[]> countPlacedByDay(@Param("restaurantId") UUID restaurantId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+
+    /**
+     * Get restaurant ID and creation time of the given orders
+     */
+    @Query("SELECT o.restaurant.id, o.createdAt FROM Order o WHERE o.id IN :orderIds")
+    List<Object[]> findRestaurantAndCreatedAtByIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Find restaurants with orders placed in a time range
+     */
+    @Query("SELECT DISTINCT o.restaurant.id FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to")
+    List<UUID> findRestaurantIdsWithOrdersBetween(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
 }
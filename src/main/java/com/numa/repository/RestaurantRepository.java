@@ -2,10 +2,15 @@ package com.numa.repository;
 
 import com.numa.domain.entity.Restaurant;
 import com.numa.domain.enums.RestaurantStatus;
+import com.numa.dto.response.GuestRestaurantDTO;
+import com.numa.dto.response.GuestRestaurantResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,10 +27,41 @@ import java.util.UUID;
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
 
     /**
-     * Find restaurant by slug
+     * Find restaurant by slug; the result is held in the query cache
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Restaurant> findBySlug(String slug);
 
+    /**
+     * Select the ID of a restaurant by slug
+     */
+    @Query("SELECT r.id FROM Restaurant r WHERE r.slug = :slug")
+    Optional<UUID> findIdBySlug(@Param("slug") String slug);
+
+    /**
+     * Select the guest view of a restaurant by slug; the result is held in the query cache
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.numa.dto.response.GuestRestaurantResponse(r.id, r.name, r.slug, r.description, " +
+           "r.email, r.phone, r.addressLine1, r.addressLine2, r.city, r.state, r.postalCode, r.country, " +
+           "r.currencyCode, r.languageCode, r.timezone, r.logoUrl, r.bannerUrl, r.brandColor, r.status, " +
+           "r.subscriptionPlan, r.subscriptionExpiresAt, r.deliveryEnabled, r.takeawayEnabled, r.dineInEnabled, " +
+           "r.deliveryRadiusKm, r.deliveryFee, r.minimumOrderAmount, r.taxRate, r.serviceChargeRate, " +
+           "r.createdAt, r.updatedAt) " +
+           "FROM Restaurant r WHERE r.slug = :slug")
+    Optional<GuestRestaurantResponse> findGuestRestaurantBySlug(@Param("slug") String slug);
+
+    /**
+     * Select the restaurant header of the public menu by slug
+     */
+    @Query("SELECT new com.numa.dto.response.GuestRestaurantDTO(r.id, r.name, r.slug, r.description, r.phone, " +
+           "r.addressLine1, r.addressLine2, r.city, r.state, r.postalCode, r.country, r.currencyCode, " +
+           "r.languageCode, r.timezone, r.logoUrl, r.bannerUrl, r.brandColor, r.status, r.deliveryEnabled, " +
+           "r.takeawayEnabled, r.dineInEnabled, r.deliveryRadiusKm, r.deliveryFee, r.minimumOrderAmount, " +
+           "r.taxRate, r.serviceChargeRate) " +
+           "FROM Restaurant r WHERE r.slug = :slug")
+    Optional<GuestRestaurantDTO> findGuestMenuRestaurantBySlug(@Param("slug") String slug);
+
     /**
      * Find restaurant by email
      */
@@ -2,8 +2,11 @@ package com.numa.repository;
 
 import com.numa.domain.entity.RestaurantTable;
 import com.numa.domain.enums.TableStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -23,11 +26,42 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
      */
     List<RestaurantTable> findByRestaurantIdOrderByTableNumberAsc(UUID restaurantId);
 
+    /**
+     * Select the IDs of a restaurant's tables
+     */
+    @Query("SELECT t.id FROM RestaurantTable t WHERE t.restaurant.id = :restaurantId")
+    List<UUID> findIdsByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
     /**
      * Find table by QR code
      */
     Optional<RestaurantTable> findByQrCode(String qrCode);
 
+    /**
+     * Find table by QR code with its restaurant loaded; the result is held in the query cache
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT t FROM RestaurantTable t JOIN FETCH t.restaurant WHERE t.qrCode = :qrCode")
+    Optional<RestaurantTable> findWithRestaurantByQrCode(@Param("qrCode") String qrCode);
+
+    /**
+     * Find table by ID with its restaurant loaded
+     */
+    @Query("SELECT t FROM RestaurantTable t JOIN FETCH t.restaurant WHERE t.id = :tableId")
+    Optional<RestaurantTable> findWithRestaurantById(@Param("tableId") UUID tableId);
+
+    /**
+     * Find all tables of a restaurant with the restaurant loaded
+     */
+    @Query("SELECT t FROM RestaurantTable t JOIN FETCH t.restaurant WHERE t.restaurant.id = :restaurantId")
+    List<RestaurantTable> findWithRestaurantByRestaurantId(@Param("restaurantId") UUID restaurantId);
+
+    /**
+     * Find all tables that have a QR code, with their restaurants loaded
+     */
+    @Query("SELECT t FROM RestaurantTable t JOIN FETCH t.restaurant WHERE t.qrCode IS NOT NULL")
+    List<RestaurantTable> findAllWithRestaurantAndQrCode();
+
     /**
      * Find table by restaurant and table number
      */
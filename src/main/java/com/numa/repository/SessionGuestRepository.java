@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,12 @@ public interface SessionGuestRepository extends JpaRepository<SessionGuest, UUID
      * Find guests by session ID
      */
     List<SessionGuest> findBySessionIdOrderByJoinedAtAsc(UUID sessionId);
+
+    /**
+     * Find guests of several sessions in one query
+     */
+    @Query("SELECT sg FROM SessionGuest sg WHERE sg.session.id IN :sessionIds ORDER BY sg.joinedAt ASC")
+    List<SessionGuest> findBySessionIdInOrderByJoinedAtAsc(@Param("sessionIds") Collection<UUID> sessionIds);
     
     
     /**
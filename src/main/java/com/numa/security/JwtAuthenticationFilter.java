@@ -1,10 +1,12 @@
 package com.numa.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,47 +35,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Value("${numa.security.stateless-auth:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         try {
             String jwt = getJwtFromRequest(request);
-            logger.info("JWT Filter processing request: " + request.getRequestURI() + ", JWT present: " + (jwt != null));
-            
+
             if (StringUtils.hasText(jwt)) {
-                logger.info("JWT token: " + jwt.substring(0, Math.min(50, jwt.length())) + "...");
-                
-                // Check if it's a guest token
-                if (jwtUtil.isGuestToken(jwt) && jwtUtil.validateGuestToken(jwt)) {
-                    logger.info("Processing guest token");
+                // Verify the signature once; every decision below reads the extracted claims
+                TokenClaims claims = jwtUtil.verify(jwt);
+
+                if (tokenDenylist.isRevoked(claims)) {
+                    logger.debug("Rejected revoked token on {}", request.getRequestURI());
+                } else if (claims.isGuestToken()) {
                     // For guest tokens, we create a simple authentication without user details
-                    setGuestAuthentication(request, jwt);
-                } else if (jwtUtil.isAccessToken(jwt)) {
-                    logger.info("Processing access token");
-                    // For user tokens, validate against user details
-                    String username = jwtUtil.getUsernameFromToken(jwt);
-                    logger.info("Username from token: " + username);
-                    
+                    setGuestAuthentication(request, claims);
+                } else if (claims.isAccessToken()) {
+                    String username = claims.getSubject();
+
                     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        logger.info("User details loaded: " + userDetails.getUsername());
-                        
-                        if (jwtUtil.validateToken(jwt, userDetails)) {
-                            logger.info("Token validation successful, setting authentication");
-                            setUserAuthentication(request, userDetails);
+                        if (statelessAuth && claims.getRole() != null && claims.getRestaurantId() != null) {
+                            // Principal comes from the signed claims; no user lookup per request
+                            setUserAuthentication(request, StaffPrincipal.of(claims));
                         } else {
-                            logger.warn("Token validation failed");
+                            // For user tokens, validate against user details
+                            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+                            if (username.equals(userDetails.getUsername())) {
+                                setUserAuthentication(request, userDetails);
+                            } else {
+                                logger.warn("Token subject does not match user {}", userDetails.getUsername());
+                            }
                         }
-                    } else {
-                        logger.warn("Username is null or authentication already exists");
                     }
                 } else {
-                    logger.warn("Token is not an access token");
+                    logger.debug("Ignoring {} token on {}", claims.getType(), request.getRequestURI());
                 }
-            } else {
-                logger.info("No JWT token found in request");
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.debug("Rejected JWT on {}: {}", request.getRequestURI(), ex.getMessage());
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
@@ -94,13 +101,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     /**
      * Set authentication for guest users
      */
-    private void setGuestAuthentication(HttpServletRequest request, String jwt) {
-        String sessionId = jwtUtil.getSessionIdFromToken(jwt);
-        String guestName = jwtUtil.getGuestNameFromToken(jwt);
-        
+    private void setGuestAuthentication(HttpServletRequest request, TokenClaims claims) {
         // Create a guest user details object
-        GuestUserDetails guestDetails = new GuestUserDetails(sessionId, guestName, 
-                                                            jwtUtil.getRestaurantIdFromToken(jwt));
+        GuestUserDetails guestDetails = new GuestUserDetails(claims.getSessionId(), claims.getGuestName(),
+                                                            claims.getRestaurantId());
         
         UsernamePasswordAuthenticationToken authentication = 
             new UsernamePasswordAuthenticationToken(guestDetails, null, guestDetails.getAuthorities());
@@ -126,9 +130,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
         
-        // Debug logging
-        logger.info("JWT Filter checking path: " + path);
-        
         // Remove context path /api/v1 if present
         if (path.startsWith("/api/v1")) {
             path = path.substring("/api/v1".length());
@@ -150,8 +151,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.equals("/restaurants/active") ||
                path.startsWith("/restaurants/by-slug/");
         
-        logger.info("Should skip JWT filter for path " + path + ": " + shouldSkip);
-        
         return shouldSkip;
     }
 }
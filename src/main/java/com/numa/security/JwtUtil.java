@@ -1,7 +1,9 @@
 package com.numa.security;
 
+import com.numa.domain.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -29,8 +31,50 @@ public class JwtUtil {
     @Value("${spring.security.jwt.refresh-expiration}")
     private int jwtRefreshExpirationMs;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private volatile SecretKey signingKey;
+
+    private volatile JwtParser parser;
+
+    /**
+     * Key and parser are built once on first use rather than per call
+     */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
+    }
+
+    /**
+     * Verify a token once and return its claims.
+     * Tokens verified before are answered from the cache until they expire.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public TokenClaims verify(String token) {
+        TokenClaims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        TokenClaims claims = TokenClaims.of(getAllClaimsFromToken(token));
+        verifiedTokenCache.put(token, claims);
+        return claims;
     }
 
     /**
@@ -41,6 +85,9 @@ public class JwtUtil {
         claims.put("restaurantId", restaurantId.toString());
         claims.put("role", role);
         claims.put("type", "access");
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put("userId", user.getId().toString());
+        }
         
         return createToken(claims, userDetails.getUsername(), jwtExpirationMs);
     }
@@ -80,6 +127,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -149,11 +197,7 @@ public class JwtUtil {
      * Extract all claims from JWT token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getParser().parseClaimsJws(token).getBody();
     }
 
     /**
@@ -0,0 +1,94 @@
+package com.numa.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * UserDetails implementation for staff built purely from verified access token claims.
+ * Carries the same authorities as {@link com.numa.domain.entity.User} without loading it.
+ */
+public class StaffPrincipal implements UserDetails {
+
+    private final UUID userId;
+    private final String email;
+    private final UUID restaurantId;
+    private final String role;
+
+    public StaffPrincipal(UUID userId, String email, UUID restaurantId, String role) {
+        this.userId = userId;
+        this.email = email;
+        this.restaurantId = restaurantId;
+        this.role = role;
+    }
+
+    /**
+     * Build a principal from access token claims
+     */
+    public static StaffPrincipal of(TokenClaims claims) {
+        return new StaffPrincipal(claims.getUserId(), claims.getSubject(), claims.getRestaurantId(), claims.getRole());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(
+            new SimpleGrantedAuthority("ROLE_" + role),
+            new SimpleGrantedAuthority("RESTAURANT_" + restaurantId)
+        );
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Never needed once the token is verified
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return "StaffPrincipal{email='" + email + "', restaurantId=" + restaurantId + ", role=" + role + "}";
+    }
+}
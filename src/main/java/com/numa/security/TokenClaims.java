@@ -0,0 +1,114 @@
+package com.numa.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Claims of a verified JWT, extracted once so callers never re-parse the token.
+ */
+public final class TokenClaims {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String TYPE_GUEST = "guest";
+
+    private final String tokenId;
+    private final String subject;
+    private final String type;
+    private final UUID userId;
+    private final UUID restaurantId;
+    private final String role;
+    private final String sessionId;
+    private final String guestName;
+    private final long expiresAtMillis;
+
+    private TokenClaims(String tokenId, String subject, String type, UUID userId, UUID restaurantId, String role,
+                        String sessionId, String guestName, long expiresAtMillis) {
+        this.tokenId = tokenId;
+        this.subject = subject;
+        this.type = type;
+        this.userId = userId;
+        this.restaurantId = restaurantId;
+        this.role = role;
+        this.sessionId = sessionId;
+        this.guestName = guestName;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * Extract the claims used by the application from parsed JWT claims
+     */
+    public static TokenClaims of(Claims claims) {
+        String restaurantId = claims.get("restaurantId", String.class);
+        String userId = claims.get("userId", String.class);
+        Date expiration = claims.getExpiration();
+        return new TokenClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("type", String.class),
+                userId != null ? UUID.fromString(userId) : null,
+                restaurantId != null ? UUID.fromString(restaurantId) : null,
+                claims.get("role", String.class),
+                claims.get("sessionId", String.class),
+                claims.get("guestName", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+        );
+    }
+
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    public boolean isGuestToken() {
+        return TYPE_GUEST.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiresAtMillis <= System.currentTimeMillis();
+    }
+
+    /**
+     * Unique token ID (jti); null for tokens issued before IDs were added
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -0,0 +1,122 @@
+package com.numa.security;
+
+import com.numa.domain.entity.RevokedToken;
+import com.numa.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory denylist of revoked token IDs, so stateless authentication can reject
+ * revoked tokens without a database round trip per request.
+ *
+ * Revocations are written to {@code revoked_tokens} and every node pulls new rows on a
+ * fixed interval, so a token revoked on one node is rejected everywhere within that interval.
+ * Entries are dropped once the token would have expired anyway, which keeps the set small.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${numa.security.denylist.sync-overlap-ms:120000}")
+    private long syncOverlapMs;
+
+    /**
+     * Revoked token ID to the epoch millisecond at which the token expires
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSync;
+
+    /**
+     * Check whether a token has been revoked
+     */
+    public boolean isRevoked(TokenClaims claims) {
+        return claims.getTokenId() != null && revoked.containsKey(claims.getTokenId());
+    }
+
+    /**
+     * Revoke a token on this node immediately and record it for the others
+     */
+    public void revoke(TokenClaims claims) {
+        if (claims.getTokenId() == null || claims.isExpired()) {
+            return;
+        }
+        revoked.put(claims.getTokenId(), claims.getExpiresAtMillis());
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(claims.getExpiresAtMillis()),
+                ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(claims.getTokenId(), claims.getSubject(), expiresAt));
+    }
+
+    /**
+     * Pull revocations made on other nodes and forget expired ones.
+     * The first run at startup loads every unexpired revocation.
+     */
+    @Scheduled(fixedDelayString = "${numa.security.denylist.refresh-interval-ms:15000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap the previous window so rows committed late or under clock skew are not missed
+        LocalDateTime since = lastSync != null ? lastSync.minusNanos(syncOverlapMs * 1_000_000) : EPOCH;
+        try {
+            List<RevokedToken> rows = readOnlyTransaction().execute(status ->
+                    revokedTokenRepository.findActiveRevokedSince(since, now));
+            for (RevokedToken row : rows) {
+                revoked.put(row.getTokenId(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            lastSync = now;
+        } catch (DataAccessException e) {
+            logger.warn("Could not refresh token denylist, keeping {} known revocations", revoked.size(), e);
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+    }
+
+    /**
+     * Delete revocations of tokens that have expired anyway
+     */
+    @Scheduled(fixedDelayString = "${numa.security.denylist.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            Integer deleted = new TransactionTemplate(transactionManager).execute(status ->
+                    revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+            if (deleted != null && deleted > 0) {
+                logger.debug("Purged {} expired token revocations", deleted);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not purge expired token revocations", e);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
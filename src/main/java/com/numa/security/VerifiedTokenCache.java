@@ -0,0 +1,93 @@
+package com.numa.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, so repeat requests
+ * with the same bearer token skip parsing and HMAC verification.
+ *
+ * Entries are keyed by the SHA-256 of the token, so raw bearer tokens are never retained,
+ * and each expires together with its token. When full, the least recently used tokens are
+ * evicted in constant time and simply verified again on their next request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, TokenClaims> entries;
+
+    public VerifiedTokenCache(@Value("${numa.security.token-cache.max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime,
+                                                  long currentDuration) {
+                        return untilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get the claims of a previously verified, unexpired token
+     */
+    public TokenClaims get(String token) {
+        TokenClaims claims = entries.getIfPresent(hash(token));
+        // Expiry is enforced lazily by the cache, so check the claims as well
+        return claims != null && !claims.isExpired() ? claims : null;
+    }
+
+    /**
+     * Remember the claims of a token that passed verification
+     */
+    public void put(String token, TokenClaims claims) {
+        if (!claims.isExpired()) {
+            entries.put(hash(token), claims);
+        }
+    }
+
+    /**
+     * Forget a token, e.g. after it was revoked
+     */
+    public void evict(String token) {
+        entries.invalidate(hash(token));
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static long untilExpiry(TokenClaims claims) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.getExpiresAtMillis() - System.currentTimeMillis()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.numa.service;
+
+import com.numa.config.QueryCountInspector;
+import com.numa.domain.entity.DiningSession;
+import com.numa.domain.entity.Order;
+import com.numa.domain.entity.OrderItem;
+import com.numa.domain.entity.SessionGuest;
+import com.numa.domain.enums.OrderStatus;
+import com.numa.dto.response.ActiveSessionResponse;
+import com.numa.repository.OrderItemRepository;
+import com.numa.repository.OrderRepository;
+import com.numa.repository.SessionGuestRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link ActiveSessionResponse}s for a batch of sessions with a fixed number of queries:
+ * one each for guests, orders and order items with their menu items, regardless of batch size.
+ * The number of SELECTs per batch is recorded as the {@code numa.active_sessions.queries} metric.
+ */
+@Component
+@Transactional(readOnly = true)
+public class ActiveSessionLoader {
+
+    @Autowired
+    private SessionGuestRepository sessionGuestRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private GuestCartStore guestCartStore;
+
+    private final DistributionSummary queriesPerLoad;
+
+    public ActiveSessionLoader(MeterRegistry meterRegistry) {
+        this.queriesPerLoad = DistributionSummary.builder("numa.active_sessions.queries")
+                .description("SELECT statements issued to assemble one batch of active session responses")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build responses for the given sessions, which must have their tables loaded
+     */
+    public List<ActiveSessionResponse> load(List<DiningSession> sessions) {
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        long selectsBefore = QueryCountInspector.getSelectCount();
+
+        List<UUID> sessionIds = sessions.stream().map(DiningSession::getId).toList();
+
+        Map<UUID, List<SessionGuest>> guestsBySession = sessionGuestRepository
+                .findBySessionIdInOrderByJoinedAtAsc(sessionIds).stream()
+                .collect(Collectors.groupingBy(guest -> guest.getSession().getId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<Order> orders = orderRepository.findBySessionIdInAndStatusNot(sessionIds, OrderStatus.PENDING);
+        Map<UUID, List<Order>> ordersBySession = orders.stream()
+                .collect(Collectors.groupingBy(Order::getSessionId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<UUID, List<OrderItem>> itemsByOrder = orders.isEmpty() ? Map.of() : orderItemRepository
+                .findWithMenuItemByOrderIdIn(orders.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        List<ActiveSessionResponse> responses = new ArrayList<>(sessions.size());
+        for (DiningSession session : sessions) {
+            responses.add(convertToActiveSessionResponse(session,
+                    guestsBySession.getOrDefault(session.getId(), List.of()),
+                    ordersBySession.getOrDefault(session.getId(), List.of()),
+                    itemsByOrder));
+        }
+
+        queriesPerLoad.record(QueryCountInspector.getSelectCount() - selectsBefore);
+        return responses;
+    }
+
+    /**
+     * Build the response for a single session
+     */
+    public ActiveSessionResponse load(DiningSession session) {
+        return load(List.of(session)).get(0);
+    }
+
+    /**
+     * Convert DiningSession to ActiveSessionResponse
+     */
+    private ActiveSessionResponse convertToActiveSessionResponse(DiningSession session, List<SessionGuest> guests,
+                                                                 List<Order> orders,
+                                                                 Map<UUID, List<OrderItem>> itemsByOrder) {
+        List<ActiveSessionResponse.SessionGuestInfo> guestInfos = guests.stream()
+                .map(this::convertToSessionGuestInfo)
+                .collect(Collectors.toList());
+
+        List<ActiveSessionResponse.OrderSummary> orderSummaries = orders.stream()
+                .map(order -> convertToOrderSummary(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .collect(Collectors.toList());
+
+        // Get cart items (held in memory until submitted)
+        List<ActiveSessionResponse.OrderSummary> cartItemSummaries = guestCartStore.getLines(session.getId()).stream()
+                .map(this::convertToCartSummary)
+                .collect(Collectors.toList());
+
+        // Calculate last activity time
+        LocalDateTime lastActivityAt = guests.stream()
+                .map(SessionGuest::getLastActivityAt)
+                .max(LocalDateTime::compareTo)
+                .orElse(session.getStartedAt());
+
+        return new ActiveSessionResponse(
+                session.getId(),
+                session.getSessionCode(),
+                session.getStatus(),
+                session.getTable().getTableNumber(),
+                session.getTable().getLocationDescription(),
+                session.getGuestCount(),
+                session.getHostName(),
+                session.getHostPhone(),
+                session.getSpecialRequests(),
+                session.getTotalAmount(),
+                session.getTipAmount(),
+                session.getPaymentStatus(),
+                session.getWaiterCalled(),
+                session.getWaiterCallTime(),
+                session.getWaiterResponseTime(),
+                session.getStartedAt(),
+                lastActivityAt,
+                guestInfos,
+                orderSummaries,
+                cartItemSummaries,
+                session.getCreatedAt(),
+                session.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Convert SessionGuest to SessionGuestInfo
+     */
+    private ActiveSessionResponse.SessionGuestInfo convertToSessionGuestInfo(SessionGuest guest) {
+        return new ActiveSessionResponse.SessionGuestInfo(
+                guest.getId(),
+                guest.getGuestName(),
+                guest.getGuestPhone(),
+                guest.getIsHost(),
+                guest.getJoinedAt(),
+                guest.getLastActivityAt()
+        );
+    }
+
+    /**
+     * Convert Order to OrderSummary
+     */
+    private ActiveSessionResponse.OrderSummary convertToOrderSummary(Order order, List<OrderItem> items) {
+        List<ActiveSessionResponse.OrderItemSummary> itemSummaries = items.stream()
+                .map(this::convertToOrderItemSummary)
+                .collect(Collectors.toList());
+
+        return new ActiveSessionResponse.OrderSummary(
+                order.getId(),
+                order.getCustomerName(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getCreatedAt(),
+                itemSummaries
+        );
+    }
+
+    /**
+     * Convert CartLine to OrderSummary
+     */
+    private ActiveSessionResponse.OrderSummary convertToCartSummary(CartLine line) {
+        ActiveSessionResponse.OrderItemSummary itemSummary = new ActiveSessionResponse.OrderItemSummary(
+                line.getId(),
+                line.getItemName(),
+                line.getQuantity(),
+                line.getUnitPrice(),
+                line.getLineTotal(),
+                line.getSpecialInstructions()
+        );
+
+        return new ActiveSessionResponse.OrderSummary(
+                line.getId(),
+                "Guest",
+                OrderStatus.PENDING,
+                line.getLineTotal(),
+                line.getAddedAt(),
+                List.of(itemSummary)
+        );
+    }
+
+    /**
+     * Convert OrderItem to OrderItemSummary
+     */
+    private ActiveSessionResponse.OrderItemSummary convertToOrderItemSummary(OrderItem item) {
+        return new ActiveSessionResponse.OrderItemSummary(
+                item.getId(),
+                item.getMenuItem().getName(),
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getTotalPrice(),
+                item.getSpecialInstructions()
+        );
+    }
+}
@@ -10,6 +10,10 @@ import com.numa.exception.ResourceNotFoundException;
 import com.numa.repository.UserRepository;
 import com.numa.repository.RestaurantRepository;
 import com.numa.security.JwtUtil;
+import com.numa.security.StaffPrincipal;
+import com.numa.security.TokenClaims;
+import com.numa.security.TokenDenylist;
+import io.jsonwebtoken.JwtException;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -43,6 +47,9 @@ public class AuthService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
     /**
      * Authenticate user and generate tokens
      */
@@ -84,18 +91,20 @@ public class AuthService {
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
         
-        if (!jwtUtil.isRefreshToken(refreshToken)) {
+        // Verify once and reuse the claims for every check below
+        TokenClaims claims;
+        try {
+            claims = jwtUtil.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ValidationException("Invalid or expired refresh token");
+        }
+        if (!claims.isRefreshToken() || claims.isExpired() || tokenDenylist.isRevoked(claims)) {
             throw new ValidationException("Invalid refresh token");
         }
 
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
-        User user = userRepository.findByEmailAndStatus(username, "ACTIVE")
+        User user = userRepository.findByEmailAndStatus(claims.getSubject(), "ACTIVE")
                 .orElseThrow(() -> new ValidationException("User not found"));
 
-        if (!jwtUtil.validateRefreshToken(refreshToken, username)) {
-            throw new ValidationException("Invalid or expired refresh token");
-        }
-
         // Generate new access token
         String newAccessToken = jwtUtil.generateAccessToken(user, 
                                                            user.getRestaurant().getId(), 
@@ -114,6 +123,23 @@ public class AuthService {
         return response;
     }
 
+    /**
+     * Logout by revoking the presented tokens for their remaining lifetime
+     */
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[] {accessToken, refreshToken}) {
+            if (token == null || token.isBlank()) {
+                continue;
+            }
+            try {
+                tokenDenylist.revoke(jwtUtil.verify(token));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired tokens cannot be used anyway
+            }
+        }
+    }
+
     /**
      * Get current authenticated user information
      */
@@ -128,6 +154,12 @@ public class AuthService {
 
         Object principal = authentication.getPrincipal();
         System.out.println("Principal: " + principal);
+
+        if (principal instanceof StaffPrincipal staffPrincipal) {
+            // Stateless principals carry no entity; load it for the profile fields
+            principal = userRepository.findByEmailAndStatus(staffPrincipal.getEmail(), "ACTIVE")
+                    .orElseThrow(() -> new ValidationException("User not found"));
+        }
         
         if (principal instanceof User) {
             User user = (User) principal;
@@ -0,0 +1,194 @@
+package com.numa.service;
+
+import com.numa.cache.CacheInvalidatedEvent;
+import com.numa.cache.TieredCacheManager;
+import com.numa.domain.entity.MenuCategory;
+import com.numa.domain.entity.MenuItem;
+import com.numa.domain.entity.MenuItemVariation;
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.event.MenuChangedEvent;
+import com.numa.event.RestaurantChangedEvent;
+import com.numa.event.TableChangedEvent;
+import com.numa.event.TableStatusChangedEvent;
+import com.numa.repository.MenuCategoryRepository;
+import com.numa.repository.MenuItemRepository;
+import com.numa.repository.RestaurantTableRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evicts cached tenant data once the change that made it stale has committed.
+ * Evictions go through the cache manager, so every node drops its copy.
+ */
+@Component
+public class CacheEvictionListener {
+
+    /**
+     * Guest menu snapshots; held by {@link GuestMenuCache}, evicted here only to reach other nodes
+     */
+    public static final String MENUS_CACHE = "menus";
+
+    public static final String RESTAURANTS_CACHE = "restaurants";
+
+    public static final String TABLES_CACHE = "tables";
+
+    private static final String RESTAURANT_TABLES_ROLE = Restaurant.class.getName() + ".tables";
+
+    private static final String RESTAURANT_MENU_CATEGORIES_ROLE = Restaurant.class.getName() + ".menuCategories";
+
+    private static final String MENU_CATEGORY_ITEMS_ROLE = MenuCategory.class.getName() + ".menuItems";
+
+    private static final String MENU_ITEM_VARIATIONS_ROLE = MenuItem.class.getName() + ".variations";
+
+    private static final String[] MENU_TABLES = {"menu_categories", "menu_items", "menu_item_variations"};
+
+    @Autowired
+    private TieredCacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private MenuCategoryRepository menuCategoryRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        cacheManager.evictTenant(MENUS_CACHE, event.getRestaurantId(), event.getRemovedIds());
+    }
+
+    /**
+     * Also reaches {@link TenantContextResolver} on other nodes
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        cacheManager.evictTenant(RESTAURANTS_CACHE, event.getRestaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        cacheManager.evictTenant(TABLES_CACHE, event.getRestaurantId(), Set.of(event.getTableId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        cacheManager.evictTenant(TABLES_CACHE, event.getRestaurantId(), Set.of(event.getTableId()));
+    }
+
+    /**
+     * Drop a restaurant's second-level cache entries after a change on another node.
+     * Hibernate keeps its regions coherent for writes on this node only. Entities are evicted
+     * by ID: the ones the change named, or else every one the restaurant still has. Cached
+     * queries over the changed tables are invalidated the same way a local write does.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidatedEvent event) {
+        UUID restaurantId = event.getRestaurantId();
+        if (restaurantId == null) {
+            onRemoteClear(event.getCacheName());
+            return;
+        }
+        CacheImplementor secondLevelCache = sessionFactory().getCache();
+        switch (event.getCacheName()) {
+            case RESTAURANTS_CACHE -> {
+                secondLevelCache.evictEntityData(Restaurant.class, restaurantId);
+                invalidateQueries("restaurants");
+            }
+            case MENUS_CACHE -> {
+                secondLevelCache.evictCollectionData(RESTAURANT_MENU_CATEGORIES_ROLE, restaurantId);
+                // Deleted rows can no longer be found by restaurant, so they come with the event
+                Set<UUID> removedIds = event.getEntityIds() != null ? event.getEntityIds() : Set.of();
+                for (UUID categoryId : union(menuCategoryRepository.findIdsByRestaurantId(restaurantId), removedIds)) {
+                    secondLevelCache.evictEntityData(MenuCategory.class, categoryId);
+                    secondLevelCache.evictCollectionData(MENU_CATEGORY_ITEMS_ROLE, categoryId);
+                }
+                for (UUID itemId : union(menuItemRepository.findIdsByRestaurantId(restaurantId), removedIds)) {
+                    secondLevelCache.evictEntityData(MenuItem.class, itemId);
+                    secondLevelCache.evictCollectionData(MENU_ITEM_VARIATIONS_ROLE, itemId);
+                }
+                for (UUID variationId : union(menuItemRepository.findVariationIdsByRestaurantId(restaurantId), removedIds)) {
+                    secondLevelCache.evictEntityData(MenuItemVariation.class, variationId);
+                }
+                invalidateQueries(MENU_TABLES);
+            }
+            case TABLES_CACHE -> {
+                secondLevelCache.evictCollectionData(RESTAURANT_TABLES_ROLE, restaurantId);
+                Collection<UUID> tableIds = event.getEntityIds() != null
+                        ? event.getEntityIds() : tableRepository.findIdsByRestaurantId(restaurantId);
+                tableIds.forEach(tableId -> secondLevelCache.evictEntityData(RestaurantTable.class, tableId));
+                invalidateQueries("restaurant_tables");
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Whole caches are only cleared by hand, so their regions are dropped entirely
+     */
+    private void onRemoteClear(String cacheName) {
+        CacheImplementor secondLevelCache = sessionFactory().getCache();
+        switch (cacheName) {
+            case RESTAURANTS_CACHE -> {
+                secondLevelCache.evictEntityData(Restaurant.class);
+                invalidateQueries("restaurants");
+            }
+            case MENUS_CACHE -> {
+                secondLevelCache.evictCollectionData(RESTAURANT_MENU_CATEGORIES_ROLE);
+                secondLevelCache.evictEntityData(MenuCategory.class);
+                secondLevelCache.evictCollectionData(MENU_CATEGORY_ITEMS_ROLE);
+                secondLevelCache.evictEntityData(MenuItem.class);
+                secondLevelCache.evictCollectionData(MENU_ITEM_VARIATIONS_ROLE);
+                secondLevelCache.evictEntityData(MenuItemVariation.class);
+                invalidateQueries(MENU_TABLES);
+            }
+            case TABLES_CACHE -> {
+                secondLevelCache.evictCollectionData(RESTAURANT_TABLES_ROLE);
+                secondLevelCache.evictEntityData(RestaurantTable.class);
+                invalidateQueries("restaurant_tables");
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Mark cached query results over the given tables as stale
+     */
+    private void invalidateQueries(String... tables) {
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            sessionFactory.getCache().getTimestampsCache()
+                    .invalidate(tables, (SharedSessionContractImplementor) session);
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static Set<UUID> union(Collection<UUID> ids, Set<UUID> moreIds) {
+        Set<UUID> union = new HashSet<>(ids);
+        union.addAll(moreIds);
+        return union;
+    }
+}
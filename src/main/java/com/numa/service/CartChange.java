@@ -0,0 +1,60 @@
+package com.numa.service;
+
+import java.util.UUID;
+
+/**
+ * Result of a single cart mutation in {@link GuestCartStore}.
+ * Carries the session version before and after the change so callers can tell
+ * whether a client holding the previous version can apply it as a delta.
+ */
+public final class CartChange {
+
+    private final long previousVersion;
+    private final long version;
+    private final CartLine line;
+    private final UUID removedLineId;
+
+    private CartChange(long previousVersion, long version, CartLine line, UUID removedLineId) {
+        this.previousVersion = previousVersion;
+        this.version = version;
+        this.line = line;
+        this.removedLineId = removedLineId;
+    }
+
+    static CartChange upserted(long previousVersion, long version, CartLine line) {
+        return new CartChange(previousVersion, version, line, null);
+    }
+
+    static CartChange removed(long previousVersion, long version, UUID lineId) {
+        return new CartChange(previousVersion, version, null, lineId);
+    }
+
+    /**
+     * Check whether a client at the given version can apply this change as a delta
+     */
+    public boolean appliesTo(Long clientVersion) {
+        return clientVersion != null && clientVersion == previousVersion;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Added or updated line, or null if the line was removed
+     */
+    public CartLine getLine() {
+        return line;
+    }
+
+    /**
+     * Removed line ID, or null if the line was added or updated
+     */
+    public UUID getRemovedLineId() {
+        return removedLineId;
+    }
+}
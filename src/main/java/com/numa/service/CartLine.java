@@ -0,0 +1,96 @@
+package com.numa.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable line in a guest session cart.
+ * Lives only in {@link GuestCartStore} until the cart is submitted as an order.
+ */
+public final class CartLine {
+
+    private final UUID id;
+    private final UUID menuItemId;
+    private final UUID variationId;
+    private final String itemName;
+    private final String description;
+    private final String variationName;
+    private final BigDecimal unitPrice;
+    private final int quantity;
+    private final String specialInstructions;
+    private final LocalDateTime addedAt;
+
+    public CartLine(UUID menuItemId, UUID variationId, String itemName, String description, String variationName,
+                    BigDecimal unitPrice, int quantity, String specialInstructions) {
+        this(UUID.randomUUID(), menuItemId, variationId, itemName, description, variationName,
+                unitPrice, quantity, specialInstructions, LocalDateTime.now());
+    }
+
+    private CartLine(UUID id, UUID menuItemId, UUID variationId, String itemName, String description,
+                     String variationName, BigDecimal unitPrice, int quantity, String specialInstructions,
+                     LocalDateTime addedAt) {
+        this.id = id;
+        this.menuItemId = menuItemId;
+        this.variationId = variationId;
+        this.itemName = itemName;
+        this.description = description;
+        this.variationName = variationName;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+        this.specialInstructions = specialInstructions;
+        this.addedAt = addedAt;
+    }
+
+    /**
+     * Copy of this line with a new quantity and special instructions
+     */
+    public CartLine withQuantity(int quantity, String specialInstructions) {
+        return new CartLine(id, menuItemId, variationId, itemName, description, variationName,
+                unitPrice, quantity, specialInstructions, addedAt);
+    }
+
+    public BigDecimal getLineTotal() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getMenuItemId() {
+        return menuItemId;
+    }
+
+    public UUID getVariationId() {
+        return variationId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getVariationName() {
+        return variationName;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public LocalDateTime getAddedAt() {
+        return addedAt;
+    }
+}
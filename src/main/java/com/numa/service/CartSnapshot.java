@@ -0,0 +1,27 @@
+package com.numa.service;
+
+import java.util.List;
+
+/**
+ * Consistent view of a session cart and the session version it was taken at.
+ */
+public final class CartSnapshot {
+
+    static final CartSnapshot EMPTY = new CartSnapshot(0L, List.of());
+
+    private final long version;
+    private final List<CartLine> lines;
+
+    CartSnapshot(long version, List<CartLine> lines) {
+        this.version = version;
+        this.lines = List.copyOf(lines);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CartLine> getLines() {
+        return lines;
+    }
+}
@@ -0,0 +1,459 @@
+package com.numa.service;
+
+import com.numa.domain.entity.DailyRestaurantStats;
+import com.numa.domain.enums.OrderStatus;
+import com.numa.domain.enums.SessionEventType;
+import com.numa.datasource.ReadRouting;
+import com.numa.event.SessionEvent;
+import com.numa.repository.DailyRestaurantStatsRepository;
+import com.numa.repository.DiningSessionRepository;
+import com.numa.repository.OrderItemRepository;
+import com.numa.repository.OrderRepository;
+import com.numa.repository.RestaurantTableRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Maintains {@code daily_restaurant_stats}, one row per restaurant and day.
+ *
+ * Committed session and order events mark the affected restaurant days dirty; a periodic flush
+ * rebuilds each dirty day from its sessions and orders, so bursts of events cost one rebuild per day.
+ * Rebuilding is idempotent, which makes the nightly reconciliation of recent days and the
+ * backfill of history the same operation as the incremental path.
+ *
+ * A date range is aggregated with one single-scan query over its sessions, one over its orders
+ * and one ranking each day's best sellers, however many days it spans; backfills across
+ * restaurants run on a small bounded pool.
+ */
+@Component
+public class DailyStatsRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyStatsRollup.class);
+
+    private static final Set<SessionEventType> SESSION_EVENTS = EnumSet.of(
+            SessionEventType.SESSION_STARTED, SessionEventType.GUEST_JOINED, SessionEventType.GUEST_LEFT,
+            SessionEventType.SESSION_ENDED);
+
+    private static final Set<SessionEventType> ORDER_EVENTS = EnumSet.of(
+            SessionEventType.ORDER_SUBMITTED, SessionEventType.ORDER_STATUS_CHANGED);
+
+    // Orders that never reached the kitchen are left out of order counts and best sellers
+    private static final Set<OrderStatus> EXCLUDED_ORDER_STATUSES = EnumSet.of(OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    private DailyRestaurantStatsRepository statsRepository;
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Value("${numa.analytics.rollup.popular-items:10}")
+    private int popularItemsLimit;
+
+    @Value("${numa.analytics.rollup.reconcile-days:2}")
+    private int reconcileDays;
+
+    @Value("${numa.analytics.rollup.backfill-on-startup-days:0}")
+    private int backfillOnStartupDays;
+
+    // Bounds how many restaurants a backfill rebuilds at once, and so the connections it holds
+    private final ExecutorService backfillExecutor;
+
+    private final Set<RollupKey> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    // Sessions whose start day still has to be looked up, mapped to their restaurant
+    private final Map<UUID, UUID> dirtySessions = new ConcurrentHashMap<>();
+
+    // Orders whose creation day still has to be looked up, mapped to their restaurant
+    private final Map<UUID, UUID> dirtyOrders = new ConcurrentHashMap<>();
+
+    public DailyStatsRollup(@Value("${numa.analytics.rollup.parallelism:4}") int parallelism) {
+        this.backfillExecutor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("analytics-rollup-"));
+    }
+
+    /**
+     * Mark the days touched by a committed session or order change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionEvent(SessionEvent event) {
+        if (event.getRestaurantId() == null) {
+            return;
+        }
+        if (SESSION_EVENTS.contains(event.getType())) {
+            dirtySessions.put(event.getSessionId(), event.getRestaurantId());
+        } else if (ORDER_EVENTS.contains(event.getType())) {
+            // The order counts towards the day it was created and its total towards the day the session started
+            if (event.getData().get("orderId") instanceof UUID orderId) {
+                dirtyOrders.put(orderId, event.getRestaurantId());
+            }
+            dirtySessions.put(event.getSessionId(), event.getRestaurantId());
+        }
+    }
+
+    /**
+     * Rebuild every day marked dirty since the last flush
+     */
+    @Scheduled(fixedDelayString = "${numa.analytics.rollup.flush-interval-ms:30000}")
+    public void flush() {
+        if (!dirtySessions.isEmpty()) {
+            List<UUID> sessionIds = new ArrayList<>(dirtySessions.keySet());
+            try {
+                List<Object[]> starts = readFromPrimary(status ->
+                        sessionRepository.findRestaurantAndStartByIdIn(sessionIds));
+                for (Object[] row : starts) {
+                    dirtyDays.add(new RollupKey((UUID) row[0], ((LocalDateTime) row[1]).toLocalDate()));
+                }
+                sessionIds.forEach(dirtySessions::remove);
+            } catch (DataAccessException e) {
+                logger.warn("Could not resolve start days of {} sessions, retrying on next flush", sessionIds.size(), e);
+            }
+        }
+        if (!dirtyOrders.isEmpty()) {
+            List<UUID> orderIds = new ArrayList<>(dirtyOrders.keySet());
+            try {
+                List<Object[]> creations = readFromPrimary(status ->
+                        orderRepository.findRestaurantAndCreatedAtByIdIn(orderIds));
+                for (Object[] row : creations) {
+                    dirtyDays.add(new RollupKey((UUID) row[0], ((LocalDateTime) row[1]).toLocalDate()));
+                }
+                orderIds.forEach(dirtyOrders::remove);
+            } catch (DataAccessException e) {
+                logger.warn("Could not resolve creation days of {} orders, retrying on next flush", orderIds.size(), e);
+            }
+        }
+
+        // Rebuild each restaurant's dirty days as one range, so a burst of days costs one set of queries
+        Map<UUID, List<RollupKey>> keysByRestaurant = new LinkedHashMap<>();
+        for (RollupKey key : new ArrayList<>(dirtyDays)) {
+            dirtyDays.remove(key);
+            keysByRestaurant.computeIfAbsent(key.restaurantId, id -> new ArrayList<>()).add(key);
+        }
+        keysByRestaurant.forEach((restaurantId, keys) -> {
+            LocalDate from = keys.stream().map(key -> key.date).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = keys.stream().map(key -> key.date).max(LocalDate::compareTo).orElseThrow();
+            try {
+                backfill(restaurantId, from, to);
+            } catch (DataAccessException e) {
+                dirtyDays.addAll(keys);
+                logger.warn("Could not roll up {} to {} of restaurant {}, retrying on next flush", from, to, restaurantId, e);
+            }
+        });
+    }
+
+    /**
+     * Rebuild recent days of every restaurant, catching anything the event path missed
+     */
+    @Scheduled(cron = "${numa.analytics.rollup.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        int rebuilt = backfill(today.minusDays(reconcileDays), today.minusDays(1));
+        logger.info("Reconciled {} daily rollups", rebuilt);
+    }
+
+    /**
+     * Backfill history on startup when configured
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartupDays <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            int rebuilt = backfill(today.minusDays(backfillOnStartupDays), today);
+            logger.info("Backfilled {} daily rollups covering the last {} days", rebuilt, backfillOnStartupDays);
+        } catch (DataAccessException e) {
+            logger.warn("Could not backfill daily rollups", e);
+        }
+    }
+
+    /**
+     * Rebuild every restaurant day with activity in a date range, returning the number of days written.
+     * Restaurants are rebuilt concurrently, at most {@code numa.analytics.rollup.parallelism} at a time.
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Set<UUID> restaurantIds = new HashSet<>(readFromPrimary(status -> {
+            List<UUID> ids = new ArrayList<>(sessionRepository.findRestaurantIdsWithSessionsBetween(start, end));
+            ids.addAll(orderRepository.findRestaurantIdsWithOrdersBetween(start, end));
+            return ids;
+        }));
+
+        Map<UUID, Future<Integer>> pending = new LinkedHashMap<>();
+        for (UUID restaurantId : restaurantIds) {
+            pending.put(restaurantId, backfillExecutor.submit(() -> backfill(restaurantId, from, to)));
+        }
+
+        int rebuilt = 0;
+        for (Map.Entry<UUID, Future<Integer>> entry : pending.entrySet()) {
+            try {
+                rebuilt += entry.getValue().get();
+            } catch (ExecutionException e) {
+                logger.warn("Could not roll up {} to {} of restaurant {}", from, to, entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.values().forEach(future -> future.cancel(true));
+                break;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Rebuild each day of a restaurant in a date range, returning the number of days written.
+     * The range is aggregated with a fixed number of queries and written in one transaction.
+     */
+    public int backfill(UUID restaurantId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Backfill range ends before it starts");
+        }
+        RangeAggregates aggregates = readFromPrimary(status -> aggregate(restaurantId, from, to));
+
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer written;
+        try {
+            written = newTransaction.execute(status -> write(restaurantId, from, to, aggregates));
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted a row first; update it instead
+            written = newTransaction.execute(status -> write(restaurantId, from, to, aggregates));
+        }
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Number of days waiting for the next flush
+     */
+    public int getPendingCount() {
+        return dirtyDays.size() + dirtySessions.size() + dirtyOrders.size();
+    }
+
+    @PreDestroy
+    void shutdownBackfillExecutor() {
+        backfillExecutor.shutdownNow();
+    }
+
+    /**
+     * Aggregate sessions, orders and best sellers of a date range, one query each
+     */
+    private RangeAggregates aggregate(UUID restaurantId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<LocalDate, DayAggregate> days = new TreeMap<>();
+
+        for (Object[] row : sessionRepository.aggregateRollupsByDayAndHour(restaurantId, start, end)) {
+            DayAggregate day = days.computeIfAbsent(toLocalDate(row[0]), date -> new DayAggregate());
+            long sessions = ((Number) row[2]).longValue();
+            long guests = ((Number) row[4]).longValue();
+            day.sessions += sessions;
+            day.completed += ((Number) row[3]).longValue();
+            day.guests += guests;
+            day.revenue = day.revenue.add(toBigDecimal(row[5]));
+            day.sessionMinutes += ((Number) row[6]).longValue();
+            day.hours.put(((Number) row[1]).intValue(), new long[] {sessions, guests});
+        }
+
+        boolean anyOrders = false;
+        for (Object[] row : orderRepository.countPlacedByDay(restaurantId, start, end, EXCLUDED_ORDER_STATUSES)) {
+            days.computeIfAbsent(toLocalDate(row[0]), date -> new DayAggregate()).orders = ((Number) row[1]).longValue();
+            anyOrders = true;
+        }
+
+        if (anyOrders) {
+            List<String> excluded = EXCLUDED_ORDER_STATUSES.stream().map(Enum::name).toList();
+            for (Object[] row : orderItemRepository.findTopSellingItemsByDay(restaurantId, start, end, excluded,
+                    popularItemsLimit)) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("menuItemId", row[1]);
+                item.put("name", row[2]);
+                item.put("quantity", ((Number) row[3]).longValue());
+                days.computeIfAbsent(toLocalDate(row[0]), date -> new DayAggregate()).popularItems.add(item);
+            }
+        }
+
+        return new RangeAggregates(days, tableRepository.countByRestaurantId(restaurantId));
+    }
+
+    /**
+     * Write every day of the range that has activity or an existing row, returning the number written
+     */
+    private int write(UUID restaurantId, LocalDate from, LocalDate to, RangeAggregates aggregates) {
+        Map<LocalDate, DailyRestaurantStats> existing = new HashMap<>();
+        for (DailyRestaurantStats stats : statsRepository.findByRestaurantIdAndDateBetweenOrderByDateDesc(restaurantId, from, to)) {
+            existing.put(stats.getDate(), stats);
+        }
+
+        List<DailyRestaurantStats> rows = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayAggregate day = aggregates.days.get(date);
+            DailyRestaurantStats stats = existing.get(date);
+            if (day == null && stats == null) {
+                continue;
+            }
+            if (stats == null) {
+                stats = new DailyRestaurantStats(restaurantId, date);
+            }
+            apply(stats, day != null ? day : new DayAggregate(), aggregates.tables);
+            rows.add(stats);
+        }
+        statsRepository.saveAllAndFlush(rows);
+        return rows.size();
+    }
+
+    private void apply(DailyRestaurantStats stats, DayAggregate day, long tables) {
+        Map<String, Map<String, Long>> peakHours = new LinkedHashMap<>();
+        day.hours.forEach((hour, counts) -> peakHours.put(Integer.toString(hour),
+                Map.of("sessions", counts[0], "guests", counts[1])));
+
+        BigDecimal utilization = tables == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(day.sessionMinutes)
+                .divide(BigDecimal.valueOf(tables * MINUTES_PER_DAY), 4, RoundingMode.HALF_UP)
+                .min(BigDecimal.ONE);
+
+        stats.setTotalSessions((int) day.sessions);
+        stats.setCompletedSessions((int) day.completed);
+        stats.setTotalGuests((int) day.guests);
+        stats.setTotalRevenue(day.revenue);
+        stats.setTotalOrders((int) day.orders);
+        stats.setAverageOrderValue(day.orders == 0 ? BigDecimal.ZERO
+                : day.revenue.divide(BigDecimal.valueOf(day.orders), 2, RoundingMode.HALF_UP));
+        stats.setTotalSessionMinutes(day.sessionMinutes);
+        stats.setAverageSessionDuration(day.completed == 0 ? 0 : (int) (day.sessionMinutes / day.completed));
+        stats.setTableUtilizationRate(utilization);
+        stats.setPeakHours(peakHours);
+        stats.setPopularItems(day.popularItems);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Read in a read-only transaction on the primary. Rollups are written back to the primary
+     * right after, so reading a lagging replica would persist stale days and drop ids it has not seen yet.
+     */
+    private <T> T readFromPrimary(TransactionCallback<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return readRouting.onPrimary(() -> template.execute(action));
+    }
+
+    /**
+     * Aggregates of a date range, by day
+     */
+    private static final class RangeAggregates {
+
+        private final Map<LocalDate, DayAggregate> days;
+        private final long tables;
+
+        private RangeAggregates(Map<LocalDate, DayAggregate> days, long tables) {
+            this.days = days;
+            this.tables = tables;
+        }
+    }
+
+    /**
+     * Totals of one day, with sessions and guests by hour of start
+     */
+    private static final class DayAggregate {
+
+        private long sessions;
+        private long completed;
+        private long guests;
+        private long sessionMinutes;
+        private long orders;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private final Map<Integer, long[]> hours = new TreeMap<>();
+        private final List<Map<String, Object>> popularItems = new ArrayList<>();
+    }
+
+    /**
+     * One restaurant day
+     */
+    private static final class RollupKey {
+
+        private final UUID restaurantId;
+        private final LocalDate date;
+
+        private RollupKey(UUID restaurantId, LocalDate date) {
+            this.restaurantId = restaurantId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RollupKey other)) {
+                return false;
+            }
+            return restaurantId.equals(other.restaurantId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(restaurantId, date);
+        }
+    }
+}
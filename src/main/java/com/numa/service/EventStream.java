@@ -0,0 +1,252 @@
+package com.numa.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events topic with a bounded replay buffer for Last-Event-ID resume.
+ *
+ * Event IDs have the form {@code <epoch>-<sequence>}. The epoch is unique per stream instance,
+ * so an ID issued before a restart or by a since-evicted stream is answered with a
+ * {@link #RESYNC_EVENT} instead of silently skipping events. The same happens when the
+ * requested ID has already fallen out of the replay buffer.
+ *
+ * Publishing only numbers the event and queues it per client, so IDs follow the order of
+ * {@link #publish} calls and a slow client never holds up the publisher or other clients.
+ * Each client's queue is drained in order on the sender executor. A client whose queue
+ * overflows is disconnected and resumes from its last event ID when it reconnects.
+ */
+public class EventStream {
+
+    /**
+     * Sent on connect with the current position, so clients can resume even before any event arrives
+     */
+    public static final String READY_EVENT = "READY";
+
+    /**
+     * Tells the client its position cannot be resumed and it must refetch the full state
+     */
+    public static final String RESYNC_EVENT = "RESYNC";
+
+    private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis());
+
+    private final String epoch = Long.toString(EPOCHS.incrementAndGet(), 36);
+
+    private final int replayCapacity;
+
+    private final Deque<StreamedEvent> replay = new ArrayDeque<>();
+
+    private final int sendBufferSize;
+
+    private final Executor sender;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private long sequence;
+
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    public EventStream(int replayCapacity, int sendBufferSize, Executor sender) {
+        this.replayCapacity = replayCapacity;
+        this.sendBufferSize = sendBufferSize;
+        this.sender = sender;
+    }
+
+    /**
+     * Append an event to the replay buffer and queue it for every connected client
+     */
+    public synchronized void publish(String name, Object data) {
+        StreamedEvent event = new StreamedEvent(++sequence, name, data);
+        replay.addLast(event);
+        if (replay.size() > replayCapacity) {
+            replay.removeFirst();
+        }
+        lastActivityNanos = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(() -> event.toBuilder(epoch));
+        }
+    }
+
+    /**
+     * Attach a client, replaying everything after its last seen event ID
+     */
+    public synchronized void subscribe(SseEmitter emitter, String lastEventId) {
+        // Room for a full replay on top of the regular send buffer
+        Subscriber subscriber = new Subscriber(emitter, replayCapacity + sendBufferSize);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        lastActivityNanos = System.nanoTime();
+
+        String currentId = currentId();
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            Long lastSequence = parseSequence(lastEventId);
+            if (lastSequence == null || !canResumeFrom(lastSequence)) {
+                subscriber.enqueue(() -> SseEmitter.event().id(currentId).name(RESYNC_EVENT).data(currentId));
+            } else {
+                for (StreamedEvent event : replay) {
+                    if (event.sequence > lastSequence) {
+                        subscriber.enqueue(() -> event.toBuilder(epoch));
+                    }
+                }
+            }
+        }
+        subscriber.enqueue(() -> SseEmitter.event().id(currentId).name(READY_EVENT).data(currentId));
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Queue a comment line to keep idle connections open and detect dead clients
+     */
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(() -> SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    /**
+     * Complete all client connections once their queued events have been sent
+     */
+    public synchronized void complete() {
+        subscribers.forEach(Subscriber::completeAfterQueued);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Nanosecond timestamp of the last publish or subscribe
+     */
+    public long getLastActivityNanos() {
+        return lastActivityNanos;
+    }
+
+    private String currentId() {
+        return epoch + "-" + sequence;
+    }
+
+    private Long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean canResumeFrom(long lastSequence) {
+        long oldestAvailable = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence;
+        return lastSequence <= sequence && lastSequence >= oldestAvailable - 1;
+    }
+
+    /**
+     * One connected client with its own bounded queue, drained by at most one sender task at a time.
+     * Events are queued as builder suppliers because a built SSE event cannot be sent twice.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private volatile boolean completeWhenDrained;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Too slow to keep up; it resumes from its last event ID on reconnect
+                close();
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        void completeAfterQueued() {
+            completeWhenDrained = true;
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.get());
+                }
+                if (!closed && completeWhenDrained) {
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (!queue.isEmpty() || completeWhenDrained)) {
+                schedule();
+            }
+        }
+    }
+
+    private static final class StreamedEvent {
+
+        private final long sequence;
+        private final String name;
+        private final Object data;
+
+        private StreamedEvent(long sequence, String name, Object data) {
+            this.sequence = sequence;
+            this.name = name;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toBuilder(String epoch) {
+            return SseEmitter.event().id(epoch + "-" + sequence).name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.numa.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cart store keyed by dining session ID.
+ * Carts are bounded in number and size, and evicted after a period of inactivity.
+ * When the store is full the least recently used cart is evicted, and a warning is logged
+ * if it still held lines. Nothing is written to the database until the cart is submitted.
+ *
+ * Every change stamps the session with a new version drawn from a store-wide sequence,
+ * so a version is never reused, even after a cart has been evicted and recreated.
+ */
+@Component
+public class GuestCartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestCartStore.class);
+
+    private final int maxLinesPerSession;
+
+    private final Cache<UUID, SessionCart> carts;
+
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    public GuestCartStore(@Value("${numa.cart.max-sessions:10000}") long maxSessions,
+                          @Value("${numa.cart.max-lines-per-session:100}") int maxLinesPerSession,
+                          @Value("${numa.cart.ttl-minutes:240}") long ttlMinutes) {
+        this.maxLinesPerSession = maxLinesPerSession;
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .removalListener((UUID sessionId, SessionCart cart, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && cart != null && cart.lineCount() > 0) {
+                        logger.warn("Guest cart store is full, evicted cart of session {} with {} unsubmitted lines",
+                                sessionId, cart.lineCount());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get the cart of a session together with its version
+     */
+    public CartSnapshot getCart(UUID sessionId) {
+        SessionCart cart = carts.getIfPresent(sessionId);
+        return cart != null ? cart.snapshot() : CartSnapshot.EMPTY;
+    }
+
+    /**
+     * Get the lines of a session cart in insertion order
+     */
+    public List<CartLine> getLines(UUID sessionId) {
+        return getCart(sessionId).getLines();
+    }
+
+    /**
+     * Get the current version of a session
+     */
+    public long getVersion(UUID sessionId) {
+        return getCart(sessionId).getVersion();
+    }
+
+    /**
+     * Add a line to a session cart
+     */
+    public CartChange addLine(UUID sessionId, CartLine line) {
+        return getOrCreate(sessionId).add(line, maxLinesPerSession);
+    }
+
+    /**
+     * Change quantity and instructions of a cart line
+     */
+    public Optional<CartChange> updateLine(UUID sessionId, UUID lineId, int quantity, String specialInstructions) {
+        SessionCart cart = carts.getIfPresent(sessionId);
+        return cart != null ? cart.update(lineId, quantity, specialInstructions) : Optional.empty();
+    }
+
+    /**
+     * Remove a line from a session cart
+     */
+    public Optional<CartChange> removeLine(UUID sessionId, UUID lineId) {
+        SessionCart cart = carts.getIfPresent(sessionId);
+        return cart != null ? cart.remove(lineId) : Optional.empty();
+    }
+
+    /**
+     * Atomically take every line out of a session cart for submission.
+     * A concurrent submit of the same cart finds it empty, so the lines become one order only.
+     */
+    public List<CartLine> claimLines(UUID sessionId) {
+        SessionCart cart = carts.getIfPresent(sessionId);
+        return cart != null ? cart.claim() : List.of();
+    }
+
+    /**
+     * Put claimed lines back ahead of any added since, after the submission failed
+     */
+    public void restoreLines(UUID sessionId, List<CartLine> claimedLines) {
+        if (!claimedLines.isEmpty()) {
+            getOrCreate(sessionId).restore(claimedLines);
+        }
+    }
+
+    /**
+     * Advance the session version for changes made outside the cart, such as a guest joining
+     */
+    public long advanceVersion(UUID sessionId) {
+        return getOrCreate(sessionId).advance();
+    }
+
+    /**
+     * Discard the whole cart of a session, returning how many unsubmitted lines it held
+     */
+    public int discard(UUID sessionId) {
+        SessionCart cart = carts.asMap().remove(sessionId);
+        return cart != null ? cart.lineCount() : 0;
+    }
+
+    /**
+     * Evict carts that have not been touched within the TTL, even while the store is idle
+     */
+    @Scheduled(fixedDelayString = "${numa.cart.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        carts.cleanUp();
+    }
+
+    private SessionCart getOrCreate(UUID sessionId) {
+        return carts.get(sessionId, id -> new SessionCart());
+    }
+
+    /**
+     * Lines and version of one session, guarded by the cart's own monitor
+     */
+    private final class SessionCart {
+
+        private final Map<UUID, CartLine> lines = new LinkedHashMap<>();
+
+        private long version;
+
+        synchronized CartSnapshot snapshot() {
+            return new CartSnapshot(version, List.copyOf(lines.values()));
+        }
+
+        synchronized CartChange add(CartLine line, int maxLines) {
+            if (lines.size() >= maxLines) {
+                throw new IllegalArgumentException("Cart cannot hold more than " + maxLines + " items");
+            }
+            lines.put(line.getId(), line);
+            long previousVersion = version;
+            return CartChange.upserted(previousVersion, advance(), line);
+        }
+
+        synchronized Optional<CartChange> update(UUID lineId, int quantity, String specialInstructions) {
+            CartLine updated = lines.computeIfPresent(lineId,
+                    (id, line) -> line.withQuantity(quantity, specialInstructions));
+            if (updated == null) {
+                return Optional.empty();
+            }
+            long previousVersion = version;
+            return Optional.of(CartChange.upserted(previousVersion, advance(), updated));
+        }
+
+        synchronized Optional<CartChange> remove(UUID lineId) {
+            if (lines.remove(lineId) == null) {
+                return Optional.empty();
+            }
+            long previousVersion = version;
+            return Optional.of(CartChange.removed(previousVersion, advance(), lineId));
+        }
+
+        synchronized List<CartLine> claim() {
+            if (lines.isEmpty()) {
+                return List.of();
+            }
+            List<CartLine> claimed = List.copyOf(lines.values());
+            lines.clear();
+            advance();
+            return claimed;
+        }
+
+        synchronized void restore(List<CartLine> claimedLines) {
+            Map<UUID, CartLine> addedSinceClaim = new LinkedHashMap<>(lines);
+            lines.clear();
+            claimedLines.forEach(line -> lines.put(line.getId(), line));
+            lines.putAll(addedSinceClaim);
+            advance();
+        }
+
+        synchronized int lineCount() {
+            return lines.size();
+        }
+
+        synchronized long advance() {
+            version = versionSequence.incrementAndGet();
+            return version;
+        }
+    }
+}
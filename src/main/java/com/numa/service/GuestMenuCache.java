@@ -0,0 +1,92 @@
+package com.numa.service;
+
+import com.numa.cache.CacheInvalidatedEvent;
+import com.numa.dto.response.GuestMenuResponse;
+import com.numa.event.MenuChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of immutable guest menu snapshots keyed by restaurant slug.
+ * Snapshots are built once per menu version and dropped when a menu change commits,
+ * on this node or, through the cache invalidation broadcast, on another one.
+ */
+@Component
+public class GuestMenuCache {
+
+    private final Map<String, GuestMenuResponse> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> menuVersions = new ConcurrentHashMap<>();
+
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Get the menu snapshot for a slug, building it with the loader on a miss
+     */
+    public GuestMenuResponse get(String slug, Function<String, GuestMenuResponse> loader) {
+        GuestMenuResponse snapshot = snapshots.get(slug);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        GuestMenuResponse built = loader.apply(slug);
+        UUID restaurantId = built.getRestaurant().getId();
+        built.setMenuVersion(menuVersions.computeIfAbsent(restaurantId, id -> versionSequence.incrementAndGet()));
+
+        // Don't publish a snapshot that may have been read before a concurrent change committed.
+        // The check runs under the entry's lock, and invalidate() counts before it removes, so an
+        // invalidation either fails this check or removes the snapshot stored here.
+        snapshots.compute(slug, (key, current) ->
+                invalidations.get() == invalidationsBeforeLoad ? built : current);
+        return built;
+    }
+
+    /**
+     * Get the current menu version for a restaurant, or null if no snapshot was built yet
+     */
+    public Long getMenuVersion(UUID restaurantId) {
+        return menuVersions.get(restaurantId);
+    }
+
+    /**
+     * Drop the snapshot of a restaurant and advance its menu version
+     */
+    public void invalidate(UUID restaurantId) {
+        invalidations.incrementAndGet();
+        menuVersions.put(restaurantId, versionSequence.incrementAndGet());
+        snapshots.values().removeIf(snapshot -> restaurantId.equals(snapshot.getRestaurant().getId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        invalidate(event.getRestaurantId());
+    }
+
+    /**
+     * Drop snapshots after a menu change on another node
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidatedEvent event) {
+        if (!CacheEvictionListener.MENUS_CACHE.equals(event.getCacheName())) {
+            return;
+        }
+        if (event.getRestaurantId() != null) {
+            invalidate(event.getRestaurantId());
+        } else {
+            invalidations.incrementAndGet();
+            snapshots.clear();
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.numa.service;
 
-import com.numa.domain.entity.Restaurant;
-import com.numa.domain.entity.RestaurantTable;
+import com.numa.analytics.AnalyticsRecorder;
+import com.numa.datasource.ReadRouting;
 import com.numa.domain.entity.MenuCategory;
 import com.numa.domain.entity.MenuItem;
+import com.numa.domain.entity.MenuItemVariation;
 import com.numa.domain.entity.DiningSession;
 import com.numa.domain.entity.SessionGuest;
 import com.numa.domain.entity.Order;
+import com.numa.domain.entity.OrderItem;
+import com.numa.domain.enums.AnalyticsEventType;
 import com.numa.domain.enums.OrderStatus;
+import com.numa.domain.enums.SessionEventType;
 import com.numa.domain.enums.SessionStatus;
 import com.numa.dto.request.GuestJoinSessionRequest;
 import com.numa.dto.request.GuestOrderRequest;
+import com.numa.dto.response.GuestCartDeltaResponse;
 import com.numa.dto.response.GuestMenuResponse;
 import com.numa.dto.response.GuestSessionResponse;
 import com.numa.dto.response.GuestOrderResponse;
@@ -20,24 +25,36 @@ import com.numa.dto.response.GuestRestaurantDTO;
 import com.numa.dto.response.GuestMenuCategoryDTO;
 import com.numa.dto.response.GuestMenuItemDTO;
 import com.numa.dto.response.GuestDiningSessionDTO;
-import com.numa.dto.response.GuestSessionGuestDTO;
 import com.numa.repository.RestaurantRepository;
 import com.numa.repository.RestaurantTableRepository;
 import com.numa.repository.MenuCategoryRepository;
+import com.numa.repository.MenuItemRepository;
 import com.numa.repository.DiningSessionRepository;
 import com.numa.repository.SessionGuestRepository;
 import com.numa.repository.OrderRepository;
+import com.numa.event.SessionEvent;
 import com.numa.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +66,9 @@ public class GuestService {
 
     @Autowired
     private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private TenantContextResolver tenantContextResolver;
     
     @Autowired
     private RestaurantTableRepository tableRepository;
@@ -65,33 +85,69 @@ public class GuestService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private GuestMenuCache guestMenuCache;
+
+    @Autowired
+    private GuestCartStore guestCartStore;
+
+    @Autowired
+    private SessionAggregateLoader sessionAggregateLoader;
+
+    @Autowired
+    private SessionEventBroadcaster sessionEventBroadcaster;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private QrTableIndex qrTableIndex;
+
+    @Autowired
+    private TableSessionLocks tableSessionLocks;
+
+    @Autowired
+    private OrderNumberAllocator orderNumberAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private AnalyticsRecorder analyticsRecorder;
+
     /**
      * Get restaurant by slug
      */
     public GuestRestaurantResponse getRestaurantBySlug(String slug) {
-        Restaurant restaurant = restaurantRepository.findBySlug(slug)
+        return restaurantRepository.findGuestRestaurantBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with slug: " + slug));
-        return new GuestRestaurantResponse(restaurant);
     }
 
     /**
      * Get table by QR code
      */
     public GuestTableResponse getTableByQrCode(String qrCode) {
-        RestaurantTable table = tableRepository.findByQrCode(qrCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found with QR code: " + qrCode));
-        return new GuestTableResponse(table);
+        TableDescriptor table = resolveTable(qrCode);
+        analyticsRecorder.record(AnalyticsEventType.QR_SCANNED, table.getRestaurantId(), Map.of(
+                "tableId", table.getId(),
+                "tableNumber", table.getTableNumber()));
+        return convertToTableResponse(table);
     }
 
     /**
      * Check for active session on a table
      */
     public Object getActiveSessionForTable(String qrCode) {
-        RestaurantTable table = tableRepository.findByQrCode(qrCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found with QR code: " + qrCode));
+        TableDescriptor table = resolveTable(qrCode);
         
         // Check if there's an active session for this table
-        Optional<DiningSession> activeSession = sessionRepository.findByTableIdAndStatus(table.getId(), SessionStatus.ACTIVE);
+        Optional<DiningSession> activeSession = sessionRepository.findFirstByTableIdAndStatusOrderByStartedAtAsc(table.getId(), SessionStatus.ACTIVE);
         
         if (activeSession.isPresent()) {
             DiningSession session = activeSession.get();
@@ -111,230 +167,206 @@ public class GuestService {
     }
 
     /**
-     * Get public menu for restaurant
+     * Get public menu for restaurant.
+     * Served from the menu snapshot cache; the database is only hit to rebuild a stale snapshot.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GuestMenuResponse getPublicMenu(String slug) {
-        Restaurant restaurant = restaurantRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with slug: " + slug));
-        List<MenuCategory> categories = menuCategoryRepository.findByRestaurantIdAndIsActiveTrueOrderBySortOrderAsc(restaurant.getId());
-        
-        // Convert to DTOs to avoid lazy loading issues
-        GuestRestaurantDTO restaurantDTO = convertToRestaurantDTO(restaurant);
-        List<GuestMenuCategoryDTO> categoryDTOs = categories.stream()
-                .map(this::convertToCategoryDTO)
-                .collect(Collectors.toList());
-        
-        return new GuestMenuResponse(restaurantDTO, categoryDTOs);
+        GuestMenuResponse menu = guestMenuCache.get(slug, this::buildPublicMenu);
+        analyticsRecorder.record(AnalyticsEventType.MENU_VIEWED, menu.getRestaurant().getId(), Map.of());
+        return menu;
     }
 
     /**
-     * Join or create dining session
+     * Build an immutable menu snapshot in its own read-only transaction.
+     * Read on the primary, since a snapshot built from a lagging replica would be cached until the next menu change.
      */
+    private GuestMenuResponse buildPublicMenu(String slug) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            GuestRestaurantDTO restaurantDTO = restaurantRepository.findGuestMenuRestaurantBySlug(slug)
+                    .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with slug: " + slug));
+            List<MenuCategory> categories = menuCategoryRepository.findByRestaurantIdAndIsActiveTrueOrderBySortOrderAsc(restaurantDTO.getId());
+
+            // Convert to DTOs to avoid lazy loading issues
+            List<GuestMenuCategoryDTO> categoryDTOs = categories.stream()
+                    .map(this::convertToCategoryDTO)
+                    .toList();
+
+            return new GuestMenuResponse(restaurantDTO, categoryDTOs);
+        }));
+    }
+
+    /**
+     * Join or create dining session.
+     * The session is found or created in its own short transaction before the guest is added,
+     * so concurrent scans of one table never hold a connection while waiting for each other.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GuestSessionResponse joinSession(GuestJoinSessionRequest request) {
-        // Find or create dining session
-        GuestTableResponse tableResponse = getTableByQrCode(request.getTableQrCode());
-        RestaurantTable table = tableRepository.findById(tableResponse.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Table not found"));
-        DiningSession session = sessionRepository.findByTableIdAndStatus(table.getId(), SessionStatus.ACTIVE)
-                .orElseGet(() -> createNewSession(table));
-        
-        // Create guest session
-        SessionGuest guest = new SessionGuest(session, request.getGuestName());
-        
-        sessionGuestRepository.save(guest);
-        
-        // Get session data
-        List<SessionGuest> guests = sessionGuestRepository.findBySessionIdOrderByJoinedAtAsc(session.getId());
-        List<Order> cartItems = orderRepository.findBySessionIdAndStatus(session.getId(), OrderStatus.PENDING);
-        List<Order> orders = orderRepository.findBySessionIdAndStatusNot(session.getId(), OrderStatus.PENDING);
-        
-        // Convert entities to DTOs to avoid lazy loading issues
-        GuestDiningSessionDTO sessionDTO = convertToDiningSessionDTO(session);
-        List<GuestSessionGuestDTO> guestDTOs = guests.stream()
-                .map(this::convertToSessionGuestDTO)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> cartItemDTOs = cartItems.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> orderDTOs = orders.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        
-        // Get table information
-        GuestTableResponse joinTableResponse = new GuestTableResponse(table);
-        
-        return new GuestSessionResponse(
-                session.getId(),
-                session.getSessionCode(),
-                guest.getJoinToken(),
-                guest.getGuestName(),
-                sessionDTO,
-                joinTableResponse,
-                guestDTOs,
-                cartItemDTOs,
-                orderDTOs
-        );
+        TableDescriptor table = resolveTable(request.getTableQrCode());
+        UUID sessionId = findOrCreateActiveSession(table);
+        // The join path names no session, so bind it here; the guest's next reads then see this write.
+        // The routing interceptor clears it when the request completes.
+        if (readRouting.isEnabled()) {
+            readRouting.bindGuestSession(sessionId);
+        }
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            DiningSession session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
+            if (!session.isActive()) {
+                throw new IllegalStateException("Session is no longer active, please scan the table again");
+            }
+
+            // Create guest session
+            SessionGuest guest = new SessionGuest(session, request.getGuestName());
+
+            sessionGuestRepository.save(guest);
+
+            // A new guest makes every client's cart version stale
+            afterCommit(() -> guestCartStore.advanceVersion(sessionId));
+            publishSessionEvent(session, SessionEventType.GUEST_JOINED, Map.of(
+                    "guestId", guest.getId(),
+                    "guestName", guest.getGuestName()));
+
+            return toSessionResponse(sessionAggregateLoader.load(sessionId),
+                    guest.getJoinToken(), guest.getGuestName());
+        });
     }
 
     /**
      * Get session information by session code
      */
     public GuestSessionResponse getSessionByCode(String sessionCode) {
-        DiningSession session = sessionRepository.findBySessionCode(sessionCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found with code: " + sessionCode));
-        
-        List<SessionGuest> guests = sessionGuestRepository.findBySessionIdOrderByJoinedAtAsc(session.getId());
-        List<Order> cartItems = orderRepository.findBySessionIdAndStatus(session.getId(), OrderStatus.PENDING);
-        List<Order> orders = orderRepository.findBySessionIdAndStatusNot(session.getId(), OrderStatus.PENDING);
-        
-        // Convert entities to DTOs to avoid lazy loading issues
-        GuestDiningSessionDTO sessionDTO = convertToDiningSessionDTO(session);
-        List<GuestSessionGuestDTO> guestDTOs = guests.stream()
-                .map(this::convertToSessionGuestDTO)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> cartItemDTOs = cartItems.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> orderDTOs = orders.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        
-        // Get table information
-        GuestTableResponse tableResponse = new GuestTableResponse(session.getTable());
-        
-        return new GuestSessionResponse(
-                session.getId(),
-                session.getSessionCode(),
-                null, // No guest token for general session info
-                null,
-                sessionDTO,
-                tableResponse,
-                guestDTOs,
-                cartItemDTOs,
-                orderDTOs
-        );
+        // No guest token for general session info
+        return toSessionResponse(sessionAggregateLoader.loadByCode(sessionCode), null, null);
     }
 
     /**
      * Get session information by session ID (for backward compatibility)
      */
     public GuestSessionResponse getSession(UUID sessionId) {
-        DiningSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
-        
-        List<SessionGuest> guests = sessionGuestRepository.findBySessionIdOrderByJoinedAtAsc(sessionId);
-        List<Order> cartItems = orderRepository.findBySessionIdAndStatus(sessionId, OrderStatus.PENDING);
-        List<Order> orders = orderRepository.findBySessionIdAndStatusNot(sessionId, OrderStatus.PENDING);
-        
-        // Convert entities to DTOs to avoid lazy loading issues
-        GuestDiningSessionDTO sessionDTO = convertToDiningSessionDTO(session);
-        List<GuestSessionGuestDTO> guestDTOs = guests.stream()
-                .map(this::convertToSessionGuestDTO)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> cartItemDTOs = cartItems.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        List<GuestOrderResponse> orderDTOs = orders.stream()
-                .map(this::convertToOrderResponse)
-                .collect(Collectors.toList());
-        
-        // Get table information
-        GuestTableResponse tableResponse = new GuestTableResponse(session.getTable());
-        
-        return new GuestSessionResponse(
-                session.getId(),
-                session.getSessionCode(),
-                null, // No guest token for general session info
-                null,
-                sessionDTO,
-                tableResponse,
-                guestDTOs,
-                cartItemDTOs,
-                orderDTOs
-        );
+        // No guest token for general session info
+        return toSessionResponse(sessionAggregateLoader.load(sessionId), null, null);
     }
 
     /**
-     * Add item to cart
+     * Add item to cart.
+     * Cart lines are kept in memory and only written to the database on submit.
      */
     public GuestSessionResponse addToCart(UUID sessionId, GuestOrderRequest request) {
-        DiningSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
-        
-        // Create order item
-        Order order = new Order(session.getRestaurant(), session.getTable(), session.getId());
-        order.setCustomerName("Guest");
-        order.setSpecialInstructions(request.getSpecialInstructions());
-        
-        // Calculate price (simplified - in real implementation, get from menu item)
-        order.setTotalAmount(BigDecimal.valueOf(10.00).multiply(BigDecimal.valueOf(request.getQuantity())));
-        
-        orderRepository.save(order);
-        
+        applyAddToCart(sessionId, request);
         return getSession(sessionId);
     }
 
+    /**
+     * Add item to cart, returning only the change if the client is at the previous version
+     */
+    @Transactional(readOnly = true)
+    public GuestCartDeltaResponse addToCartDelta(UUID sessionId, GuestOrderRequest request, Long sinceVersion) {
+        return toCartDelta(sessionId, applyAddToCart(sessionId, request), sinceVersion);
+    }
+
     /**
      * Remove item from cart
      */
-    public GuestSessionResponse removeFromCart(UUID sessionId, UUID orderId) {
-        Order order = orderRepository.findByIdAndSessionId(orderId, sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
-        
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalArgumentException("Cannot remove submitted order");
-        }
-        
-        orderRepository.delete(order);
+    public GuestSessionResponse removeFromCart(UUID sessionId, UUID cartItemId) {
+        applyRemoveFromCart(sessionId, cartItemId);
         return getSession(sessionId);
     }
 
+    /**
+     * Remove item from cart, returning only the change if the client is at the previous version
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GuestCartDeltaResponse removeFromCartDelta(UUID sessionId, UUID cartItemId, Long sinceVersion) {
+        return toCartDelta(sessionId, applyRemoveFromCart(sessionId, cartItemId), sinceVersion);
+    }
+
     /**
      * Update cart item
      */
-    public GuestSessionResponse updateCartItem(UUID sessionId, UUID orderId, GuestOrderRequest request) {
-        Order order = orderRepository.findByIdAndSessionId(orderId, sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
-        
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalArgumentException("Cannot update submitted order");
-        }
-        
-        order.setSpecialInstructions(request.getSpecialInstructions());
-        order.setTotalAmount(BigDecimal.valueOf(10.00).multiply(BigDecimal.valueOf(request.getQuantity())));
-        
-        orderRepository.save(order);
+    public GuestSessionResponse updateCartItem(UUID sessionId, UUID cartItemId, GuestOrderRequest request) {
+        applyUpdateCartItem(sessionId, cartItemId, request);
         return getSession(sessionId);
     }
 
     /**
-     * Submit order
+     * Update cart item, returning only the change if the client is at the previous version
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GuestCartDeltaResponse updateCartItemDelta(UUID sessionId, UUID cartItemId, GuestOrderRequest request,
+                                                      Long sinceVersion) {
+        return toCartDelta(sessionId, applyUpdateCartItem(sessionId, cartItemId, request), sinceVersion);
+    }
+
+    /**
+     * Submit order.
+     * Materializes the cart as a single order priced from the current menu.
      */
     public GuestOrderResponse submitOrder(UUID sessionId) {
-        List<Order> cartItems = orderRepository.findBySessionIdAndStatus(sessionId, OrderStatus.PENDING);
+        // Claim the lines up front so a concurrent or repeated submit cannot order them again
+        List<CartLine> cartLines = guestCartStore.claimLines(sessionId);
         
-        if (cartItems.isEmpty()) {
+        if (cartLines.isEmpty()) {
             throw new IllegalArgumentException("No items in cart to submit");
         }
+        afterRollback(() -> guestCartStore.restoreLines(sessionId, cartLines));
         
-        // Update all cart items to confirmed
-        cartItems.forEach(order -> {
-            order.setStatus(OrderStatus.CONFIRMED);
-        });
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+        
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Session is not active");
+        }
+        
+        Map<UUID, MenuItem> menuItems = menuItemRepository.findAllById(cartLines.stream()
+                        .map(CartLine::getMenuItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        
+        RestaurantSnapshot restaurant = tenantContextResolver.get(session.getRestaurant().getId());
+        Order order = new Order(session.getRestaurant(), session.getTable(), sessionId);
+        order.usePricingRates(restaurant.getTaxRate(), restaurant.getServiceChargeRate(), restaurant.getDeliveryFee());
+        order.setOrderNumber(orderNumberAllocator.next(restaurant.getId()));
+        order.setCustomerName("Guest");
+        
+        for (CartLine line : cartLines) {
+            MenuItem menuItem = menuItems.get(line.getMenuItemId());
+            if (menuItem == null || !menuItem.getIsActive() || !menuItem.getIsAvailable()) {
+                throw new IllegalArgumentException("Menu item is no longer available: " + line.getItemName());
+            }
+            OrderItem orderItem = new OrderItem(order, menuItem, findVariation(menuItem, line.getVariationId()),
+                    line.getQuantity());
+            orderItem.setSpecialInstructions(line.getSpecialInstructions());
+            order.addItem(orderItem);
+        }
+        order.confirm();
+        
+        orderRepository.save(order);
         
-        orderRepository.saveAll(cartItems);
+        List<UUID> submittedLineIds = cartLines.stream().map(CartLine::getId).toList();
+        publishSessionEvent(session, SessionEventType.ORDER_SUBMITTED, Map.of(
+                "orderId", order.getId(),
+                "orderNumber", order.getOrderNumber(),
+                "status", order.getStatus(),
+                "totalAmount", order.getTotalAmount(),
+                "submittedItemIds", submittedLineIds));
         
-        // Return the first order as response (in real implementation, might create a single order)
-        Order firstOrder = cartItems.get(0);
         return new GuestOrderResponse(
-                firstOrder.getId(),
+                order.getId(),
                 sessionId,
-                "Guest", // In real implementation, get from session guest
-                firstOrder.getStatus(),
-                firstOrder.getTotalAmount(),
-                firstOrder.getCreatedAt(),
-                null, // No estimated ready time in current entity
-                List.of() // In real implementation, populate order items
+                order.getCustomerName(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getCreatedAt(),
+                order.getEstimatedReadyTime(),
+                order.getOrderItems().stream()
+                        .map(this::convertToOrderItemResponse)
+                        .collect(Collectors.toList())
         );
     }
 
@@ -367,48 +399,283 @@ public class GuestService {
         
         guest.setLastActivityAt(LocalDateTime.now());
         sessionGuestRepository.save(guest);
+        
+        publishSessionEvent(guest.getSession(), SessionEventType.GUEST_LEFT, Map.of(
+                "guestId", guest.getId(),
+                "guestName", guest.getGuestName()));
+    }
+
+    /**
+     * Call the waiter to the table
+     */
+    public void callWaiter(UUID sessionId) {
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+        
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Session is not active");
+        }
+        
+        session.callWaiter();
+        sessionRepository.save(session);
+        
+        publishSessionEvent(session, SessionEventType.WAITER_CALLED, Map.of(
+                "waiterCallTime", session.getWaiterCallTime()));
+    }
+
+    /**
+     * Open a live event stream for a session, resuming after the given event ID
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamSessionEvents(UUID sessionId, String lastEventId) {
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+        
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Session is not active");
+        }
+        
+        return sessionEventBroadcaster.subscribe(sessionId, lastEventId);
     }
 
     /**
-     * Create new dining session
-     */
-    private DiningSession createNewSession(RestaurantTable table) {
-        DiningSession session = new DiningSession(table.getRestaurant(), table);
-        return sessionRepository.save(session);
-    }
-
-    /**
-     * Convert Restaurant entity to GuestRestaurantDTO
-     */
-    private GuestRestaurantDTO convertToRestaurantDTO(Restaurant restaurant) {
-        return new GuestRestaurantDTO(
-                restaurant.getId(),
-                restaurant.getName(),
-                restaurant.getSlug(),
-                restaurant.getDescription(),
-                restaurant.getPhone(),
-                restaurant.getAddressLine1(),
-                restaurant.getAddressLine2(),
-                restaurant.getCity(),
-                restaurant.getState(),
-                restaurant.getPostalCode(),
-                restaurant.getCountry(),
-                restaurant.getCurrencyCode(),
-                restaurant.getLanguageCode(),
-                restaurant.getTimezone(),
-                restaurant.getLogoUrl(),
-                restaurant.getBannerUrl(),
-                restaurant.getBrandColor(),
-                restaurant.getStatus(),
-                restaurant.getDeliveryEnabled(),
-                restaurant.getTakeawayEnabled(),
-                restaurant.getDineInEnabled(),
-                restaurant.getDeliveryRadiusKm(),
-                restaurant.getDeliveryFee(),
-                restaurant.getMinimumOrderAmount(),
-                restaurant.getTaxRate(),
-                restaurant.getServiceChargeRate()
+     * Convert a loaded session aggregate to the guest session response
+     */
+    private GuestSessionResponse toSessionResponse(SessionAggregate aggregate, String guestToken, String guestName) {
+        GuestDiningSessionDTO session = aggregate.getSession();
+        
+        CartSnapshot cart = guestCartStore.getCart(session.getId());
+        List<GuestOrderResponse> cartItemDTOs = cart.getLines().stream()
+                .map(line -> convertToCartItemResponse(session.getId(), line))
+                .collect(Collectors.toList());
+        
+        GuestSessionResponse response = new GuestSessionResponse(
+                session.getId(),
+                session.getSessionCode(),
+                guestToken,
+                guestName,
+                session,
+                aggregate.getTable(),
+                aggregate.getGuests(),
+                cartItemDTOs,
+                aggregate.getOrders()
         );
+        response.setSessionVersion(cart.getVersion());
+        return response;
+    }
+
+    /**
+     * Validate the menu item against the session and add it to the cart
+     */
+    private CartChange applyAddToCart(UUID sessionId, GuestOrderRequest request) {
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+        
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Session is not active");
+        }
+        
+        MenuItem menuItem = menuItemRepository.findById(request.getMenuItemId())
+                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found: " + request.getMenuItemId()));
+        if (!menuItem.getRestaurant().getId().equals(session.getRestaurant().getId())) {
+            throw new ResourceNotFoundException("Menu item not found: " + request.getMenuItemId());
+        }
+        if (!menuItem.getIsActive() || !menuItem.getIsAvailable()) {
+            throw new IllegalArgumentException("Menu item is not available: " + menuItem.getName());
+        }
+        MenuItemVariation variation = findVariation(menuItem, request.getVariationId());
+        
+        CartChange change = guestCartStore.addLine(sessionId, new CartLine(
+                menuItem.getId(),
+                variation != null ? variation.getId() : null,
+                menuItem.getName(),
+                menuItem.getDescription(),
+                variation != null ? variation.getName() : null,
+                menuItem.getPriceWithVariation(variation),
+                request.getQuantity(),
+                request.getSpecialInstructions()
+        ));
+        publishCartEvent(sessionId, change);
+        analyticsRecorder.record(AnalyticsEventType.CART_ITEM_ADDED, session.getRestaurant().getId(), sessionId, null,
+                Map.of("menuItemId", menuItem.getId(), "quantity", request.getQuantity()));
+        return change;
+    }
+
+    private CartChange applyRemoveFromCart(UUID sessionId, UUID cartItemId) {
+        CartChange change = guestCartStore.removeLine(sessionId, cartItemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found: " + cartItemId));
+        publishCartEvent(sessionId, change);
+        return change;
+    }
+
+    private CartChange applyUpdateCartItem(UUID sessionId, UUID cartItemId, GuestOrderRequest request) {
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
+        if (session.getStatus() != SessionStatus.ACTIVE) {
+            throw new IllegalArgumentException("Session is not active");
+        }
+        
+        CartChange change = guestCartStore.updateLine(sessionId, cartItemId, request.getQuantity(), request.getSpecialInstructions())
+                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found: " + cartItemId));
+        publishCartEvent(sessionId, change);
+        return change;
+    }
+
+    /**
+     * Publish a cart change; the cart is in memory, so only guests of the session care
+     */
+    private void publishCartEvent(UUID sessionId, CartChange change) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("sessionVersion", change.getVersion());
+        data.put("previousVersion", change.getPreviousVersion());
+        if (change.getLine() != null) {
+            data.put("cartItem", convertToCartItemResponse(sessionId, change.getLine()));
+        } else {
+            data.put("removedItemId", change.getRemovedLineId());
+        }
+        eventPublisher.publishEvent(new SessionEvent(sessionId, null, SessionEventType.CART_UPDATED, data));
+    }
+
+    private void publishSessionEvent(DiningSession session, SessionEventType type, Map<String, Object> data) {
+        eventPublisher.publishEvent(new SessionEvent(session.getId(), session.getRestaurant().getId(), type, data));
+    }
+
+    /**
+     * Build a delta for a client at the version the change was applied to,
+     * or fall back to the full session snapshot if the client's version is stale
+     */
+    private GuestCartDeltaResponse toCartDelta(UUID sessionId, CartChange change, Long sinceVersion) {
+        if (!change.appliesTo(sinceVersion)) {
+            return GuestCartDeltaResponse.snapshot(sinceVersion, getSession(sessionId));
+        }
+        List<GuestOrderResponse> upserted = change.getLine() != null
+                ? List.of(convertToCartItemResponse(sessionId, change.getLine()))
+                : List.of();
+        List<UUID> removed = change.getRemovedLineId() != null
+                ? List.of(change.getRemovedLineId())
+                : List.of();
+        return GuestCartDeltaResponse.delta(sessionId, sinceVersion, change.getVersion(), upserted, removed);
+    }
+
+    /**
+     * Run an action once the current transaction commits, or immediately without one
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run an action once the current transaction has rolled back
+     */
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Resolve an active variation of a menu item, or null when none is requested
+     */
+    private MenuItemVariation findVariation(MenuItem menuItem, UUID variationId) {
+        if (variationId == null) {
+            return null;
+        }
+        return menuItem.getVariations().stream()
+                .filter(variation -> variation.getId().equals(variationId) && variation.isActive())
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Variation not found: " + variationId));
+    }
+
+    /**
+     * Resolve a scanned QR code to its table from the in-memory index
+     */
+    private TableDescriptor resolveTable(String qrCode) {
+        return qrTableIndex.resolve(qrCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with QR code: " + qrCode));
+    }
+
+    /**
+     * Convert TableDescriptor to GuestTableResponse
+     */
+    private GuestTableResponse convertToTableResponse(TableDescriptor table) {
+        GuestTableResponse response = new GuestTableResponse();
+        response.setId(table.getId());
+        response.setRestaurantId(table.getRestaurantId());
+        response.setTableNumber(table.getTableNumber());
+        response.setCapacity(table.getCapacity());
+        response.setLocationDescription(table.getLocationDescription());
+        response.setDescription(table.getLocationDescription());
+        response.setStatus(table.getStatus());
+        response.setQrCode(table.getQrCode());
+        response.setCreatedAt(table.getCreatedAt());
+        response.setUpdatedAt(table.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * Find the active session of a table, creating it if there is none.
+     * Creation is serialised per table by a striped lock on this node and by the
+     * partial unique index on active sessions across nodes; losing that race means
+     * another node created the session, which is then joined instead.
+     */
+    private UUID findOrCreateActiveSession(TableDescriptor table) {
+        Optional<UUID> existing = findActiveSessionId(table.getId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        ReentrantLock lock = tableSessionLocks.acquire(table.getId());
+        try {
+            return findActiveSessionId(table.getId()).orElseGet(() -> createNewSession(table));
+        } catch (DataIntegrityViolationException e) {
+            return findActiveSessionId(table.getId()).orElseThrow(() -> e);
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Find the active session of a table on the primary, since a replica may not have a session another node just created
+     */
+    private Optional<UUID> findActiveSessionId(UUID tableId) {
+        return readRouting.onPrimary(() -> sessionRepository.findActiveSessionIdsByTable(tableId).stream().findFirst());
+    }
+
+    /**
+     * Create new dining session, committed on its own so other scans see it immediately
+     */
+    private UUID createNewSession(TableDescriptor table) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return newTransaction.execute(status -> {
+            DiningSession session = sessionRepository.saveAndFlush(new DiningSession(
+                    restaurantRepository.getReferenceById(table.getRestaurantId()),
+                    tableRepository.getReferenceById(table.getId())));
+            publishSessionEvent(session, SessionEventType.SESSION_STARTED, Map.of(
+                    "sessionCode", session.getSessionCode(),
+                    "tableId", table.getId(),
+                    "tableNumber", table.getTableNumber()));
+            return session.getId();
+        });
     }
 
     /**
@@ -419,7 +686,7 @@ public class GuestService {
         List<GuestMenuItemDTO> menuItemDTOs = category.getMenuItems().stream()
                 .filter(item -> item.getIsActive() && item.getIsAvailable())
                 .map(this::convertToMenuItemDTO)
-                .collect(Collectors.toList());
+                .toList();
 
         return new GuestMenuCategoryDTO(
                 category.getId(),
@@ -460,60 +727,41 @@ public class GuestService {
     }
 
     /**
-     * Convert DiningSession entity to GuestDiningSessionDTO
+     * Convert CartLine to GuestOrderResponse
      */
-    private GuestDiningSessionDTO convertToDiningSessionDTO(DiningSession session) {
-        return new GuestDiningSessionDTO(
-                session.getId(),
-                session.getSessionCode(),
-                session.getStatus(),
-                session.getGuestCount(),
-                session.getHostName(),
-                session.getHostPhone(),
-                session.getSpecialRequests(),
-                session.getTotalAmount(),
-                session.getTipAmount(),
-                session.getPaymentStatus(),
-                session.getWaiterCalled(),
-                session.getWaiterCallTime(),
-                session.getWaiterResponseTime(),
-                session.getStartedAt(),
-                session.getEndedAt(),
-                session.getCreatedAt(),
-                session.getUpdatedAt()
-        );
-    }
-
-    /**
-     * Convert SessionGuest entity to GuestSessionGuestDTO
-     */
-    private GuestSessionGuestDTO convertToSessionGuestDTO(SessionGuest guest) {
-        return new GuestSessionGuestDTO(
-                guest.getId(),
-                guest.getGuestName(),
-                guest.getGuestPhone(),
-                guest.getIsHost(),
-                guest.getJoinToken(),
-                guest.getJoinedAt(),
-                guest.getLastActivityAt(),
-                guest.getCreatedAt(),
-                guest.getUpdatedAt()
+    private GuestOrderResponse convertToCartItemResponse(UUID sessionId, CartLine line) {
+        return new GuestOrderResponse(
+                line.getId(),
+                sessionId,
+                "Guest",
+                OrderStatus.PENDING,
+                line.getLineTotal(),
+                line.getAddedAt(),
+                null,
+                List.of(new GuestOrderResponse.OrderItemResponse(
+                        line.getMenuItemId(),
+                        line.getItemName(),
+                        line.getDescription(),
+                        line.getUnitPrice(),
+                        line.getQuantity(),
+                        line.getSpecialInstructions(),
+                        line.getVariationName()
+                ))
         );
     }
 
     /**
-     * Convert Order entity to GuestOrderResponse
+     * Convert OrderItem to GuestOrderResponse.OrderItemResponse
      */
-    private GuestOrderResponse convertToOrderResponse(Order order) {
-        return new GuestOrderResponse(
-                order.getId(),
-                order.getSessionId(),
-                order.getCustomerName(),
-                order.getStatus(),
-                order.getTotalAmount(),
-                order.getCreatedAt(),
-                null, // No estimated ready time in current entity
-                List.of() // In real implementation, populate order items
+    private GuestOrderResponse.OrderItemResponse convertToOrderItemResponse(OrderItem item) {
+        return new GuestOrderResponse.OrderItemResponse(
+                item.getMenuItem().getId(),
+                item.getMenuItem().getName(),
+                item.getMenuItem().getDescription(),
+                item.getUnitPrice(),
+                item.getQuantity(),
+                item.getSpecialInstructions(),
+                item.getVariation() != null ? item.getVariation().getName() : null
         );
     }
 }
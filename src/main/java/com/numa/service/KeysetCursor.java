@@ -0,0 +1,99 @@
+package com.numa.service;
+
+import com.numa.dto.response.CursorPageResponse;
+import com.numa.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in a listing ordered by timestamp then ID, both descending.
+ *
+ * A page is fetched as the rows strictly after the cursor, so its cost depends on the page size
+ * and not on how deep the client has paged. Cursors travel as opaque URL-safe tokens; a malformed
+ * one is rejected as a bad request. They are not signed: an edited but well-formed cursor only moves
+ * the position within a listing the caller may already read.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String VERSION = "1";
+
+    // Sorts after every stored row, so the first page needs no separate query
+    private static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    private final LocalDateTime timestamp;
+    private final UUID id;
+
+    private KeysetCursor(LocalDateTime timestamp, UUID id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    /**
+     * Decode a token, or start from the first page when there is none
+     */
+    public static KeysetCursor parse(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+        if (parts.length != 3 || !VERSION.equals(parts[0])) {
+            throw new ValidationException("Invalid cursor");
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Validate a requested page size
+     */
+    public static int pageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Build a page from rows fetched with one extra row, which only signals that more follow
+     */
+    public static <E, R> CursorPageResponse<R> page(List<E> rows, int size, Function<E, LocalDateTime> timestamp,
+                                                    Function<E, UUID> id, Function<E, R> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(timestamp.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPageResponse<>(content.stream().map(mapper).toList(), nextCursor, hasMore, size);
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
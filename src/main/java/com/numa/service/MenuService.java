@@ -7,15 +7,19 @@ import com.numa.dto.request.MenuCategoryRequest;
 import com.numa.dto.request.MenuItemRequest;
 import com.numa.dto.response.MenuCategoryResponse;
 import com.numa.dto.response.MenuItemResponse;
+import com.numa.event.MenuChangedEvent;
 import com.numa.exception.ResourceNotFoundException;
 import com.numa.repository.MenuCategoryRepository;
 import com.numa.repository.MenuItemRepository;
 import com.numa.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,14 +40,19 @@ public class MenuService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private TenantContextResolver tenantContextResolver;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all menu categories for a restaurant
      */
     @Transactional(readOnly = true)
     public List<MenuCategoryResponse> getCategories(UUID restaurantId) {
         // Verify restaurant exists
-        restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
 
         List<MenuCategory> categories = menuCategoryRepository
                 .findByRestaurantIdOrderBySortOrderAsc(restaurantId);
@@ -57,8 +66,8 @@ public class MenuService {
      * Create a new menu category
      */
     public MenuCategoryResponse createCategory(UUID restaurantId, MenuCategoryRequest request) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
+        Restaurant restaurant = restaurantRepository.getReferenceById(restaurantId);
 
         MenuCategory category = new MenuCategory();
         category.setRestaurant(restaurant);
@@ -72,6 +81,7 @@ public class MenuService {
         category.setAvailableUntil(request.getAvailableUntil());
 
         MenuCategory savedCategory = menuCategoryRepository.save(category);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return mapToCategoryResponse(savedCategory);
     }
 
@@ -96,6 +106,7 @@ public class MenuService {
         category.setAvailableUntil(request.getAvailableUntil());
 
         MenuCategory savedCategory = menuCategoryRepository.save(category);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return mapToCategoryResponse(savedCategory);
     }
 
@@ -111,7 +122,12 @@ public class MenuService {
             throw new ResourceNotFoundException("Menu category not found");
         }
 
+        Set<UUID> removedIds = new HashSet<>();
+        removedIds.add(categoryId);
+        category.getMenuItems().forEach(item -> collectRemovedIds(item, removedIds));
+
         menuCategoryRepository.delete(category);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId, removedIds));
     }
 
     /**
@@ -120,8 +136,7 @@ public class MenuService {
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getItems(UUID restaurantId) {
         // Verify restaurant exists
-        restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
 
         List<MenuItem> items = menuItemRepository.findByRestaurantIdOrderBySortOrderAsc(restaurantId);
 
@@ -181,6 +196,7 @@ public class MenuService {
         item.setSpiceLevel(request.getSpiceLevel() != null ? request.getSpiceLevel() : 0);
 
         MenuItem savedItem = menuItemRepository.save(item);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return mapToItemResponse(savedItem);
     }
 
@@ -230,6 +246,7 @@ public class MenuService {
         }
 
         MenuItem savedItem = menuItemRepository.save(item);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return mapToItemResponse(savedItem);
     }
 
@@ -245,7 +262,19 @@ public class MenuService {
             throw new ResourceNotFoundException("Menu item not found");
         }
 
+        Set<UUID> removedIds = new HashSet<>();
+        collectRemovedIds(item, removedIds);
+
         menuItemRepository.delete(item);
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId, removedIds));
+    }
+
+    /**
+     * Collect the IDs of an item and its variations, which are deleted with it
+     */
+    private void collectRemovedIds(MenuItem item, Set<UUID> removedIds) {
+        removedIds.add(item.getId());
+        item.getVariations().forEach(variation -> removedIds.add(variation.getId()));
     }
 
     /**
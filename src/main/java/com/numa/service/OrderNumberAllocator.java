@@ -0,0 +1,149 @@
+package com.numa.service;
+
+import com.numa.domain.entity.OrderNumberSequence;
+import com.numa.repository.OrderNumberSequenceRepository;
+import com.numa.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out short, strictly unique order numbers per restaurant (hi/lo allocation).
+ *
+ * Each node reserves a block of numbers by advancing the restaurant's row in
+ * {@code order_number_sequences} under a row lock in its own transaction, then hands
+ * numbers out of memory with a single atomic increment. Only the thread that exhausts
+ * a block touches the database. Numbers from a block that is not used up before a
+ * restart are skipped, so numbering has gaps but never repeats.
+ */
+@Component
+public class OrderNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberAllocator.class);
+
+    private static final long FIRST_ORDER_NUMBER = 1001;
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    @Autowired
+    private OrderNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${numa.orders.number-block-size:50}")
+    private int blockSize;
+
+    private final Map<UUID, Allocation> allocations = new ConcurrentHashMap<>();
+
+    /**
+     * Allocate the next order number of a restaurant
+     */
+    public String next(UUID restaurantId) {
+        Allocation allocation = allocations.computeIfAbsent(restaurantId, id -> new Allocation());
+        while (true) {
+            Block block = allocation.current;
+            if (block != null) {
+                long number = block.take();
+                if (number >= 0) {
+                    return Long.toString(number);
+                }
+            }
+            allocation.refill(restaurantId, block);
+        }
+    }
+
+    /**
+     * Reserve a block in a fresh transaction so the row lock is held only for the reservation
+     */
+    private Block reserveBlock(UUID restaurantId) {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return newTransaction.execute(status -> {
+                    OrderNumberSequence sequence = sequenceRepository.findForUpdate(restaurantId)
+                            .orElseGet(() -> sequenceRepository.saveAndFlush(
+                                    new OrderNumberSequence(restaurantId, FIRST_ORDER_NUMBER)));
+                    long first = sequence.reserve(blockSize);
+                    return new Block(withoutUsedNumbers(restaurantId, first, first + blockSize));
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the sequence row first; lock it on the next attempt
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Skip numbers already taken by orders numbered before sequences were introduced
+     */
+    private long[] withoutUsedNumbers(UUID restaurantId, long from, long to) {
+        List<String> candidates = new ArrayList<>((int) (to - from));
+        for (long number = from; number < to; number++) {
+            candidates.add(Long.toString(number));
+        }
+        Set<String> used = new HashSet<>(orderRepository.findUsedOrderNumbers(restaurantId, candidates));
+        if (!used.isEmpty()) {
+            logger.debug("Skipping {} order numbers already used in restaurant {}", used.size(), restaurantId);
+        }
+        return candidates.stream()
+                .filter(candidate -> !used.contains(candidate))
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    /**
+     * Current block of one restaurant; refills are serialised on its monitor
+     */
+    private final class Allocation {
+
+        private volatile Block current;
+
+        synchronized void refill(UUID restaurantId, Block exhausted) {
+            if (current == exhausted) {
+                current = reserveBlock(restaurantId);
+            }
+        }
+    }
+
+    /**
+     * Reserved numbers handed out lock-free by an atomic cursor
+     */
+    private static final class Block {
+
+        private final long[] numbers;
+
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(long[] numbers) {
+            this.numbers = numbers;
+        }
+
+        long take() {
+            int index = cursor.getAndIncrement();
+            return index < numbers.length ? numbers[index] : -1;
+        }
+    }
+}
@@ -2,18 +2,21 @@ package com.numa.service;
 
 import com.numa.domain.entity.Order;
 import com.numa.domain.enums.OrderStatus;
+import com.numa.domain.enums.SessionEventType;
+import com.numa.dto.response.CursorPageResponse;
 import com.numa.dto.response.OrderResponse;
+import com.numa.event.SessionEvent;
 import com.numa.exception.ResourceNotFoundException;
 import com.numa.repository.OrderRepository;
-import com.numa.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,34 +32,38 @@ public class OrderService {
     private OrderRepository orderRepository;
 
     @Autowired
-    private RestaurantRepository restaurantRepository;
+    private TenantContextResolver tenantContextResolver;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     /**
-     * Get all orders for a restaurant with optional filtering
+     * Get a page of a restaurant's orders, newest first, with optional status filtering.
+     * Pages continue from an opaque cursor, so deep pages cost the same as the first.
      */
-    public List<OrderResponse> getOrders(UUID restaurantId, String status, int page, int size) {
+    public CursorPageResponse<OrderResponse> getOrders(UUID restaurantId, String status, String cursor, int size) {
         // Verify restaurant exists
-        restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
 
-        Pageable pageable = PageRequest.of(page, size);
+        KeysetCursor position = KeysetCursor.parse(cursor);
+        Pageable limit = PageRequest.of(0, KeysetCursor.pageSize(size) + 1);
         List<Order> orders;
 
         if (status != null && !status.isEmpty()) {
+            OrderStatus orderStatus;
             try {
-                OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-                orders = orderRepository.findByRestaurantIdAndStatusOrderByCreatedAtDesc(restaurantId, orderStatus, pageable);
+                orderStatus = OrderStatus.valueOf(status.toUpperCase());
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException("Invalid order status: " + status);
             }
+            orders = orderRepository.findPageByRestaurantAndStatusBefore(restaurantId, orderStatus,
+                    position.getTimestamp(), position.getId(), limit);
         } else {
-            Page<Order> orderPage = orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId, pageable);
-            orders = orderPage.getContent();
+            orders = orderRepository.findPageByRestaurantBefore(restaurantId,
+                    position.getTimestamp(), position.getId(), limit);
         }
 
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        return KeysetCursor.page(orders, size, Order::getCreatedAt, Order::getId, this::mapToOrderResponse);
     }
 
     /**
@@ -91,6 +98,7 @@ public class OrderService {
             OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
             order.setStatus(newStatus);
             Order savedOrder = orderRepository.save(order);
+            publishStatusChange(savedOrder);
             return mapToOrderResponse(savedOrder);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid order status: " + status);
@@ -117,9 +125,24 @@ public class OrderService {
 
         order.setStatus(OrderStatus.CANCELLED);
         Order savedOrder = orderRepository.save(order);
+        publishStatusChange(savedOrder);
         return mapToOrderResponse(savedOrder);
     }
 
+    /**
+     * Notify the dining session, if any, that an order moved to a new status
+     */
+    private void publishStatusChange(Order order) {
+        if (order.getSessionId() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new SessionEvent(order.getSessionId(), order.getRestaurant().getId(),
+                SessionEventType.ORDER_STATUS_CHANGED, Map.of(
+                        "orderId", order.getId(),
+                        "orderNumber", order.getOrderNumber(),
+                        "status", order.getStatus())));
+    }
+
     /**
      * Map Order entity to response DTO
      */
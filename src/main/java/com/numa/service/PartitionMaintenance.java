@@ -0,0 +1,143 @@
+package com.numa.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps monthly range partitions of time-partitioned tables in place.
+ *
+ * Partitions are created a few months ahead so inserts never find their month missing, and
+ * months older than the retention period are detached and dropped, which removes old history
+ * without a bulk DELETE or the vacuum work it leaves behind. Only PostgreSQL is partitioned;
+ * on other databases this does nothing.
+ */
+@Component
+public class PartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenance.class);
+
+    /**
+     * Tables partitioned by month on their event time
+     */
+    private static final List<String> PARTITIONED_TABLES = List.of("analytics_events");
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${numa.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${numa.partitions.analytics-events.retention-months:0}")
+    private int analyticsEventsRetentionMonths;
+
+    @Value("${numa.partitions.drop-detached:true}")
+    private boolean dropDetached;
+
+    private volatile Boolean supported;
+
+    /**
+     * Make sure upcoming partitions exist as soon as the application is up
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create upcoming partitions and retire expired ones
+     */
+    @Scheduled(cron = "${numa.partitions.maintenance-cron:0 15 2 * * *}")
+    public void maintain() {
+        if (!isSupported()) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                for (int offset = 0; offset <= monthsAhead; offset++) {
+                    createPartition(table, current.plusMonths(offset));
+                }
+                int retentionMonths = retentionMonths(table);
+                if (retentionMonths > 0) {
+                    retireBefore(table, current.minusMonths(retentionMonths));
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Could not maintain partitions of {}", table, e);
+            }
+        }
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month)
+                + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Detach, and unless configured otherwise drop, every partition of a month before the cutoff
+     */
+    private void retireBefore(String table, YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits "
+                        + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                        + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                        + "WHERE parent.relname = ? ORDER BY child.relname",
+                String.class, table);
+        String cutoffName = partitionName(table, cutoff);
+        String prefix = table + "_p";
+        for (String partition : partitions) {
+            // Names sort by month, so everything before the cutoff's name is older
+            if (!partition.startsWith(prefix) || partition.compareTo(cutoffName) >= 0) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (dropDetached) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped expired partition {}", partition);
+            } else {
+                logger.info("Detached expired partition {}", partition);
+            }
+        }
+    }
+
+    private int retentionMonths(String table) {
+        return "analytics_events".equals(table) ? analyticsEventsRetentionMonths : 0;
+    }
+
+    private boolean isSupported() {
+        if (supported == null) {
+            try {
+                supported = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                        "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            } catch (DataAccessException e) {
+                logger.warn("Could not determine the database product, skipping partition maintenance", e);
+                return false;
+            }
+        }
+        return Boolean.TRUE.equals(supported);
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX_FORMAT);
+    }
+}
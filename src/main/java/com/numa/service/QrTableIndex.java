@@ -0,0 +1,200 @@
+package com.numa.service;
+
+import com.numa.cache.CacheInvalidatedEvent;
+import com.numa.datasource.ReadRouting;
+import com.numa.event.TableChangedEvent;
+import com.numa.event.TableStatusChangedEvent;
+import com.numa.repository.RestaurantTableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index from QR code to table, so resolving a guest scan needs no database round trip.
+ * Warmed with every table at startup and kept coherent by table change events after commit,
+ * and by the cache invalidation broadcast for changes made on other nodes;
+ * a miss falls back to the database once and caches the result, unless the index changed
+ * while it was loading, since the loaded row may then predate that change.
+ */
+@Component
+public class QrTableIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(QrTableIndex.class);
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    private final Map<String, TableDescriptor> byQrCode = new ConcurrentHashMap<>();
+
+    private final Map<UUID, String> qrCodeByTableId = new ConcurrentHashMap<>();
+
+    // Bumped by every change to the index, guarded by this
+    private long changeCount;
+
+    /**
+     * Load every table into the index; on failure the index fills lazily from misses instead
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            List<TableDescriptor> tables = readFromPrimary(status ->
+                    tableRepository.findAllWithRestaurantAndQrCode().stream()
+                            .map(TableDescriptor::of)
+                            .toList());
+            tables.forEach(this::put);
+            logger.info("Indexed {} table QR codes", tables.size());
+        } catch (DataAccessException e) {
+            logger.warn("Could not warm QR table index, tables will be loaded on first scan", e);
+        }
+    }
+
+    /**
+     * Resolve a QR code to its table
+     */
+    public Optional<TableDescriptor> resolve(String qrCode) {
+        if (qrCode == null) {
+            return Optional.empty();
+        }
+        TableDescriptor descriptor = byQrCode.get(qrCode);
+        if (descriptor != null) {
+            return Optional.of(descriptor);
+        }
+        long changesBeforeLoad = getChangeCount();
+        Optional<TableDescriptor> loaded = readFromPrimary(status ->
+                tableRepository.findWithRestaurantByQrCode(qrCode).map(TableDescriptor::of));
+        loaded.ifPresent(table -> putIfUnchangedSince(table, changesBeforeLoad));
+        return loaded;
+    }
+
+    /**
+     * Reload a table after it was created, edited, deleted or given a new QR code
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        // The originating transaction has already committed, so read in a fresh one
+        TransactionTemplate freshTransaction = readOnlyTransaction();
+        freshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Optional<TableDescriptor> reloaded = readRouting.onPrimary(() -> freshTransaction.execute(status ->
+                tableRepository.findWithRestaurantById(event.getTableId()).map(TableDescriptor::of)));
+        if (reloaded.isPresent() && reloaded.get().getQrCode() != null) {
+            put(reloaded.get());
+        } else {
+            remove(event.getTableId());
+        }
+    }
+
+    /**
+     * Keep the indexed status in step with the table
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        synchronized (this) {
+            String qrCode = qrCodeByTableId.get(event.getTableId());
+            if (qrCode != null) {
+                byQrCode.computeIfPresent(qrCode, (code, descriptor) -> descriptor.withStatus(event.getStatus()));
+            }
+            changeCount++;
+        }
+    }
+
+    /**
+     * Reload all tables of a restaurant after they changed on another node
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidatedEvent event) {
+        if (!CacheEvictionListener.TABLES_CACHE.equals(event.getCacheName())) {
+            return;
+        }
+        if (event.getRestaurantId() == null) {
+            warm();
+            return;
+        }
+        List<TableDescriptor> tables = readFromPrimary(status ->
+                tableRepository.findWithRestaurantByRestaurantId(event.getRestaurantId()).stream()
+                        .map(TableDescriptor::of)
+                        .toList());
+        synchronized (this) {
+            qrCodeByTableId.keySet().stream()
+                    .filter(tableId -> {
+                        String qrCode = qrCodeByTableId.get(tableId);
+                        TableDescriptor descriptor = qrCode != null ? byQrCode.get(qrCode) : null;
+                        return descriptor != null && descriptor.getRestaurantId().equals(event.getRestaurantId());
+                    })
+                    .toList()
+                    .forEach(this::remove);
+            tables.stream().filter(table -> table.getQrCode() != null).forEach(this::put);
+        }
+    }
+
+    /**
+     * Number of indexed tables
+     */
+    public int size() {
+        return byQrCode.size();
+    }
+
+    private synchronized long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Cache a table loaded on a miss, unless a change landed while it was being read
+     */
+    private synchronized void putIfUnchangedSince(TableDescriptor descriptor, long changesBeforeLoad) {
+        if (changeCount == changesBeforeLoad) {
+            put(descriptor);
+        }
+    }
+
+    private synchronized void put(TableDescriptor descriptor) {
+        changeCount++;
+        String previousQrCode = qrCodeByTableId.put(descriptor.getId(), descriptor.getQrCode());
+        if (previousQrCode != null && !previousQrCode.equals(descriptor.getQrCode())) {
+            byQrCode.remove(previousQrCode);
+        }
+        byQrCode.put(descriptor.getQrCode(), descriptor);
+    }
+
+    private synchronized void remove(UUID tableId) {
+        changeCount++;
+        String qrCode = qrCodeByTableId.remove(tableId);
+        if (qrCode != null) {
+            byQrCode.remove(qrCode);
+        }
+    }
+
+    /**
+     * Read on the primary, since a table read from a lagging replica would stay indexed until its next change
+     */
+    private <T> T readFromPrimary(TransactionCallback<T> action) {
+        return readRouting.onPrimary(() -> readOnlyTransaction().execute(action));
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
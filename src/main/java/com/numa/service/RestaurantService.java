@@ -7,12 +7,16 @@ import com.numa.domain.enums.UserRole;
 import com.numa.dto.request.RestaurantRegistrationRequest;
 import com.numa.dto.request.RestaurantUpdateRequest;
 import com.numa.dto.response.RestaurantResponse;
+import com.numa.event.MenuChangedEvent;
+import com.numa.event.RestaurantChangedEvent;
 import com.numa.exception.ResourceNotFoundException;
 import com.numa.exception.ValidationException;
 import com.numa.mapper.RestaurantMapper;
 import com.numa.repository.RestaurantRepository;
 import com.numa.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +39,9 @@ public class RestaurantService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private TenantContextResolver tenantContextResolver;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -47,6 +54,9 @@ public class RestaurantService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Register a new restaurant with owner account
      */
@@ -96,7 +106,9 @@ public class RestaurantService {
     /**
      * Get restaurant by ID
      */
-    @Transactional(readOnly = true)
+    // Cached for every node, so read the primary rather than a replica that may lag behind
+    @Transactional
+    @Cacheable(cacheNames = "restaurants", key = "T(com.numa.cache.TenantCacheKey).of(#restaurantId, 'profile')")
     public RestaurantResponse getRestaurant(UUID restaurantId) {
         Restaurant restaurant = findRestaurantById(restaurantId);
         return restaurantMapper.toResponse(restaurant);
@@ -183,6 +195,8 @@ public class RestaurantService {
         }
 
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return restaurantMapper.toResponse(restaurant);
     }
 
@@ -193,6 +207,8 @@ public class RestaurantService {
         Restaurant restaurant = findRestaurantById(restaurantId);
         restaurant.setStatus(RestaurantStatus.ACTIVE);
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return restaurantMapper.toResponse(restaurant);
     }
 
@@ -203,6 +219,8 @@ public class RestaurantService {
         Restaurant restaurant = findRestaurantById(restaurantId);
         restaurant.setStatus(RestaurantStatus.INACTIVE);
         restaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         return restaurantMapper.toResponse(restaurant);
     }
 
@@ -251,8 +269,7 @@ public class RestaurantService {
      */
     @Transactional(readOnly = true)
     public boolean canAcceptOrders(UUID restaurantId) {
-        Restaurant restaurant = findRestaurantById(restaurantId);
-        return restaurant.canAcceptOrders();
+        return tenantContextResolver.get(restaurantId).canAcceptOrders();
     }
 
     /**
@@ -0,0 +1,139 @@
+package com.numa.service;
+
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.enums.RestaurantStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the restaurant settings that request handling depends on:
+ * identity, status, pricing rates, currency, timezone and accepted order types.
+ * Held in {@link TenantContextResolver}; never attached to a persistence context.
+ */
+public final class RestaurantSnapshot {
+
+    private final UUID id;
+    private final String slug;
+    private final String name;
+    private final RestaurantStatus status;
+    private final BigDecimal taxRate;
+    private final BigDecimal serviceChargeRate;
+    private final BigDecimal deliveryFee;
+    private final BigDecimal minimumOrderAmount;
+    private final String currencyCode;
+    private final String timezone;
+    private final boolean dineInEnabled;
+    private final boolean takeawayEnabled;
+    private final boolean deliveryEnabled;
+    private final long version;
+
+    private RestaurantSnapshot(UUID id, String slug, String name, RestaurantStatus status, BigDecimal taxRate,
+                               BigDecimal serviceChargeRate, BigDecimal deliveryFee, BigDecimal minimumOrderAmount,
+                               String currencyCode, String timezone, boolean dineInEnabled, boolean takeawayEnabled,
+                               boolean deliveryEnabled, long version) {
+        this.id = id;
+        this.slug = slug;
+        this.name = name;
+        this.status = status;
+        this.taxRate = taxRate;
+        this.serviceChargeRate = serviceChargeRate;
+        this.deliveryFee = deliveryFee;
+        this.minimumOrderAmount = minimumOrderAmount;
+        this.currencyCode = currencyCode;
+        this.timezone = timezone;
+        this.dineInEnabled = dineInEnabled;
+        this.takeawayEnabled = takeawayEnabled;
+        this.deliveryEnabled = deliveryEnabled;
+        this.version = version;
+    }
+
+    /**
+     * Snapshot a restaurant at the given settings version
+     */
+    public static RestaurantSnapshot of(Restaurant restaurant, long version) {
+        return new RestaurantSnapshot(
+                restaurant.getId(),
+                restaurant.getSlug(),
+                restaurant.getName(),
+                restaurant.getStatus(),
+                restaurant.getTaxRate(),
+                restaurant.getServiceChargeRate(),
+                restaurant.getDeliveryFee(),
+                restaurant.getMinimumOrderAmount(),
+                restaurant.getCurrencyCode(),
+                restaurant.getTimezone(),
+                Boolean.TRUE.equals(restaurant.getDineInEnabled()),
+                Boolean.TRUE.equals(restaurant.getTakeawayEnabled()),
+                Boolean.TRUE.equals(restaurant.getDeliveryEnabled()),
+                version
+        );
+    }
+
+    public boolean isActive() {
+        return status == RestaurantStatus.ACTIVE;
+    }
+
+    public boolean canAcceptOrders() {
+        return isActive() && (dineInEnabled || takeawayEnabled || deliveryEnabled);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RestaurantStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTaxRate() {
+        return taxRate;
+    }
+
+    public BigDecimal getServiceChargeRate() {
+        return serviceChargeRate;
+    }
+
+    public BigDecimal getDeliveryFee() {
+        return deliveryFee;
+    }
+
+    public BigDecimal getMinimumOrderAmount() {
+        return minimumOrderAmount;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public boolean isDineInEnabled() {
+        return dineInEnabled;
+    }
+
+    public boolean isTakeawayEnabled() {
+        return takeawayEnabled;
+    }
+
+    public boolean isDeliveryEnabled() {
+        return deliveryEnabled;
+    }
+
+    /**
+     * Settings version this snapshot was taken at; advances on every committed settings change
+     */
+    public long getVersion() {
+        return version;
+    }
+}
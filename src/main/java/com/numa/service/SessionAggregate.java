@@ -0,0 +1,44 @@
+package com.numa.service;
+
+import com.numa.dto.response.GuestDiningSessionDTO;
+import com.numa.dto.response.GuestOrderResponse;
+import com.numa.dto.response.GuestSessionGuestDTO;
+import com.numa.dto.response.GuestTableResponse;
+
+import java.util.List;
+
+/**
+ * Read model for a dining session with its table, guests and orders, selected as projections.
+ * Only submitted orders are included; the cart lives in {@link GuestCartStore}.
+ */
+public class SessionAggregate {
+
+    private final GuestDiningSessionDTO session;
+    private final GuestTableResponse table;
+    private final List<GuestSessionGuestDTO> guests;
+    private final List<GuestOrderResponse> orders;
+
+    public SessionAggregate(GuestDiningSessionDTO session, GuestTableResponse table,
+                            List<GuestSessionGuestDTO> guests, List<GuestOrderResponse> orders) {
+        this.session = session;
+        this.table = table;
+        this.guests = List.copyOf(guests);
+        this.orders = List.copyOf(orders);
+    }
+
+    public GuestDiningSessionDTO getSession() {
+        return session;
+    }
+
+    public GuestTableResponse getTable() {
+        return table;
+    }
+
+    public List<GuestSessionGuestDTO> getGuests() {
+        return guests;
+    }
+
+    public List<GuestOrderResponse> getOrders() {
+        return orders;
+    }
+}
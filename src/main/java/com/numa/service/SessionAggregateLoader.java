@@ -0,0 +1,88 @@
+package com.numa.service;
+
+import com.numa.config.QueryCountInspector;
+import com.numa.dto.response.GuestDiningSessionDTO;
+import com.numa.dto.response.GuestOrderResponse;
+import com.numa.dto.response.GuestSessionGuestDTO;
+import com.numa.dto.response.GuestTableResponse;
+import com.numa.exception.ResourceNotFoundException;
+import com.numa.repository.DiningSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Loads {@link SessionAggregate}s in two queries: the session with its table and guests,
+ * then its submitted orders. Rows grow with guests plus orders rather than their product.
+ * Logs a warning if a load ever issues more SELECTs than that.
+ */
+@Component
+@Transactional(readOnly = true)
+public class SessionAggregateLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionAggregateLoader.class);
+
+    static final int MAX_SELECTS_PER_LOAD = 2;
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    /**
+     * Load session aggregate by session ID
+     */
+    public SessionAggregate load(UUID sessionId) {
+        return loadCounted(() -> sessionRepository.findGuestSessionRows(sessionId),
+                "Session not found: " + sessionId);
+    }
+
+    /**
+     * Load session aggregate by session code
+     */
+    public SessionAggregate loadByCode(String sessionCode) {
+        return loadCounted(() -> sessionRepository.findGuestSessionRowsByCode(sessionCode),
+                "Session not found with code: " + sessionCode);
+    }
+
+    private SessionAggregate loadCounted(Supplier<List<Object[]>> query, String notFoundMessage) {
+        long selectsBefore = QueryCountInspector.getSelectCount();
+        List<Object[]> rows = query.get();
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        GuestDiningSessionDTO session = (GuestDiningSessionDTO) rows.get(0)[0];
+        GuestTableResponse table = (GuestTableResponse) rows.get(0)[1];
+        List<GuestOrderResponse> orders = sessionRepository.findGuestSessionOrders(session.getId());
+        SessionAggregate aggregate = new SessionAggregate(session, table, distinctGuests(rows), orders);
+
+        long selects = QueryCountInspector.getSelectCount() - selectsBefore;
+        if (selects > MAX_SELECTS_PER_LOAD) {
+            logger.warn("Session aggregate load for {} issued {} selects, expected at most {}",
+                    session.getId(), selects, MAX_SELECTS_PER_LOAD);
+        }
+        return aggregate;
+    }
+
+    /**
+     * Collect the guests of the (session, table, guest) rows, already in join order.
+     * A session without guests comes back as one row with an empty guest projection.
+     */
+    private List<GuestSessionGuestDTO> distinctGuests(List<Object[]> rows) {
+        Map<UUID, GuestSessionGuestDTO> guests = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            GuestSessionGuestDTO guest = (GuestSessionGuestDTO) row[2];
+            if (guest != null && guest.getId() != null) {
+                guests.putIfAbsent(guest.getId(), guest);
+            }
+        }
+        return new ArrayList<>(guests.values());
+    }
+}
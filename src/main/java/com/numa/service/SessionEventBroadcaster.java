@@ -0,0 +1,155 @@
+package com.numa.service;
+
+import com.numa.domain.enums.SessionEventType;
+import com.numa.event.SessionEvent;
+import com.numa.event.TableStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed session and table events to clients connected over Server-Sent Events.
+ * Guests subscribe to one {@link EventStream} per dining session; staff dashboards subscribe
+ * to one per restaurant, which carries every session, order, table and waiter event of that tenant.
+ * Streams are created on first subscribe and dropped once nobody has listened for a while.
+ *
+ * Events are numbered and queued on the committing thread, so IDs follow commit order;
+ * the writes to clients happen on a small sender pool.
+ */
+@Component
+public class SessionEventBroadcaster {
+
+    /**
+     * Event name for table status changes on restaurant streams
+     */
+    public static final String TABLE_STATUS_CHANGED_EVENT = "TABLE_STATUS_CHANGED";
+
+    @Value("${numa.events.replay-size:200}")
+    private int replaySize;
+
+    @Value("${numa.events.restaurant-replay-size:1000}")
+    private int restaurantReplaySize;
+
+    @Value("${numa.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${numa.events.idle-stream-ttl-minutes:10}")
+    private long idleStreamTtlMinutes;
+
+    @Value("${numa.events.send-buffer-size:256}")
+    private int sendBufferSize;
+
+    private final ExecutorService sender;
+
+    private final Map<UUID, EventStream> sessionStreams = new ConcurrentHashMap<>();
+
+    private final Map<UUID, EventStream> restaurantStreams = new ConcurrentHashMap<>();
+
+    public SessionEventBroadcaster(@Value("${numa.events.sender-threads:8}") int senderThreads) {
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("sse-sender-"));
+    }
+
+    /**
+     * Open an event stream for a dining session, resuming after the given event ID
+     */
+    public SseEmitter subscribe(UUID sessionId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        sessionStreams.computeIfAbsent(sessionId, id -> new EventStream(replaySize, sendBufferSize, sender))
+                .subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Open the staff event stream for a restaurant, resuming after the given event ID
+     */
+    public SseEmitter subscribeRestaurant(UUID restaurantId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        restaurantStreams.computeIfAbsent(restaurantId, id -> new EventStream(restaurantReplaySize, sendBufferSize, sender))
+                .subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Queue a committed session event for its subscribers
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionEvent(SessionEvent event) {
+        Map<String, Object> payload = toPayload(event);
+
+        if (event.getRestaurantId() != null) {
+            EventStream restaurantStream = restaurantStreams.get(event.getRestaurantId());
+            if (restaurantStream != null) {
+                restaurantStream.publish(event.getType().name(), payload);
+            }
+        }
+
+        EventStream stream = sessionStreams.get(event.getSessionId());
+        if (stream == null) {
+            return;
+        }
+        stream.publish(event.getType().name(), payload);
+        if (event.getType() == SessionEventType.SESSION_ENDED) {
+            sessionStreams.remove(event.getSessionId(), stream);
+            stream.complete();
+        }
+    }
+
+    /**
+     * Queue a committed table status change for staff of the restaurant
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        EventStream stream = restaurantStreams.get(event.getRestaurantId());
+        if (stream == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", TABLE_STATUS_CHANGED_EVENT);
+        payload.put("tableId", event.getTableId());
+        payload.put("tableNumber", event.getTableNumber());
+        payload.put("status", event.getStatus());
+        payload.put("occurredAt", event.getOccurredAt());
+        stream.publish(TABLE_STATUS_CHANGED_EVENT, payload);
+    }
+
+    /**
+     * Keep connections alive and drop streams nobody has listened to for a while
+     */
+    @Scheduled(fixedDelayString = "${numa.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleStreamTtlMinutes);
+        for (Map<UUID, EventStream> streams : List.of(sessionStreams, restaurantStreams)) {
+            streams.values().forEach(EventStream::heartbeat);
+            streams.values().removeIf(stream ->
+                    stream.getSubscriberCount() == 0 && stream.getLastActivityNanos() - cutoff < 0);
+        }
+    }
+
+    @PreDestroy
+    void shutdownSender() {
+        sender.shutdownNow();
+    }
+
+    private Map<String, Object> toPayload(SessionEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.getType());
+        payload.put("sessionId", event.getSessionId());
+        payload.put("occurredAt", event.getOccurredAt());
+        payload.putAll(event.getData());
+        return payload;
+    }
+}
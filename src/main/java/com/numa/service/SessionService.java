@@ -1,33 +1,46 @@
 package com.numa.service;
 
+import com.numa.analytics.LiveMetricsRegistry;
 import com.numa.dto.response.ActiveSessionResponse;
+import com.numa.dto.response.CursorPageResponse;
+import com.numa.dto.response.LiveMetricsResponse;
 import com.numa.dto.response.SessionHistoryResponse;
 import com.numa.dto.response.SessionAnalyticsResponse;
+import com.numa.domain.entity.DailyRestaurantStats;
 import com.numa.domain.entity.DiningSession;
-import com.numa.domain.entity.SessionGuest;
-import com.numa.domain.entity.Order;
-import com.numa.domain.entity.OrderItem;
 import com.numa.domain.entity.RestaurantTable;
 import com.numa.domain.enums.SessionStatus;
-import com.numa.domain.enums.OrderStatus;
+import com.numa.domain.enums.SessionEventType;
+import com.numa.repository.DailyRestaurantStatsRepository;
 import com.numa.repository.DiningSessionRepository;
-import com.numa.repository.SessionGuestRepository;
-import com.numa.repository.OrderRepository;
-import com.numa.repository.OrderItemRepository;
 import com.numa.repository.RestaurantTableRepository;
+import com.numa.event.SessionEvent;
+import com.numa.event.TableStatusChangedEvent;
 import com.numa.exception.ResourceNotFoundException;
+import com.numa.exception.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -41,35 +54,59 @@ public class SessionService {
     private DiningSessionRepository sessionRepository;
     
     @Autowired
-    private SessionGuestRepository sessionGuestRepository;
-    
+    private RestaurantTableRepository tableRepository;
+
     @Autowired
-    private OrderRepository orderRepository;
-    
+    private GuestCartStore guestCartStore;
+
     @Autowired
-    private OrderItemRepository orderItemRepository;
-    
+    private ActiveSessionLoader activeSessionLoader;
+
     @Autowired
-    private RestaurantTableRepository tableRepository;
+    private SessionEventBroadcaster sessionEventBroadcaster;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DailyRestaurantStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private DailyStatsRollup dailyStatsRollup;
+
+    @Autowired
+    private LiveMetricsRegistry liveMetricsRegistry;
+
+    @Value("${numa.analytics.rollup.max-backfill-days:366}")
+    private int maxBackfillDays;
 
     /**
      * Get active sessions for a restaurant
      */
     @Transactional(readOnly = true)
     public List<ActiveSessionResponse> getActiveSessions(UUID restaurantId) {
-        List<DiningSession> sessions = sessionRepository.findActiveSessionsByRestaurant(restaurantId);
-        return sessions.stream()
-                .map(this::convertToActiveSessionResponse)
-                .collect(Collectors.toList());
+        List<DiningSession> sessions = sessionRepository.findActiveSessionsWithTableByRestaurant(restaurantId);
+        return activeSessionLoader.load(sessions);
     }
 
     /**
-     * Get session history for a restaurant
+     * Open the live staff event stream for a restaurant, resuming after the given event ID
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamRestaurantEvents(UUID restaurantId, String lastEventId) {
+        return sessionEventBroadcaster.subscribeRestaurant(restaurantId, lastEventId);
+    }
+
+    /**
+     * Get a page of session history for a restaurant, newest first, continuing from an opaque cursor
      */
     @Transactional(readOnly = true)
-    public Page<SessionHistoryResponse> getSessionHistory(UUID restaurantId, Pageable pageable) {
-        Page<DiningSession> sessions = sessionRepository.findByRestaurantIdOrderByStartedAtDesc(restaurantId, pageable);
-        return sessions.map(this::convertToSessionHistoryResponse);
+    public CursorPageResponse<SessionHistoryResponse> getSessionHistory(UUID restaurantId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.parse(cursor);
+        List<SessionHistoryResponse> sessions = sessionRepository.findHistoryPageByRestaurantBefore(restaurantId,
+                position.getTimestamp(), position.getId(), PageRequest.of(0, KeysetCursor.pageSize(size) + 1));
+        return KeysetCursor.page(sessions, size, SessionHistoryResponse::getStartedAt,
+                SessionHistoryResponse::getSessionId, Function.identity());
     }
 
     /**
@@ -92,215 +129,115 @@ public class SessionService {
         table.makeAvailable();
         tableRepository.save(table);
         
-        return convertToActiveSessionResponse(session);
+        // Unsubmitted cart lines die with the session
+        int abandonedCartLines = guestCartStore.discard(sessionId);
+        
+        eventPublisher.publishEvent(new SessionEvent(sessionId, session.getRestaurant().getId(),
+                SessionEventType.SESSION_ENDED, Map.of(
+                        "endedAt", session.getEndedAt(),
+                        "abandonedCartLines", abandonedCartLines)));
+        eventPublisher.publishEvent(new TableStatusChangedEvent(session.getRestaurant().getId(),
+                table.getId(), table.getTableNumber(), table.getStatus()));
+        
+        return activeSessionLoader.load(session);
     }
 
     /**
-     * Get session details with orders
+     * Acknowledge a waiter call
      */
-    @Transactional(readOnly = true)
-    public ActiveSessionResponse getSessionDetails(UUID sessionId) {
+    public ActiveSessionResponse acknowledgeWaiterCall(UUID sessionId) {
         DiningSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
         
-        return convertToActiveSessionResponse(session);
-    }
-
-    /**
-     * Convert DiningSession to ActiveSessionResponse
-     */
-    private ActiveSessionResponse convertToActiveSessionResponse(DiningSession session) {
-        // Get session guests
-        List<SessionGuest> guests = sessionGuestRepository.findBySessionIdOrderByJoinedAtAsc(session.getId());
-        List<ActiveSessionResponse.SessionGuestInfo> guestInfos = guests.stream()
-                .map(this::convertToSessionGuestInfo)
-                .collect(Collectors.toList());
-        
-        // Get orders
-        List<Order> orders = orderRepository.findBySessionIdAndStatusNot(session.getId(), OrderStatus.PENDING);
-        List<ActiveSessionResponse.OrderSummary> orderSummaries = orders.stream()
-                .map(this::convertToOrderSummary)
-                .collect(Collectors.toList());
-        
-        // Get cart items (pending orders)
-        List<Order> cartItems = orderRepository.findBySessionIdAndStatus(session.getId(), OrderStatus.PENDING);
-        List<ActiveSessionResponse.OrderSummary> cartItemSummaries = cartItems.stream()
-                .map(this::convertToOrderSummary)
-                .collect(Collectors.toList());
+        if (!session.hasWaiterRequest()) {
+            throw new IllegalStateException("No pending waiter call for this session");
+        }
         
-        // Calculate last activity time
-        LocalDateTime lastActivityAt = guests.stream()
-                .map(SessionGuest::getLastActivityAt)
-                .max(LocalDateTime::compareTo)
-                .orElse(session.getStartedAt());
+        session.waiterResponded();
+        sessionRepository.save(session);
         
-        return new ActiveSessionResponse(
-                session.getId(),
-                session.getSessionCode(),
-                session.getStatus(),
-                session.getTable().getTableNumber(),
-                session.getTable().getLocationDescription(),
-                session.getGuestCount(),
-                session.getHostName(),
-                session.getHostPhone(),
-                session.getSpecialRequests(),
-                session.getTotalAmount(),
-                session.getTipAmount(),
-                session.getPaymentStatus(),
-                session.getWaiterCalled(),
-                session.getWaiterCallTime(),
-                session.getWaiterResponseTime(),
-                session.getStartedAt(),
-                lastActivityAt,
-                guestInfos,
-                orderSummaries,
-                cartItemSummaries,
-                session.getCreatedAt(),
-                session.getUpdatedAt()
-        );
-    }
-
-    /**
-     * Convert SessionGuest to SessionGuestInfo
-     */
-    private ActiveSessionResponse.SessionGuestInfo convertToSessionGuestInfo(SessionGuest guest) {
-        return new ActiveSessionResponse.SessionGuestInfo(
-                guest.getId(),
-                guest.getGuestName(),
-                guest.getGuestPhone(),
-                guest.getIsHost(),
-                guest.getJoinedAt(),
-                guest.getLastActivityAt()
-        );
-    }
-
-    /**
-     * Convert Order to OrderSummary
-     */
-    private ActiveSessionResponse.OrderSummary convertToOrderSummary(Order order) {
-        List<OrderItem> items = orderItemRepository.findByOrderIdOrderByCreatedAtAsc(order.getId());
-        List<ActiveSessionResponse.OrderItemSummary> itemSummaries = items.stream()
-                .map(this::convertToOrderItemSummary)
-                .collect(Collectors.toList());
+        eventPublisher.publishEvent(new SessionEvent(sessionId, session.getRestaurant().getId(),
+                SessionEventType.WAITER_ACKNOWLEDGED, Map.of("waiterResponseTime", session.getWaiterResponseTime())));
         
-        return new ActiveSessionResponse.OrderSummary(
-                order.getId(),
-                order.getCustomerName(),
-                order.getStatus(),
-                order.getTotalAmount(),
-                order.getCreatedAt(),
-                itemSummaries
-        );
-    }
-
-    /**
-     * Convert OrderItem to OrderItemSummary
-     */
-    private ActiveSessionResponse.OrderItemSummary convertToOrderItemSummary(OrderItem item) {
-        return new ActiveSessionResponse.OrderItemSummary(
-                item.getId(),
-                item.getMenuItem().getName(),
-                item.getQuantity(),
-                item.getUnitPrice(),
-                item.getTotalPrice(),
-                item.getSpecialInstructions()
-        );
+        return activeSessionLoader.load(session);
     }
 
     /**
-     * Convert DiningSession to SessionHistoryResponse
+     * Get session details with orders
      */
-    private SessionHistoryResponse convertToSessionHistoryResponse(DiningSession session) {
-        // Calculate duration
-        Long durationMinutes = null;
-        if (session.getEndedAt() != null) {
-            durationMinutes = Duration.between(session.getStartedAt(), session.getEndedAt()).toMinutes();
-        }
-        
-        // Get order statistics
-        List<Order> allOrders = orderRepository.findBySessionIdAndStatusNot(session.getId(), OrderStatus.PENDING);
-        Integer totalOrders = allOrders.size();
-        BigDecimal averageOrderValue = totalOrders > 0 ? 
-                session.getTotalAmount().divide(BigDecimal.valueOf(totalOrders), 2, java.math.RoundingMode.HALF_UP) : 
-                BigDecimal.ZERO;
+    @Transactional(readOnly = true)
+    public ActiveSessionResponse getSessionDetails(UUID sessionId) {
+        DiningSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found: " + sessionId));
         
-        return new SessionHistoryResponse(
-                session.getId(),
-                session.getSessionCode(),
-                session.getStatus(),
-                session.getTable().getTableNumber(),
-                session.getTable().getLocationDescription(),
-                session.getGuestCount(),
-                session.getHostName(),
-                session.getHostPhone(),
-                session.getTotalAmount(),
-                session.getTipAmount(),
-                session.getPaymentStatus(),
-                session.getStartedAt(),
-                session.getEndedAt(),
-                durationMinutes,
-                totalOrders,
-                averageOrderValue,
-                session.getCreatedAt(),
-                session.getUpdatedAt()
-        );
+        return activeSessionLoader.load(session);
     }
 
     /**
-     * Get session analytics for a restaurant
+     * Get session analytics for a restaurant.
+     * Reads the daily rollups maintained by {@link DailyStatsRollup}, so cost grows with days, not sessions.
+     * Rollups are per calendar day, so a range of N days covers the N whole days ending today and the
+     * reported start date is midnight of the first of them.
      */
     @Transactional(readOnly = true)
     public SessionAnalyticsResponse getSessionAnalytics(UUID restaurantId, String timeRange) {
         LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = calculateStartDate(timeRange, endDate);
+        LocalDateTime startDate = calculateStartDate(timeRange, endDate).toLocalDate().plusDays(1).atStartOfDay();
+        
+        // Current state, not bound to the time range
+        Map<SessionStatus, Long> statusCounts = new EnumMap<>(SessionStatus.class);
+        for (Object[] row : sessionRepository.countByRestaurantIdAndStatusIn(restaurantId,
+                EnumSet.of(SessionStatus.ACTIVE, SessionStatus.COMPLETED))) {
+            statusCounts.put((SessionStatus) row[0], (Long) row[1]);
+        }
+        Long activeSessions = statusCounts.getOrDefault(SessionStatus.ACTIVE, 0L);
+        Long completedSessions = statusCounts.getOrDefault(SessionStatus.COMPLETED, 0L);
         
-        // Get basic metrics
-        Long totalSessions = sessionRepository.countByRestaurantIdAndStartedAtBetween(restaurantId, startDate, endDate);
-        Long activeSessions = sessionRepository.countByRestaurantIdAndStatus(restaurantId, SessionStatus.ACTIVE);
-        Long completedSessions = sessionRepository.countByRestaurantIdAndStatus(restaurantId, SessionStatus.COMPLETED);
+        // Everything else is summed over the daily rollups, one row per day in the range
+        List<DailyRestaurantStats> days = dailyStatsRepository.findByRestaurantIdAndDateBetweenOrderByDateDesc(
+                restaurantId, startDate.toLocalDate(), endDate.toLocalDate());
         
-        // Get revenue and guest metrics
-        List<Object[]> revenueStats = sessionRepository.getRevenueStats(restaurantId, startDate, endDate);
-        BigDecimal totalRevenue = revenueStats.isEmpty() ? BigDecimal.ZERO : 
-            revenueStats.get(0)[0] != null ? BigDecimal.valueOf(((Number) revenueStats.get(0)[0]).doubleValue()) : BigDecimal.ZERO;
-        BigDecimal averageOrderValue = revenueStats.isEmpty() ? BigDecimal.ZERO : 
-            revenueStats.get(0)[1] != null ? BigDecimal.valueOf(((Number) revenueStats.get(0)[1]).doubleValue()) : BigDecimal.ZERO;
+        long totalSessions = 0;
+        long endedSessions = 0;
+        long totalSessionMinutes = 0;
+        int totalGuests = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        Map<Integer, long[]> hourlyTotals = new TreeMap<>();
+        List<SessionAnalyticsResponse.DailyStats> dailyStats = new ArrayList<>(days.size());
         
-        List<Object[]> guestStats = sessionRepository.getGuestStats(restaurantId, startDate, endDate);
-        Integer totalGuests = guestStats.isEmpty() ? 0 : 
-            guestStats.get(0)[0] != null ? ((Number) guestStats.get(0)[0]).intValue() : 0;
-        Double averageGuestsPerSession = guestStats.isEmpty() ? 0.0 : 
-            guestStats.get(0)[1] != null ? ((Number) guestStats.get(0)[1]).doubleValue() : 0.0;
+        for (DailyRestaurantStats day : days) {
+            totalSessions += day.getTotalSessions();
+            endedSessions += day.getCompletedSessions();
+            totalSessionMinutes += day.getTotalSessionMinutes();
+            totalGuests += day.getTotalGuests();
+            totalRevenue = totalRevenue.add(day.getTotalRevenue());
+            if (day.getPeakHours() != null) {
+                day.getPeakHours().forEach((hour, counts) -> {
+                    long[] totals = hourlyTotals.computeIfAbsent(Integer.parseInt(hour), h -> new long[2]);
+                    totals[0] += counts.getOrDefault("sessions", 0L);
+                    totals[1] += counts.getOrDefault("guests", 0L);
+                });
+            }
+            
+            long sessions = day.getTotalSessions();
+            Integer averageGuests = sessions > 0 ? (int) (day.getTotalGuests() / sessions) : 0;
+            Double avgOrderValue = sessions > 0 ? day.getTotalRevenue().divide(BigDecimal.valueOf(sessions), 2, RoundingMode.HALF_UP).doubleValue() : 0.0;
+            dailyStats.add(new SessionAnalyticsResponse.DailyStats(day.getDate().format(DateTimeFormatter.ISO_LOCAL_DATE),
+                    sessions, day.getTotalRevenue(), averageGuests, avgOrderValue));
+        }
         
-        // Get average session duration
-        List<Object[]> durationStats = sessionRepository.getDurationStats(restaurantId, startDate, endDate);
-        Integer averageSessionDurationMinutes = durationStats.isEmpty() ? 0 : 
-            durationStats.get(0)[0] != null ? ((Number) durationStats.get(0)[0]).intValue() : 0;
+        BigDecimal averageOrderValue = totalSessions > 0 ? totalRevenue.divide(BigDecimal.valueOf(totalSessions), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        Double averageGuestsPerSession = totalSessions > 0 ? (double) totalGuests / totalSessions : 0.0;
+        Integer averageSessionDurationMinutes = endedSessions > 0 ? (int) (totalSessionMinutes / endedSessions) : 0;
         
-        // Get hourly stats
-        List<Object[]> hourlyData = sessionRepository.getHourlySessionStats(restaurantId, startDate, endDate);
-        List<SessionAnalyticsResponse.HourlyStats> peakHours = hourlyData.stream()
-                .map(row -> new SessionAnalyticsResponse.HourlyStats(
-                        ((Number) row[0]).intValue(),
-                        ((Number) row[1]).longValue(),
-                        ((Number) row[2]).doubleValue()
+        List<SessionAnalyticsResponse.HourlyStats> peakHours = hourlyTotals.entrySet().stream()
+                .map(entry -> new SessionAnalyticsResponse.HourlyStats(
+                        entry.getKey(),
+                        entry.getValue()[0],
+                        entry.getValue()[0] > 0 ? (double) entry.getValue()[1] / entry.getValue()[0] : 0.0
                 ))
                 .collect(Collectors.toList());
         
-        // Get daily stats
-        List<Object[]> dailyData = sessionRepository.getDailySessionStats(restaurantId, startDate, endDate);
-        List<SessionAnalyticsResponse.DailyStats> dailyStats = dailyData.stream()
-                .map(row -> {
-                    String date = ((java.sql.Date) row[0]).toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
-                    Long sessions = ((Number) row[1]).longValue();
-                    BigDecimal revenue = row[3] != null ? BigDecimal.valueOf(((Number) row[3]).doubleValue()) : BigDecimal.ZERO;
-                    Integer guests = ((Number) row[2]).intValue();
-                    Double avgOrderValue = sessions > 0 ? revenue.divide(BigDecimal.valueOf(sessions), 2, java.math.RoundingMode.HALF_UP).doubleValue() : 0.0;
-                    
-                    return new SessionAnalyticsResponse.DailyStats(date, sessions, revenue, guests, avgOrderValue);
-                })
-                .collect(Collectors.toList());
-        
         return new SessionAnalyticsResponse(
                 totalSessions, activeSessions, completedSessions,
                 totalRevenue, averageOrderValue, totalGuests,
@@ -309,6 +246,28 @@ public class SessionService {
         );
     }
     
+    /**
+     * Rebuild the daily rollups of a restaurant for a date range
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfillAnalytics(UUID restaurantId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("Backfill range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxBackfillDays) {
+            throw new ValidationException("Backfill range must not exceed " + maxBackfillDays + " days");
+        }
+        return dailyStatsRollup.backfill(restaurantId, from, to);
+    }
+
+    /**
+     * Get per-minute live metrics of a restaurant from memory
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LiveMetricsResponse getLiveMetrics(UUID restaurantId, int minutes) {
+        return liveMetricsRegistry.snapshot(restaurantId, minutes);
+    }
+
     /**
      * Calculate start date based on time range
      */
@@ -6,7 +6,10 @@ import com.numa.domain.entity.Restaurant;
 import com.numa.repository.RestaurantRepository;
 import com.numa.exception.ResourceNotFoundException;
 import com.numa.exception.ValidationException;
+import com.numa.event.MenuChangedEvent;
+import com.numa.event.RestaurantChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -24,6 +27,9 @@ public class SettingsService {
     @Autowired
     private RestaurantRepository restaurantRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Get restaurant settings for the current user
      */
@@ -73,6 +79,8 @@ public class SettingsService {
         
         // Save updated restaurant
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+        eventPublisher.publishEvent(new MenuChangedEvent(restaurantId));
         
         return new RestaurantSettingsResponse(
                 savedRestaurant.getId(),
@@ -0,0 +1,106 @@
+package com.numa.service;
+
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.domain.enums.TableStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a table as needed to resolve a guest QR scan.
+ * Held in {@link QrTableIndex}; never attached to a persistence context.
+ */
+public final class TableDescriptor {
+
+    private final UUID id;
+    private final UUID restaurantId;
+    private final String restaurantSlug;
+    private final String tableNumber;
+    private final Integer capacity;
+    private final String locationDescription;
+    private final TableStatus status;
+    private final String qrCode;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    private TableDescriptor(UUID id, UUID restaurantId, String restaurantSlug, String tableNumber, Integer capacity,
+                            String locationDescription, TableStatus status, String qrCode,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.restaurantSlug = restaurantSlug;
+        this.tableNumber = tableNumber;
+        this.capacity = capacity;
+        this.locationDescription = locationDescription;
+        this.status = status;
+        this.qrCode = qrCode;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Snapshot a table; its restaurant must be loaded
+     */
+    public static TableDescriptor of(RestaurantTable table) {
+        return new TableDescriptor(
+                table.getId(),
+                table.getRestaurant().getId(),
+                table.getRestaurant().getSlug(),
+                table.getTableNumber(),
+                table.getCapacity(),
+                table.getLocationDescription(),
+                table.getStatus(),
+                table.getQrCode(),
+                table.getCreatedAt(),
+                table.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Copy of this descriptor with a new status
+     */
+    public TableDescriptor withStatus(TableStatus status) {
+        return new TableDescriptor(id, restaurantId, restaurantSlug, tableNumber, capacity,
+                locationDescription, status, qrCode, createdAt, updatedAt);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getRestaurantId() {
+        return restaurantId;
+    }
+
+    public String getRestaurantSlug() {
+        return restaurantSlug;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public String getLocationDescription() {
+        return locationDescription;
+    }
+
+    public TableStatus getStatus() {
+        return status;
+    }
+
+    public String getQrCode() {
+        return qrCode;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
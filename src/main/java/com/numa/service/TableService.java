@@ -5,10 +5,14 @@ import com.numa.domain.entity.RestaurantTable;
 import com.numa.domain.enums.TableStatus;
 import com.numa.dto.request.TableRequest;
 import com.numa.dto.response.TableResponse;
+import com.numa.event.TableChangedEvent;
+import com.numa.event.TableStatusChangedEvent;
 import com.numa.exception.ResourceNotFoundException;
 import com.numa.repository.RestaurantRepository;
 import com.numa.repository.RestaurantTableRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,13 +34,21 @@ public class TableService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private TenantContextResolver tenantContextResolver;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all tables for a restaurant
      */
+    // Cached for every node, so read the primary rather than a replica that may lag behind
+    @Transactional
+    @Cacheable(cacheNames = "tables", key = "T(com.numa.cache.TenantCacheKey).of(#restaurantId, 'all')")
     public List<TableResponse> getTables(UUID restaurantId) {
         // Verify restaurant exists
-        restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
 
         List<RestaurantTable> tables = tableRepository.findByRestaurantIdOrderByTableNumberAsc(restaurantId);
         return tables.stream()
@@ -64,8 +76,8 @@ public class TableService {
      */
     @Transactional
     public TableResponse createTable(UUID restaurantId, TableRequest request) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        tenantContextResolver.get(restaurantId);
+        Restaurant restaurant = restaurantRepository.getReferenceById(restaurantId);
 
         // Check if table number already exists for this restaurant
         if (tableRepository.existsByRestaurantIdAndTableNumber(restaurantId, request.getTableNumber())) {
@@ -84,6 +96,7 @@ public class TableService {
         table.setQrCode(qrCode);
 
         RestaurantTable savedTable = tableRepository.save(table);
+        eventPublisher.publishEvent(new TableChangedEvent(restaurantId, savedTable.getId()));
         return mapToTableResponse(savedTable);
     }
 
@@ -111,6 +124,7 @@ public class TableService {
         table.setLocationDescription(request.getLocation());
 
         RestaurantTable savedTable = tableRepository.save(table);
+        eventPublisher.publishEvent(new TableChangedEvent(restaurantId, savedTable.getId()));
         return mapToTableResponse(savedTable);
     }
 
@@ -128,6 +142,7 @@ public class TableService {
         }
 
         tableRepository.delete(table);
+        eventPublisher.publishEvent(new TableChangedEvent(restaurantId, tableId));
     }
 
     /**
@@ -148,6 +163,7 @@ public class TableService {
         table.setQrCode(qrCode);
 
         RestaurantTable savedTable = tableRepository.save(table);
+        eventPublisher.publishEvent(new TableChangedEvent(restaurantId, savedTable.getId()));
         return mapToTableResponse(savedTable);
     }
 
@@ -168,6 +184,8 @@ public class TableService {
             TableStatus newStatus = TableStatus.valueOf(status.toUpperCase());
             table.setStatus(newStatus);
             RestaurantTable savedTable = tableRepository.save(table);
+            eventPublisher.publishEvent(new TableStatusChangedEvent(restaurantId, savedTable.getId(),
+                    savedTable.getTableNumber(), savedTable.getStatus()));
             return mapToTableResponse(savedTable);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid table status: " + status);
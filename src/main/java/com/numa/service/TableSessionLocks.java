@@ -0,0 +1,57 @@
+package com.numa.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of striped locks serialising session creation per table within this node.
+ * Tables hash onto stripes, so scans at different tables rarely contend and memory stays bounded.
+ * The partial unique index on active sessions remains the guarantee across nodes.
+ */
+@Component
+public class TableSessionLocks {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableSessionLocks.class);
+
+    private final ReentrantLock[] stripes;
+
+    private final long timeoutMs;
+
+    public TableSessionLocks(@Value("${numa.sessions.lock-stripes:256}") int stripeCount,
+                             @Value("${numa.sessions.lock-timeout-ms:5000}") long timeoutMs) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Acquire the stripe of a table, returning null if it could not be acquired in time.
+     * Callers then proceed unlocked and rely on the database constraint.
+     */
+    public ReentrantLock acquire(UUID tableId) {
+        ReentrantLock lock = stripes[index(tableId)];
+        try {
+            if (lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                return lock;
+            }
+            logger.warn("Timed out waiting for session lock of table {}", tableId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private int index(UUID tableId) {
+        int hash = tableId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.numa.service;
+
+import com.numa.cache.CacheInvalidatedEvent;
+import com.numa.datasource.ReadRouting;
+import com.numa.domain.entity.Restaurant;
+import com.numa.event.RestaurantChangedEvent;
+import com.numa.exception.ResourceNotFoundException;
+import com.numa.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the {@link RestaurantSnapshot} of a tenant by ID or slug.
+ *
+ * Snapshots are loaded once and served from memory until a restaurant change commits,
+ * which advances the restaurant's settings version and drops its snapshot. A snapshot is
+ * taken at the version current before its load and only published if that is still the
+ * restaurant's version, checked atomically with the publish.
+ * Changes made on other nodes arrive through the cache invalidation broadcast.
+ */
+@Component
+public class TenantContextResolver {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    private final Map<UUID, RestaurantSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<String, UUID> idsBySlug = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * Get the snapshot of a restaurant
+     */
+    public RestaurantSnapshot get(UUID restaurantId) {
+        RestaurantSnapshot snapshot = snapshots.get(restaurantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return load(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + restaurantId));
+    }
+
+    /**
+     * Get the snapshot of a restaurant by slug.
+     * On a miss the ID is resolved first, so the snapshot is versioned like a load by ID.
+     */
+    public RestaurantSnapshot getBySlug(String slug) {
+        UUID restaurantId = idsBySlug.get(slug);
+        RestaurantSnapshot snapshot = restaurantId != null ? snapshots.get(restaurantId) : null;
+        if (snapshot != null && snapshot.getSlug().equals(slug)) {
+            return snapshot;
+        }
+        return inReadOnlyTransaction(() -> restaurantRepository.findIdBySlug(slug))
+                .flatMap(this::load)
+                .filter(loaded -> loaded.getSlug().equals(slug))
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with slug: " + slug));
+    }
+
+    /**
+     * Drop the snapshot of a restaurant and advance its settings version.
+     * The version advances first, so a load in flight can no longer publish its snapshot.
+     */
+    public void invalidate(UUID restaurantId) {
+        versions.put(restaurantId, versionSequence.incrementAndGet());
+        RestaurantSnapshot removed = snapshots.remove(restaurantId);
+        if (removed != null) {
+            idsBySlug.remove(removed.getSlug(), restaurantId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        invalidate(event.getRestaurantId());
+    }
+
+    /**
+     * Drop snapshots after a restaurant change on another node
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidatedEvent event) {
+        if (!CacheEvictionListener.RESTAURANTS_CACHE.equals(event.getCacheName())) {
+            return;
+        }
+        if (event.getRestaurantId() != null) {
+            invalidate(event.getRestaurantId());
+        } else {
+            versions.keySet().forEach(this::invalidate);
+            idsBySlug.clear();
+        }
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Load a restaurant and publish its snapshot unless a change committed since the load began
+     */
+    private Optional<RestaurantSnapshot> load(UUID restaurantId) {
+        long versionBeforeLoad = versions.computeIfAbsent(restaurantId, id -> versionSequence.incrementAndGet());
+        Optional<Restaurant> restaurant = inReadOnlyTransaction(() -> restaurantRepository.findById(restaurantId));
+        if (restaurant.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RestaurantSnapshot loaded = RestaurantSnapshot.of(restaurant.get(), versionBeforeLoad);
+        snapshots.compute(restaurantId, (id, current) -> {
+            if (versions.get(id) != loaded.getVersion()) {
+                return current;
+            }
+            idsBySlug.put(loaded.getSlug(), id);
+            return loaded;
+        });
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Run a lookup in a read-only transaction, joining the caller's if there is one.
+     * Snapshots are cached, so lookups read the primary; if the caller's read-only transaction
+     * may already be reading a replica, the lookup runs in a transaction of its own.
+     */
+    private <T> Optional<T> inReadOnlyTransaction(Supplier<Optional<T>> finder) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (readRouting.isEnabled() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        return readRouting.onPrimary(() -> readOnlyTransaction.execute(status -> finder.get()));
+    }
+}
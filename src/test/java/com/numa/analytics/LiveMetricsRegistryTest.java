@@ -0,0 +1,53 @@
+package com.numa.analytics;
+
+import com.numa.domain.enums.SessionEventType;
+import com.numa.dto.response.LiveMetricsResponse;
+import com.numa.event.SessionEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The context's registry and a second one created beside it stand in for two nodes
+ * sharing the in-memory cache tier.
+ */
+@SpringBootTest(properties = "numa.cache.shared.type=in-memory")
+@ActiveProfiles("test")
+class LiveMetricsRegistryTest {
+
+    @Autowired
+    private LiveMetricsRegistry nodeA;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    void eachNodeServesTheEventsCountedOnEvery() {
+        LiveMetricsRegistry nodeB = beanFactory.createBean(LiveMetricsRegistry.class);
+        nodeB.listen();
+        UUID restaurantId = UUID.randomUUID();
+
+        nodeA.onSessionEvent(new SessionEvent(UUID.randomUUID(), restaurantId, SessionEventType.SESSION_STARTED, Map.of()));
+        nodeB.onSessionEvent(new SessionEvent(UUID.randomUUID(), restaurantId, SessionEventType.ORDER_SUBMITTED,
+                Map.of("totalAmount", new BigDecimal("12.50"))));
+        nodeB.onSessionEvent(new SessionEvent(UUID.randomUUID(), restaurantId, SessionEventType.SESSION_ENDED,
+                Map.of("abandonedCartLines", 2)));
+
+        for (LiveMetricsRegistry node : new LiveMetricsRegistry[] {nodeA, nodeB}) {
+            LiveMetricsResponse snapshot = node.snapshot(restaurantId, 5);
+            assertThat(snapshot.getSessionsStarted()).isOne();
+            assertThat(snapshot.getSessionsEnded()).isOne();
+            assertThat(snapshot.getAbandonedCarts()).isOne();
+            assertThat(snapshot.getOrdersSubmitted()).isOne();
+            assertThat(snapshot.getRevenue()).isEqualByComparingTo("12.50");
+        }
+    }
+}
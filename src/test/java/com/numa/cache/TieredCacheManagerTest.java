@@ -0,0 +1,125 @@
+package com.numa.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two managers over the in-memory shared tier stand in for two nodes.
+ * The shared tier is static, so every test uses its own cache name.
+ */
+class TieredCacheManagerTest {
+
+    private final SharedCacheTier shared = new InMemorySharedCacheTier();
+
+    private final List<Object> nodeBEvents = new CopyOnWriteArrayList<>();
+
+    private final TieredCacheManager nodeA = node(new CopyOnWriteArrayList<>());
+
+    private final TieredCacheManager nodeB = node(nodeBEvents);
+
+    @Test
+    void loadFillsBothTiersAndOtherNodeReadsFromShared() {
+        String cacheName = uniqueName();
+        TenantCacheKey key = TenantCacheKey.of(UUID.randomUUID(), "menu");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache(nodeA, cacheName).get(key, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(local(nodeA, cacheName).getIfPresent(key.toString())).isEqualTo("v1");
+        assertThat(shared.get(cacheName, key.toString())).isEqualTo("v1");
+
+        assertThat(cache(nodeB, cacheName).get(key, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+        assertThat(local(nodeB, cacheName).getIfPresent(key.toString())).isEqualTo("v1");
+    }
+
+    @Test
+    void evictRemovesEntryFromSharedTierAndOtherNode() {
+        String cacheName = uniqueName();
+        TenantCacheKey key = TenantCacheKey.of(UUID.randomUUID(), "menu");
+        cache(nodeA, cacheName).get(key, () -> "v1");
+        cache(nodeB, cacheName).get(key, () -> "unused");
+
+        cache(nodeA, cacheName).evict(key);
+
+        assertThat(shared.get(cacheName, key.toString())).isNull();
+        assertThat(local(nodeB, cacheName).getIfPresent(key.toString())).isNull();
+        assertThat(nodeBEvents).isEmpty();
+    }
+
+    @Test
+    void evictTenantKeepsOtherTenantsAndNotifiesOtherNode() {
+        String cacheName = uniqueName();
+        UUID restaurantId = UUID.randomUUID();
+        TenantCacheKey evicted = TenantCacheKey.of(restaurantId, "menu");
+        TenantCacheKey kept = TenantCacheKey.of(UUID.randomUUID(), "menu");
+        for (TieredCacheManager node : List.of(nodeA, nodeB)) {
+            cache(node, cacheName).get(evicted, () -> "evicted");
+            cache(node, cacheName).get(kept, () -> "kept");
+        }
+
+        nodeA.evictTenant(cacheName, restaurantId);
+
+        assertThat(shared.get(cacheName, evicted.toString())).isNull();
+        assertThat(shared.get(cacheName, kept.toString())).isEqualTo("kept");
+        assertThat(local(nodeB, cacheName).getIfPresent(evicted.toString())).isNull();
+        assertThat(local(nodeB, cacheName).getIfPresent(kept.toString())).isEqualTo("kept");
+        assertThat(nodeBEvents).singleElement().isInstanceOfSatisfying(CacheInvalidatedEvent.class, event -> {
+            assertThat(event.getCacheName()).isEqualTo(cacheName);
+            assertThat(event.getRestaurantId()).isEqualTo(restaurantId);
+        });
+    }
+
+    @Test
+    void clearEmptiesEveryTierOnEveryNode() {
+        String cacheName = uniqueName();
+        TenantCacheKey key = TenantCacheKey.of(UUID.randomUUID(), "menu");
+        cache(nodeA, cacheName).get(key, () -> "v1");
+        cache(nodeB, cacheName).get(key, () -> "unused");
+
+        cache(nodeA, cacheName).clear();
+
+        assertThat(shared.get(cacheName, key.toString())).isNull();
+        assertThat(local(nodeB, cacheName).estimatedSize()).isZero();
+        assertThat(nodeBEvents).singleElement().isInstanceOfSatisfying(CacheInvalidatedEvent.class,
+                event -> assertThat(event.getRestaurantId()).isNull());
+    }
+
+    @Test
+    void putReplacesStaleCopyOnOtherNode() {
+        String cacheName = uniqueName();
+        TenantCacheKey key = TenantCacheKey.of(UUID.randomUUID(), "menu");
+        cache(nodeA, cacheName).get(key, () -> "v1");
+        cache(nodeB, cacheName).get(key, () -> "unused");
+
+        cache(nodeA, cacheName).put(key, "v2");
+
+        assertThat(local(nodeB, cacheName).getIfPresent(key.toString())).isNull();
+        assertThat(cache(nodeB, cacheName).get(key, () -> "unused")).isEqualTo("v2");
+    }
+
+    private TieredCacheManager node(List<Object> events) {
+        return new TieredCacheManager(name -> "maximumSize=100", shared, Duration.ofMinutes(5),
+                new SimpleMeterRegistry(), events::add);
+    }
+
+    private static TieredCache cache(TieredCacheManager manager, String cacheName) {
+        return (TieredCache) manager.getCache(cacheName);
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<String, Object> local(TieredCacheManager manager,
+                                                                                String cacheName) {
+        return cache(manager, cacheName).getNativeCache();
+    }
+
+    private static String uniqueName() {
+        return "test-" + UUID.randomUUID();
+    }
+}
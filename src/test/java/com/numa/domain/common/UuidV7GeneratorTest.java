@@ -0,0 +1,145 @@
+package com.numa.domain.common;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UuidV7GeneratorTest.class);
+
+    private static final int IDS = 20_000;
+
+    @Test
+    void layoutIsVersion7WithTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // A counter overflow may borrow the next millisecond
+        assertThat(timestampOf(id)).isBetween(before, after + 1);
+    }
+
+    @Test
+    void idsIncreaseStrictlyWithinOneMillisecond() {
+        List<UUID> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        int sameMillisecond = 0;
+        for (int i = 1; i < IDS; i++) {
+            assertThat(compareUnsigned(ids.get(i - 1), ids.get(i))).isNegative();
+            if (timestampOf(ids.get(i - 1)) == timestampOf(ids.get(i))) {
+                sameMillisecond++;
+            }
+        }
+        assertThat(sameMillisecond).isPositive();
+    }
+
+    @Test
+    void concurrentIdsAreUnique() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < IDS / 8; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids).hasSize(IDS / 8 * 8);
+    }
+
+    /**
+     * Compare v7 against random v4 keys: how many inserts land on the right-hand edge of the
+     * index, and the insert rate into a UUID primary key. The rates are logged, not asserted.
+     */
+    @Test
+    void v7KeysAppendToTheIndexWhereV4KeysScatter() throws SQLException {
+        double v7Appends = rightEdgeAppends(UuidV7Generator::next);
+        double v4Appends = rightEdgeAppends(UUID::randomUUID);
+        long v7Rate = insertsPerSecond("v7", UuidV7Generator::next);
+        long v4Rate = insertsPerSecond("v4", UUID::randomUUID);
+        logger.info("{} UUID keys: v7 {}% right-edge appends, {} inserts/s; v4 {}% right-edge appends, {} inserts/s",
+                IDS, Math.round(v7Appends * 100), v7Rate, Math.round(v4Appends * 100), v4Rate);
+
+        assertThat(v7Appends).isEqualTo(1.0);
+        assertThat(v4Appends).isLessThan(0.01);
+    }
+
+    /**
+     * Fraction of keys greater than every key before them, in the byte order databases index UUIDs by
+     */
+    private static double rightEdgeAppends(Supplier<UUID> ids) {
+        TreeSet<UUID> index = new TreeSet<>(UuidV7GeneratorTest::compareUnsigned);
+        int appends = 0;
+        for (int i = 0; i < IDS; i++) {
+            UUID id = ids.get();
+            if (index.isEmpty() || compareUnsigned(id, index.last()) > 0) {
+                appends++;
+            }
+            index.add(id);
+        }
+        return (double) appends / IDS;
+    }
+
+    private static long insertsPerSecond(String name, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:uuid-" + name + "-" + UUID.randomUUID());
+             Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE keys (id UUID PRIMARY KEY, payload VARCHAR(64))");
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO keys VALUES (?, ?)")) {
+                long start = System.nanoTime();
+                for (int i = 0; i < IDS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "row " + i);
+                    insert.addBatch();
+                    if (i % 1000 == 999) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                long nanos = System.nanoTime() - start;
+                return Math.round(IDS * 1_000_000_000.0 / nanos);
+            }
+        }
+    }
+
+    private static long timestampOf(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
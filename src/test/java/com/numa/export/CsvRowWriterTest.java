@@ -0,0 +1,31 @@
+package com.numa.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    @Test
+    void textStartingLikeFormulaIsPrefixed() throws IOException {
+        assertThat(write("=HYPERLINK(\"x\")", "+1", "-2", "@SUM(A1)", "\tcmd", "Plain"))
+                .isEqualTo("\"'=HYPERLINK(\"\"x\"\")\",'+1,'-2,'@SUM(A1),'\tcmd,Plain\r\n");
+    }
+
+    @Test
+    void numbersAreWrittenUnchanged() throws IOException {
+        assertThat(write(new BigDecimal("-12.50"), -3, null, "")).isEqualTo("-12.50,-3,,\r\n");
+    }
+
+    private static String write(Object... values) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowWriter writer = new CsvRowWriter(out);
+        writer.row(values);
+        writer.finish();
+        return out.toString();
+    }
+}
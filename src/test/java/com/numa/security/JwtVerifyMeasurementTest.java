@@ -0,0 +1,93 @@
+package com.numa.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures verifying a bearer token on every request against answering repeat requests from
+ * {@link VerifiedTokenCache}. Requests cycle through a fixed set of live tokens, as a busy node would see them.
+ * Equal claims and the cached path being cheaper are asserted; the rates are logged.
+ */
+class JwtVerifyMeasurementTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifyMeasurementTest.class);
+
+    private static final int TOKENS = 100;
+
+    private static final int WARMUP = 20_000;
+
+    private static final int REQUESTS = 50_000;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    private final List<String> tokens = new ArrayList<>();
+
+    @BeforeEach
+    void createTokens() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "measurement-secret-key-of-at-least-256-bits");
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache", new VerifiedTokenCache(10_000));
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(jwtUtil.generateGuestToken(UUID.randomUUID().toString(), "Guest " + i, UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void cachedVerificationIsCheaperThanVerifyingEveryRequest() {
+        for (String token : tokens) {
+            TokenClaims verified = verifyUncached(token);
+            TokenClaims cached = jwtUtil.verify(token);
+            assertThat(cached.getSessionId()).isEqualTo(verified.getSessionId());
+            assertThat(cached.getExpiresAtMillis()).isEqualTo(verified.getExpiresAtMillis());
+        }
+
+        Measurement perRequest = measure(this::verifyUncached);
+        Measurement cached = measure(jwtUtil::verify);
+        logger.info("JWT verification: every request {}; cached {}", perRequest, cached);
+
+        assertThat(cached.nanosPerRequest).isLessThan(perRequest.nanosPerRequest);
+    }
+
+    /**
+     * Parse and check the signature of a token, as every request did before the cache
+     */
+    private TokenClaims verifyUncached(String token) {
+        return TokenClaims.of(jwtUtil.getClaimFromToken(token, Function.identity()));
+    }
+
+    private Measurement measure(Function<String, TokenClaims> verify) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            verify.apply(tokens.get(i % TOKENS));
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            verify.apply(tokens.get(i % TOKENS));
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Measurement(nanos / REQUESTS, bytes / REQUESTS);
+    }
+
+    private record Measurement(long nanosPerRequest, long bytesPerRequest) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests/s, %d ns and %d bytes allocated per request",
+                    nanosPerRequest > 0 ? 1_000_000_000L / nanosPerRequest : 0, nanosPerRequest, bytesPerRequest);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.numa.service;
+
+import com.numa.cache.CacheInvalidatedEvent;
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.repository.RestaurantRepository;
+import com.numa.repository.RestaurantTableRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Remote invalidations evict only the changed restaurant's second-level cache entries
+ */
+@SpringBootTest(properties = "numa.cache.shared.type=in-memory")
+@ActiveProfiles("test")
+class CacheEvictionListenerTest {
+
+    @Autowired
+    private CacheEvictionListener listener;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache secondLevelCache;
+
+    private Restaurant changed;
+
+    private RestaurantTable changedTable;
+
+    private RestaurantTable otherTenantTable;
+
+    @BeforeEach
+    void cacheTables() {
+        secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        changed = restaurantRepository.save(newRestaurant());
+        changedTable = tableRepository.save(new RestaurantTable(changed, "T1", 4));
+        otherTenantTable = tableRepository.save(new RestaurantTable(restaurantRepository.save(newRestaurant()), "T1", 4));
+        secondLevelCache.evictAllRegions();
+
+        tableRepository.findById(changedTable.getId());
+        tableRepository.findById(otherTenantTable.getId());
+        assertThat(isCached(changedTable)).isTrue();
+        assertThat(isCached(otherTenantTable)).isTrue();
+    }
+
+    @Test
+    void restaurantWideInvalidationEvictsOnlyThatRestaurantsTables() {
+        listener.onRemoteInvalidation(new CacheInvalidatedEvent(
+                CacheEvictionListener.TABLES_CACHE, changed.getId(), null));
+
+        assertThat(isCached(changedTable)).isFalse();
+        assertThat(isCached(otherTenantTable)).isTrue();
+    }
+
+    @Test
+    void namedEntitiesAreEvictedEvenWhenAlreadyDeleted() {
+        RestaurantTable deleted = tableRepository.save(new RestaurantTable(changed, "T2", 2));
+        tableRepository.findById(deleted.getId());
+        jdbcTemplate.update("DELETE FROM restaurant_tables WHERE id = ?", deleted.getId());
+
+        listener.onRemoteInvalidation(new CacheInvalidatedEvent(
+                CacheEvictionListener.TABLES_CACHE, changed.getId(), Set.of(deleted.getId())));
+
+        assertThat(isCached(deleted)).isFalse();
+        assertThat(isCached(changedTable)).isTrue();
+        assertThat(isCached(otherTenantTable)).isTrue();
+    }
+
+    private boolean isCached(RestaurantTable table) {
+        return secondLevelCache.containsEntity(RestaurantTable.class, table.getId());
+    }
+
+    private static Restaurant newRestaurant() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return new Restaurant("Cache " + suffix, "cache-" + suffix, "cache-" + suffix + "@example.com");
+    }
+}
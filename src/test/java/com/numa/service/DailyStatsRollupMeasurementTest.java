@@ -0,0 +1,135 @@
+package com.numa.service;
+
+import com.numa.config.QueryCountInspector;
+import com.numa.domain.entity.DiningSession;
+import com.numa.domain.entity.MenuCategory;
+import com.numa.domain.entity.MenuItem;
+import com.numa.domain.entity.Order;
+import com.numa.domain.entity.OrderItem;
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.domain.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures rebuilding one restaurant's rollups over 7, 30 and 90 days of history.
+ * The number of SELECTs per backfill is asserted not to grow with the range; latency is logged.
+ * Runs on its own H2 database: the rollup queries name columns day and hour, which H2 only accepts once
+ * they are no longer keywords, and rebuilt rows read their JSON columns back, which round-trips as text.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:rollupdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+        + "NON_KEYWORDS=DAY,HOUR;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS VARCHAR")
+@ActiveProfiles("test")
+class DailyStatsRollupMeasurementTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyStatsRollupMeasurementTest.class);
+
+    private static final int HISTORY_DAYS = 90;
+
+    private static final int SESSIONS_PER_DAY = 20;
+
+    private static final int RUNS = 5;
+
+    @Autowired
+    private DailyStatsRollup rollup;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void backfillQueriesDoNotGrowWithTheRange() {
+        UUID restaurantId = createHistory();
+        LocalDate to = LocalDate.now().minusDays(1);
+
+        Map<Integer, long[]> results = new LinkedHashMap<>();
+        for (int days : new int[] {7, 30, 90}) {
+            LocalDate from = to.minusDays(days - 1);
+            rollup.backfill(restaurantId, from, to);
+
+            long[] nanos = new long[RUNS];
+            long selects = 0;
+            int written = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long selectsBefore = QueryCountInspector.getSelectCount();
+                long start = System.nanoTime();
+                written = rollup.backfill(restaurantId, from, to);
+                nanos[run] = System.nanoTime() - start;
+                selects = QueryCountInspector.getSelectCount() - selectsBefore;
+            }
+            Arrays.sort(nanos);
+            assertThat(written).isEqualTo(days);
+            results.put(days, new long[] {selects, nanos[RUNS / 2]});
+            logger.info("Backfill of {} days ({} sessions): {} selects, median {} ms",
+                    days, days * SESSIONS_PER_DAY, selects, nanos[RUNS / 2] / 1_000_000);
+        }
+
+        assertThat(results.values()).extracting(result -> result[0]).containsOnly(results.get(7)[0]);
+    }
+
+    /**
+     * One restaurant with {@link #SESSIONS_PER_DAY} ended sessions a day, each with one order of one item
+     */
+    private UUID createHistory() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            Restaurant restaurant = new Restaurant("Rollup " + suffix, "rollup-" + suffix, "rollup-" + suffix + "@example.com");
+            entityManager.persist(restaurant);
+            RestaurantTable table = new RestaurantTable(restaurant, "R1", 4);
+            entityManager.persist(table);
+            MenuCategory category = new MenuCategory(restaurant, "Mains");
+            entityManager.persist(category);
+            MenuItem item = new MenuItem(restaurant, category, "Dish", BigDecimal.TEN);
+            entityManager.persist(item);
+
+            LocalDate today = LocalDate.now();
+            for (int day = 1; day <= HISTORY_DAYS; day++) {
+                for (int i = 0; i < SESSIONS_PER_DAY; i++) {
+                    LocalDateTime startedAt = today.minusDays(day).atTime(11 + i % 10, 0);
+                    DiningSession session = new DiningSession(restaurant, table, "Host");
+                    session.setStartedAt(startedAt);
+                    session.setEndedAt(startedAt.plusMinutes(45));
+                    session.setGuestCount(2);
+                    session.setTotalAmount(BigDecimal.TEN);
+                    entityManager.persist(session);
+
+                    Order order = new Order(restaurant, table, session.getId());
+                    order.setOrderNumber(suffix + "-" + day + "-" + i);
+                    order.setSubtotal(BigDecimal.TEN);
+                    order.setTotalAmount(BigDecimal.TEN);
+                    order.setStatus(OrderStatus.SERVED);
+                    order.setCreatedAt(startedAt.plusMinutes(5));
+                    entityManager.persist(order);
+                    entityManager.persist(new OrderItem(order, item, 1));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                restaurant = entityManager.getReference(Restaurant.class, restaurant.getId());
+                table = entityManager.getReference(RestaurantTable.class, table.getId());
+                category = entityManager.getReference(MenuCategory.class, category.getId());
+                item = entityManager.find(MenuItem.class, item.getId());
+            }
+            return restaurant.getId();
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.numa.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuestCartStoreTest {
+
+    private final GuestCartStore store = new GuestCartStore(100, 100, 240);
+
+    @Test
+    void concurrentClaimsTakeEachLineOnce() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            store.addLine(sessionId, line("Item " + i));
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<CartLine>>> claims = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Callable<List<CartLine>> claim = () -> {
+                    start.await();
+                    return store.claimLines(sessionId);
+                };
+                claims.add(executor.submit(claim));
+            }
+            start.countDown();
+
+            List<CartLine> claimed = new ArrayList<>();
+            int nonEmptyClaims = 0;
+            for (Future<List<CartLine>> claim : claims) {
+                List<CartLine> lines = claim.get();
+                claimed.addAll(lines);
+                nonEmptyClaims += lines.isEmpty() ? 0 : 1;
+            }
+            assertThat(nonEmptyClaims).isEqualTo(1);
+            assertThat(claimed).hasSize(20);
+            assertThat(store.getLines(sessionId)).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void restoredLinesGoAheadOfLinesAddedSinceTheClaim() {
+        UUID sessionId = UUID.randomUUID();
+        CartLine first = line("First");
+        store.addLine(sessionId, first);
+        List<CartLine> claimed = store.claimLines(sessionId);
+        long versionAfterClaim = store.getVersion(sessionId);
+        CartLine added = line("Added");
+        store.addLine(sessionId, added);
+
+        store.restoreLines(sessionId, claimed);
+
+        assertThat(store.getLines(sessionId)).containsExactly(first, added);
+        assertThat(store.getVersion(sessionId)).isGreaterThan(versionAfterClaim);
+    }
+
+    private static CartLine line(String name) {
+        return new CartLine(UUID.randomUUID(), null, name, null, null, BigDecimal.ONE, 1, null);
+    }
+}
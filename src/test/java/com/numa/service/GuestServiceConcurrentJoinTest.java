@@ -0,0 +1,144 @@
+package com.numa.service;
+
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.dto.request.GuestJoinSessionRequest;
+import com.numa.dto.response.GuestSessionResponse;
+import com.numa.repository.DiningSessionRepository;
+import com.numa.repository.RestaurantRepository;
+import com.numa.repository.RestaurantTableRepository;
+import com.numa.repository.SessionGuestRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent scans of one table must all join the same session. The sustained run also logs
+ * the join rate under contention for the table's session lock.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GuestServiceConcurrentJoinTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestServiceConcurrentJoinTest.class);
+
+    private static final int GUESTS = 16;
+
+    private static final int MEASURED_JOINS = 128;
+
+    @Autowired
+    private GuestService guestService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionGuestRepository guestRepository;
+
+    @Test
+    void concurrentScansOfOneTableJoinOneSession() throws Exception {
+        RestaurantTable table = createTable();
+
+        Joins joins = joinConcurrently(table, GUESTS);
+
+        assertThat(joins.failures).isEmpty();
+        Set<UUID> sessionIds = joins.sessionIds();
+        assertThat(sessionIds).hasSize(1);
+        assertThat(sessionRepository.findActiveSessionIdsByTable(table.getId())).containsExactlyElementsOf(sessionIds);
+        assertThat(guestRepository.countBySessionId(sessionIds.iterator().next())).isEqualTo(GUESTS);
+    }
+
+    @Test
+    void sustainedJoinsOfOneTableNeverFail() throws Exception {
+        joinConcurrently(createTable(), GUESTS);
+        RestaurantTable table = createTable();
+
+        Joins joins = joinConcurrently(table, MEASURED_JOINS);
+        logger.info("{} joins of one table from {} threads in {} ms: {} joins/s", MEASURED_JOINS, GUESTS,
+                joins.nanos / 1_000_000, Math.round(MEASURED_JOINS * 1_000_000_000.0 / joins.nanos));
+
+        assertThat(joins.failures).isEmpty();
+        Set<UUID> sessionIds = joins.sessionIds();
+        assertThat(sessionIds).hasSize(1);
+        assertThat(sessionRepository.findActiveSessionIdsByTable(table.getId())).containsExactlyElementsOf(sessionIds);
+        assertThat(guestRepository.countBySessionId(sessionIds.iterator().next())).isEqualTo(MEASURED_JOINS);
+    }
+
+    private RestaurantTable createTable() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Restaurant restaurant = restaurantRepository.save(
+                new Restaurant("Join " + suffix, "join-" + suffix, "join-" + suffix + "@example.com"));
+        return tableRepository.save(new RestaurantTable(restaurant, "J1", 4));
+    }
+
+    /**
+     * Release all joins at once from {@link #GUESTS} threads and wait for every one of them
+     */
+    private Joins joinConcurrently(RestaurantTable table, int count) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(GUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<GuestSessionResponse>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                GuestJoinSessionRequest request = new GuestJoinSessionRequest("Guest " + i, table.getQrCode(),
+                        table.getRestaurant().getId());
+                Callable<GuestSessionResponse> join = () -> {
+                    start.await();
+                    return guestService.joinSession(request);
+                };
+                futures.add(executor.submit(join));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+
+            Joins joins = new Joins();
+            for (Future<GuestSessionResponse> future : futures) {
+                try {
+                    joins.joined.add(future.get());
+                } catch (ExecutionException e) {
+                    joins.failures.add(e.getCause());
+                }
+            }
+            joins.nanos = System.nanoTime() - startedAt;
+            return joins;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Joins {
+
+        private final List<GuestSessionResponse> joined = new ArrayList<>();
+
+        private final List<Throwable> failures = new ArrayList<>();
+
+        private long nanos;
+
+        Set<UUID> sessionIds() {
+            return joined.stream().map(GuestSessionResponse::getSessionId).collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.numa.service;
+
+import com.numa.dto.response.CursorPageResponse;
+import com.numa.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 14, 12, 30, 15, 123_456_000);
+
+    @Test
+    void nextCursorRoundTripsToTheLastRowOfThePage() {
+        List<Row> rows = List.of(
+                new Row(START, UUID.randomUUID()),
+                new Row(START.minusMinutes(1), UUID.randomUUID()),
+                new Row(START.minusMinutes(2), UUID.randomUUID()));
+
+        CursorPageResponse<Row> page = KeysetCursor.page(rows, 2, Row::timestamp, Row::id, Function.identity());
+
+        assertThat(page.getContent()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(page.getHasMore()).isTrue();
+        KeysetCursor next = KeysetCursor.parse(page.getNextCursor());
+        assertThat(next.getTimestamp()).isEqualTo(rows.get(1).timestamp());
+        assertThat(next.getId()).isEqualTo(rows.get(1).id());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<Row> rows = List.of(new Row(START, UUID.randomUUID()));
+
+        CursorPageResponse<Row> page = KeysetCursor.page(rows, 2, Row::timestamp, Row::id, Function.identity());
+
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void missingCursorStartsAfterEveryRow() {
+        KeysetCursor first = KeysetCursor.parse(null);
+
+        assertThat(first.getTimestamp()).isAfter(LocalDateTime.now().plusYears(1000));
+        assertThat(KeysetCursor.parse(" ").getTimestamp()).isEqualTo(first.getTimestamp());
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        String cursor = KeysetCursor.page(List.of(new Row(START, UUID.randomUUID()), new Row(START, UUID.randomUUID())),
+                1, Row::timestamp, Row::id, Function.identity()).getNextCursor();
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String tampered = encode(raw.substring(0, raw.length() - 4) + "zzzz");
+
+        assertThatThrownBy(() -> KeysetCursor.parse(tampered))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor!", "2|2026-03-14T12:30:15|00000000-0000-0000-0000-000000000001",
+            "1|yesterday|00000000-0000-0000-0000-000000000001", "1|2026-03-14T12:30:15"})
+    void malformedCursorIsRejected(String token) {
+        String cursor = token.contains("|") ? encode(token) : token;
+
+        assertThatThrownBy(() -> KeysetCursor.parse(cursor)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void pageSizeOutsideBoundsIsRejected() {
+        assertThat(KeysetCursor.pageSize(KeysetCursor.MAX_PAGE_SIZE)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+        assertThatThrownBy(() -> KeysetCursor.pageSize(0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.pageSize(KeysetCursor.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void validationFailuresAreBadRequests() {
+        assertThat(ValidationException.class.getAnnotation(ResponseStatus.class).value())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Row(LocalDateTime timestamp, UUID id) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.numa.service;
+
+import com.numa.domain.entity.Restaurant;
+import com.numa.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures concurrent order number allocation for one restaurant with block reservation against
+ * locking the sequence row for every order, which is the allocator with a block size of one.
+ * Unique numbers and the block path being faster are asserted; the rates are logged.
+ * Runs with the H2 dialect, since the sequence row lock is rendered as PostgreSQL's FOR NO KEY UPDATE otherwise.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ActiveProfiles("test")
+class OrderNumberAllocatorMeasurementTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderNumberAllocatorMeasurementTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int ORDERS_PER_THREAD = 250;
+
+    @Autowired
+    private OrderNumberAllocator allocator;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Value("${numa.orders.number-block-size}")
+    private int configuredBlockSize;
+
+    @AfterEach
+    void restoreBlockSize() {
+        ReflectionTestUtils.setField(allocator, "blockSize", configuredBlockSize);
+    }
+
+    @Test
+    void blockReservationOutpacesPerOrderLocking() throws Exception {
+        double perOrder = ordersPerSecond(1);
+        double blocks = ordersPerSecond(configuredBlockSize);
+        logger.info("Order numbers for one restaurant from {} threads: per-order locking {} orders/s; "
+                + "blocks of {} {} orders/s", THREADS, Math.round(perOrder), configuredBlockSize, Math.round(blocks));
+
+        assertThat(blocks).isGreaterThan(perOrder);
+    }
+
+    /**
+     * Allocate from every thread at once for a fresh restaurant, checking no number is handed out twice
+     */
+    private double ordersPerSecond(int blockSize) throws Exception {
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UUID restaurantId = restaurantRepository.save(
+                new Restaurant("Numbers " + suffix, "numbers-" + suffix, "numbers-" + suffix + "@example.com")).getId();
+        allocator.next(restaurantId);
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        numbers.add(allocator.next(restaurantId));
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            long nanos = System.nanoTime() - startedAt;
+
+            assertThat(numbers).hasSize(THREADS * ORDERS_PER_THREAD);
+            return THREADS * ORDERS_PER_THREAD * 1_000_000_000.0 / nanos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
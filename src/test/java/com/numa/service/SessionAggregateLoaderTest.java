@@ -0,0 +1,115 @@
+package com.numa.service;
+
+import com.numa.config.QueryCountInspector;
+import com.numa.domain.entity.DiningSession;
+import com.numa.domain.entity.Order;
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.domain.entity.SessionGuest;
+import com.numa.domain.enums.OrderStatus;
+import com.numa.dto.response.GuestOrderResponse;
+import com.numa.dto.response.GuestSessionGuestDTO;
+import com.numa.repository.DiningSessionRepository;
+import com.numa.repository.OrderRepository;
+import com.numa.repository.RestaurantRepository;
+import com.numa.repository.RestaurantTableRepository;
+import com.numa.repository.SessionGuestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionAggregateLoaderTest {
+
+    private static final int GUESTS = 6;
+
+    private static final int ORDERS = 8;
+
+    @Autowired
+    private SessionAggregateLoader loader;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionGuestRepository guestRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private DiningSession session;
+
+    private List<UUID> submittedOrderIds;
+
+    @BeforeEach
+    void createSession() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Restaurant restaurant = restaurantRepository.save(
+                new Restaurant("Loader " + suffix, "loader-" + suffix, "loader-" + suffix + "@example.com"));
+        RestaurantTable table = tableRepository.save(new RestaurantTable(restaurant, "T1", 4));
+        session = sessionRepository.save(new DiningSession(restaurant, table, "Host"));
+
+        for (int i = 0; i < GUESTS; i++) {
+            guestRepository.save(new SessionGuest(session, "Guest " + i, i == 0));
+        }
+        submittedOrderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderRepository.save(newOrder(restaurant, table, suffix + "-" + i, OrderStatus.CONFIRMED));
+            submittedOrderIds.add(order.getId());
+        }
+        orderRepository.save(newOrder(restaurant, table, suffix + "-pending", OrderStatus.PENDING));
+    }
+
+    @Test
+    void loadsGuestsAndSubmittedOrdersInTwoSelects() {
+        long selectsBefore = QueryCountInspector.getSelectCount();
+
+        SessionAggregate aggregate = loader.load(session.getId());
+
+        assertThat(QueryCountInspector.getSelectCount() - selectsBefore)
+                .isEqualTo(SessionAggregateLoader.MAX_SELECTS_PER_LOAD);
+        assertThat(aggregate.getSession().getId()).isEqualTo(session.getId());
+        assertThat(aggregate.getTable().getTableNumber()).isEqualTo("T1");
+        assertThat(aggregate.getGuests()).extracting(GuestSessionGuestDTO::getId).doesNotHaveDuplicates();
+        assertThat(aggregate.getGuests()).hasSize(GUESTS);
+        assertThat(aggregate.getOrders()).extracting(GuestOrderResponse::getOrderId)
+                .containsExactlyInAnyOrderElementsOf(submittedOrderIds);
+    }
+
+    @Test
+    void loadsByCodeInTwoSelects() {
+        long selectsBefore = QueryCountInspector.getSelectCount();
+
+        SessionAggregate aggregate = loader.loadByCode(session.getSessionCode());
+
+        assertThat(QueryCountInspector.getSelectCount() - selectsBefore)
+                .isEqualTo(SessionAggregateLoader.MAX_SELECTS_PER_LOAD);
+        assertThat(aggregate.getGuests()).hasSize(GUESTS);
+        assertThat(aggregate.getOrders()).hasSize(ORDERS);
+    }
+
+    private Order newOrder(Restaurant restaurant, RestaurantTable table, String orderNumber, OrderStatus status) {
+        Order order = new Order(restaurant, table, session.getId());
+        order.setOrderNumber(orderNumber);
+        order.setSubtotal(BigDecimal.TEN);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,265 @@
+package com.numa.service;
+
+import com.numa.config.QueryCountInspector;
+import com.numa.domain.entity.DiningSession;
+import com.numa.domain.entity.Order;
+import com.numa.domain.entity.Restaurant;
+import com.numa.domain.entity.RestaurantTable;
+import com.numa.domain.entity.SessionGuest;
+import com.numa.domain.enums.OrderStatus;
+import com.numa.dto.response.CursorPageResponse;
+import com.numa.dto.response.SessionHistoryResponse;
+import com.numa.repository.DiningSessionRepository;
+import com.numa.repository.OrderRepository;
+import com.numa.repository.RestaurantRepository;
+import com.numa.repository.RestaurantTableRepository;
+import com.numa.repository.SessionGuestRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the guest session and session history projections against the entity queries they replaced,
+ * which are reproduced here. Statements, entities and rows are asserted;
+ * allocation and latency are logged, since they depend on the machine. Iteration counts are kept
+ * small enough for the default test run.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionProjectionMeasurementTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionProjectionMeasurementTest.class);
+
+    // The session and guest query the guest session projection replaced
+    private static final String GUEST_ENTITY_SELECT = "SELECT s, g FROM DiningSession s JOIN FETCH s.table " +
+            "LEFT JOIN SessionGuest g ON g.session.id = s.id WHERE s.id = :sessionId ORDER BY g.joinedAt ASC";
+
+    private static final int GUESTS = 6;
+
+    private static final int ORDERS = 8;
+
+    private static final int HISTORY_SESSIONS = 20;
+
+    private static final int ORDERS_PER_HISTORY_SESSION = 3;
+
+    private static final int WARMUP = 20;
+
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private SessionAggregateLoader loader;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private DiningSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionGuestRepository guestRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Restaurant restaurant;
+
+    private DiningSession session;
+
+    private Statistics statistics;
+
+    private boolean statisticsWereEnabled;
+
+    @BeforeEach
+    void enableStatistics() {
+        // Counted here only; the per-session statistics log listener is registered at startup, so it stays off
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsWereEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void restoreStatistics() {
+        statistics.setStatisticsEnabled(statisticsWereEnabled);
+    }
+
+    @BeforeEach
+    void createSessions() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        restaurant = restaurantRepository.save(
+                new Restaurant("Measure " + suffix, "measure-" + suffix, "measure-" + suffix + "@example.com"));
+        RestaurantTable table = tableRepository.save(new RestaurantTable(restaurant, "T1", 4));
+
+        session = sessionRepository.save(new DiningSession(restaurant, table, "Host"));
+        for (int i = 0; i < GUESTS; i++) {
+            guestRepository.save(new SessionGuest(session, "Guest " + i, i == 0));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            orderRepository.save(newOrder(table, session, suffix + "-" + i));
+        }
+
+        for (int s = 0; s < HISTORY_SESSIONS; s++) {
+            DiningSession past = sessionRepository.save(new DiningSession(restaurant, table, "Host " + s));
+            for (int i = 0; i < ORDERS_PER_HISTORY_SESSION; i++) {
+                orderRepository.save(newOrder(table, past, suffix + "-" + s + "-" + i));
+            }
+        }
+    }
+
+    @Test
+    void guestSessionProjectionLoadsNoEntities() {
+        Measurement projection = measure(() -> {
+            SessionAggregate aggregate = loader.load(session.getId());
+            return aggregate.getGuests().size() + aggregate.getOrders().size();
+        });
+        Measurement entities = measure(() -> readOnly(() -> entityManager.createQuery(GUEST_ENTITY_SELECT, Object[].class)
+                .setParameter("sessionId", session.getId())
+                .getResultList()
+                .size()
+                + entityManager.createQuery("SELECT o FROM Order o WHERE o.sessionId = :sessionId " +
+                        "AND o.status <> com.numa.domain.enums.OrderStatus.PENDING ORDER BY o.createdAt ASC", Order.class)
+                .setParameter("sessionId", session.getId())
+                .getResultList()
+                .size()));
+        report("guest session", projection, entities);
+
+        // The same session and guest rows through the entity manager, without the repository in between
+        Measurement projectionQuery = measure(() -> readOnly(() -> entityManager.createQuery(
+                        DiningSessionRepository.GUEST_SESSION_SELECT + "WHERE s.id = :sessionId ORDER BY g.joinedAt ASC",
+                        Object[].class)
+                .setParameter("sessionId", session.getId())
+                .getResultList()
+                .size()));
+        Measurement entityQuery = measure(() -> readOnly(() -> entityManager.createQuery(GUEST_ENTITY_SELECT, Object[].class)
+                .setParameter("sessionId", session.getId())
+                .getResultList()
+                .size()));
+        report("guest session rows query", projectionQuery, entityQuery);
+
+        assertThat(projection.selects).isEqualTo(SessionAggregateLoader.MAX_SELECTS_PER_LOAD);
+        assertThat(projection.entitiesLoaded).isZero();
+        assertThat(projection.rows).isEqualTo(entities.rows).isEqualTo(GUESTS + ORDERS);
+        assertThat(entities.entitiesLoaded).isGreaterThan(GUESTS + ORDERS);
+        assertThat(projectionQuery.entitiesLoaded).isZero();
+    }
+
+    @Test
+    void sessionHistoryProjectionIsOneSelectPerPage() {
+        Measurement projection = measure(() ->
+                sessionService.getSessionHistory(restaurant.getId(), null, HISTORY_SESSIONS).getContent().size());
+        Measurement entities = measure(() -> readOnly(() -> {
+            List<DiningSession> sessions = entityManager.createQuery(
+                            "SELECT s FROM DiningSession s JOIN FETCH s.table WHERE s.restaurant.id = :restaurantId " +
+                            "ORDER BY s.startedAt DESC, s.id DESC", DiningSession.class)
+                    .setParameter("restaurantId", restaurant.getId())
+                    .setMaxResults(HISTORY_SESSIONS + 1)
+                    .getResultList();
+            int rows = sessions.size();
+            for (DiningSession past : sessions) {
+                rows += orderRepository.findBySessionIdAndStatusNot(past.getId(), OrderStatus.PENDING).size();
+            }
+            return rows;
+        }));
+        report("session history", projection, entities);
+
+        CursorPageResponse<SessionHistoryResponse> page =
+                sessionService.getSessionHistory(restaurant.getId(), null, HISTORY_SESSIONS);
+        assertThat(page.getContent()).allSatisfy(row ->
+                assertThat(row.getTotalOrders()).isPositive());
+        assertThat(projection.selects).isOne();
+        assertThat(projection.entitiesLoaded).isZero();
+        assertThat(entities.selects).isGreaterThan(HISTORY_SESSIONS);
+        assertThat(projection.rows).isLessThan(entities.rows);
+    }
+
+    /**
+     * Run a read, returning the rows it fetched, and record its cost per call
+     */
+    private Measurement measure(IntSupplier read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            read.getAsInt();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long selectsBefore = QueryCountInspector.getSelectCount();
+        long entitiesBefore = statistics.getEntityLoadCount();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long[] nanos = new long[ITERATIONS];
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            rows = read.getAsInt();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        Arrays.sort(nanos);
+        return new Measurement(
+                (QueryCountInspector.getSelectCount() - selectsBefore) / ITERATIONS,
+                (statistics.getEntityLoadCount() - entitiesBefore) / ITERATIONS,
+                rows, bytes / ITERATIONS, nanos[ITERATIONS / 2], nanos[ITERATIONS * 99 / 100]);
+    }
+
+    private int readOnly(IntSupplier read) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> read.getAsInt());
+    }
+
+    private static void report(String path, Measurement projection, Measurement entities) {
+        logger.info("{}: projection {}; entities {}", path, projection, entities);
+    }
+
+    private Order newOrder(RestaurantTable table, DiningSession owner, String orderNumber) {
+        Order order = new Order(restaurant, table, owner.getId());
+        order.setOrderNumber(orderNumber);
+        order.setSubtotal(BigDecimal.TEN);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.setStatus(OrderStatus.CONFIRMED);
+        return order;
+    }
+
+    private record Measurement(long selects, long entitiesLoaded, int rows, long bytesAllocated,
+                               long medianNanos, long p99Nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%d selects, %d entities, %d rows, %d bytes allocated, median %.1f us, p99 %.1f us",
+                    selects, entitiesLoaded, rows, bytesAllocated, medianNanos / 1000.0, p99Nanos / 1000.0);
+        }
+    }
+}